@@ -0,0 +1,92 @@
+package compiler;
+
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.DataflowResult;
+import compiler.analysis.Liveness;
+import compiler.element.*;
+
+/**
+ * Scaling benchmark for the IR container, CFG construction and liveness.
+ *
+ * Builds synthetic programs made of small do-while style loops and reports
+ * the time per IR node for each phase. Linear phases keep a flat ns/node
+ * figure from 1k to 1M nodes.
+ */
+public class IRScalingBenchmark {
+
+    private static final int[] SIZES = { 1_000, 10_000, 100_000, 1_000_000 };
+    private static final int NODES_PER_LOOP = 8;
+    private static final int RUNS = 3;
+
+    private final SymbolMap globals;
+    private final Element a, b, c;
+
+    private IRScalingBenchmark() {
+        globals = new SymbolMap("GLOBAL");
+        a = new Variable("a", Element.Type.INT);
+        b = new Variable("b", Element.Type.INT);
+        c = new Variable("c", Element.Type.INT);
+        globals.put("a", a);
+        globals.put("b", b);
+        globals.put("c", c);
+    }
+
+    private IR build(int size) {
+        IR ir = new IR(globals);
+        ir.add(new IR.Node(IR.Opcode.LABEL, new Label("main")));
+        ir.add(new IR.Node(IR.Opcode.LINK, new Link(0, 4)));
+
+        for (int loop = 0; ir.size() + NODES_PER_LOOP < size; loop++) {
+            String name = "label" + loop;
+            Element t1 = new Temporary(1, Element.Type.INT);
+            Element t2 = new Temporary(2, Element.Type.INT);
+            Element t3 = new Temporary(3, Element.Type.INT);
+
+            ir.add(new IR.Node(IR.Opcode.LABEL, new Label(name)));
+            ir.add(new IR.Node(IR.Opcode.STOREI, Constant.parse("1"), t1));
+            ir.add(new IR.Node(IR.Opcode.ADDI, a, t1, t2));
+            ir.add(new IR.Node(IR.Opcode.STOREI, t2, a));
+            ir.add(new IR.Node(IR.Opcode.MULTI, a, b, t3));
+            ir.add(new IR.Node(IR.Opcode.STOREI, t3, c));
+            ir.add(new IR.Node(IR.Opcode.WRITEI, c));
+            ir.add(new IR.Node(IR.Opcode.LE, a, b, new Label(name)));
+        }
+
+        ir.add(new IR.Node(IR.Opcode.RETURN));
+        return ir;
+    }
+
+    private void run(int size) {
+        long bestBuild = Long.MAX_VALUE, bestCfg = Long.MAX_VALUE, bestLive = Long.MAX_VALUE;
+        int nodes = 0, blocks = 0, visits = 0;
+
+        for (int r = 0; r < RUNS; r++) {
+            long t0 = System.nanoTime();
+            IR ir = build(size);
+            long t1 = System.nanoTime();
+            ControlFlowGraph cfg = new ControlFlowGraph(ir);
+            long t2 = System.nanoTime();
+            DataflowResult liveness = Liveness.analyze(cfg);
+            long t3 = System.nanoTime();
+
+            nodes = ir.size();
+            visits = liveness.getVisits();
+            blocks = cfg.size();
+            bestBuild = Math.min(bestBuild, t1 - t0);
+            bestCfg = Math.min(bestCfg, t2 - t1);
+            bestLive = Math.min(bestLive, t3 - t2);
+        }
+
+        System.out.println(String.format("%9d nodes  build %7.1f ns/node  cfg %7.1f ns/node  liveness %7.1f ns/node (%.2f visits/block)",
+                nodes, (double) bestBuild / nodes, (double) bestCfg / nodes, (double) bestLive / nodes, (double) visits / blocks));
+    }
+
+    public static void main(String[] args) {
+        IRScalingBenchmark bench = new IRScalingBenchmark();
+        // Warm up the JIT on a mid-sized program before measuring
+        bench.run(SIZES[1]);
+        for (int size : SIZES)
+            bench.run(size);
+    }
+
+}
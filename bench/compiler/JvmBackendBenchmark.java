@@ -0,0 +1,92 @@
+package compiler;
+
+import compiler.jvm.MicroClassLoader;
+import compiler.tiny.TinyProgram;
+import compiler.tiny.TinySimulator;
+import org.antlr.v4.runtime.ANTLRFileStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Execution time of the Tiny path vs the JVM back end.
+ *
+ * Every program in a directory, such as the step5 test cases, is compiled
+ * once to Tiny and once to a class, then run on its .input file with the
+ * in-process Tiny simulator and with the class loaded by MicroClassLoader.
+ * The best of several runs is reported for each, after checking both print
+ * the same output. Compiler flags after the directory apply to both.
+ *
+ * Usage: JvmBackendBenchmark dir [flags]
+ */
+public class JvmBackendBenchmark {
+
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1)
+            throw new MicroRuntimeException(MicroErrorMessages.MissingInput);
+        File[] sources = new File(args[0]).listFiles((dir, name) -> name.endsWith(".micro"));
+        if (sources == null)
+            throw new MicroRuntimeException(MicroErrorMessages.MissingInput);
+        Arrays.sort(sources);
+        String[] flags = Arrays.copyOfRange(args, 1, args.length);
+
+        System.out.printf("%-24s %12s %12s %9s%n", "program", "tiny (ms)", "jvm (ms)", "speedup");
+        long tinyTotal = 0, jvmTotal = 0;
+        for (File source : sources) {
+            String input = readInput(source);
+
+            StringWriter code = new StringWriter();
+            if (!Micro.compile(new ANTLRFileStream(source.getPath()), options(source, flags, false), code))
+                continue;
+            TinyProgram program = TinyProgram.parse(code.toString());
+            byte[] classFile = Micro.compileClass(new ANTLRFileStream(source.getPath()), options(source, flags, true));
+            MicroClassLoader loader = new MicroClassLoader(classFile);
+
+            long tiny = Long.MAX_VALUE, jvm = Long.MAX_VALUE;
+            String tinyOut = null, jvmOut = null;
+            for (int i = 0; i < RUNS; i++) {
+                StringWriter out = new StringWriter();
+                long start = System.nanoTime();
+                new TinySimulator(program).run(new StringReader(input), out);
+                tiny = Math.min(tiny, System.nanoTime() - start);
+                tinyOut = out.toString();
+
+                out = new StringWriter();
+                start = System.nanoTime();
+                loader.run(new StringReader(input), out);
+                jvm = Math.min(jvm, System.nanoTime() - start);
+                jvmOut = out.toString();
+            }
+
+            System.out.printf("%-24s %12.3f %12.3f %8.1fx%s%n", source.getName(),
+                    tiny / 1e6, jvm / 1e6, (double) tiny / jvm, tinyOut.equals(jvmOut) ? "" : "  (output differs)");
+            tinyTotal += tiny;
+            jvmTotal += jvm;
+        }
+        System.out.printf("%-24s %12.3f %12.3f %8.1fx%n", "total",
+                tinyTotal / 1e6, jvmTotal / 1e6, jvmTotal == 0 ? 0 : (double) tinyTotal / jvmTotal);
+    }
+
+    private static MicroOptions options(File source, String[] flags, boolean jvm) {
+        String[] args = Arrays.copyOf(flags, flags.length + (jvm ? 2 : 1));
+        if (jvm)
+            args[flags.length + 1] = "-jvm";
+        args[flags.length] = source.getPath();
+        return MicroOptions.parse(args);
+    }
+
+    private static String readInput(File source) throws IOException {
+        Path input = Paths.get(source.getPath().replaceAll("\\.micro$", ".input"));
+        return Files.exists(input) ? new String(Files.readAllBytes(input), StandardCharsets.US_ASCII) : "";
+    }
+
+}
@@ -0,0 +1,295 @@
+package compiler;
+
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Liveness;
+import compiler.expression.Expression;
+import compiler.expression.Token;
+import compiler.translator.Peephole;
+import compiler.translator.TinyEmitter;
+import compiler.translator.TinyTranslator;
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Time and allocation of every compiler phase.
+ *
+ * Synthetic programs are generated for a set of sizes, in statements, nesting
+ * depths of IF and DO blocks, and call densities, the chance an operand is a
+ * call. Each is compiled phase by phase on one thread, and the best time and
+ * the mean bytes allocated of each phase over several runs are reported, so
+ * a regression shows up in the phase that has it.
+ *
+ * Phases are lexing, parsing, the MicroCompiler walk building the IR, the
+ * infix expression parser on the program's expressions, CFG construction,
+ * liveness, translation to Tiny with register allocation, and emission.
+ *
+ * Usage: PhaseBenchmark [phase]
+ */
+public class PhaseBenchmark {
+
+    private enum Phase { LEX, PARSE, WALK, EXPRESSION, CFG, LIVENESS, TRANSLATE, EMIT }
+
+    private static final class Shape {
+        final int size;
+        final int depth;
+        final double calls;
+
+        Shape(int size, int depth, double calls) {
+            this.size = size;
+            this.depth = depth;
+            this.calls = calls;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size %d depth %d calls %.2f", size, depth, calls);
+        }
+    }
+
+    private static final Shape[] SHAPES = {
+            new Shape(1_000, 2, 0.05),
+            new Shape(4_000, 2, 0.05),
+            new Shape(16_000, 2, 0.05),
+            new Shape(4_000, 8, 0.05),
+            new Shape(4_000, 2, 0.5),
+    };
+    private static final int STATEMENTS_PER_FUNCTION = 100;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long[] best = new long[Phase.values().length];
+    private final long[] allocated = new long[Phase.values().length];
+    private long start, startBytes;
+
+    private PhaseBenchmark() {
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private void begin() {
+        startBytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        start = System.nanoTime();
+    }
+
+    private void end(Phase phase, boolean measured) {
+        long time = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - startBytes;
+        if (measured) {
+            best[phase.ordinal()] = Math.min(best[phase.ordinal()], time);
+            allocated[phase.ordinal()] += bytes;
+        }
+    }
+
+    private void compile(Program program, boolean measured) {
+        MicroOptions options = new MicroOptions();
+
+        begin();
+        Micro.MicroFailFastLexer lexer = new Micro.MicroFailFastLexer(new ANTLRInputStream(program.source));
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        tokens.fill();
+        end(Phase.LEX, measured);
+
+        begin();
+        MicroParser parser = new MicroParser(tokens);
+        parser.setErrorHandler(new MicroErrorStrategy());
+        MicroParser.ProgramContext tree = parser.program();
+        end(Phase.PARSE, measured);
+
+        begin();
+        FrontEnd frontEnd = new FrontEnd(options);
+        new ParseTreeWalker().walk(frontEnd, tree);
+        List<IR> functions = frontEnd.getIr().splitFunctions();
+        end(Phase.WALK, measured);
+
+        begin();
+        for (String e : program.expressions) {
+            List<Token> infix = Expression.tokenizeExpr(e, frontEnd.getSymbols().getMaps());
+            Expression.generateExpressionTree(Expression.transformToPostfix(infix));
+        }
+        end(Phase.EXPRESSION, measured);
+
+        begin();
+        List<ControlFlowGraph> cfgs = new ArrayList<>();
+        for (IR f : functions)
+            cfgs.add(new ControlFlowGraph(f));
+        end(Phase.CFG, measured);
+
+        begin();
+        for (ControlFlowGraph cfg : cfgs)
+            Liveness.analyze(cfg);
+        end(Phase.LIVENESS, measured);
+
+        begin();
+        List<TinyEmitter> code = new ArrayList<>();
+        for (ControlFlowGraph cfg : cfgs)
+            code.add(new TinyTranslator(options.getAllocator().create(options.getRegisters()),
+                    new Peephole(options.getPeepholes())).translate(cfg));
+        end(Phase.TRANSLATE, measured);
+
+        begin();
+        StringWriter out = new StringWriter(program.source.length() * 4);
+        TinyTranslator tt = new TinyTranslator();
+        tt.translateHeader(frontEnd.getSymbols().getMaps()).writeTo(out);
+        code.forEach(c -> c.writeTo(out));
+        tt.translateFooter().writeTo(out);
+        end(Phase.EMIT, measured);
+    }
+
+    private void run(Shape shape, Phase only) {
+        Program program = new Program(shape);
+        for (int i = 0; i < WARMUP; i++)
+            compile(program, false);
+        Arrays.fill(best, Long.MAX_VALUE);
+        Arrays.fill(allocated, 0);
+        for (int i = 0; i < RUNS; i++)
+            compile(program, true);
+
+        System.out.printf("%s: %d lines, %d expressions%n", shape, program.lines, program.expressions.size());
+        for (Phase p : Phase.values())
+            if (only == null || only == p)
+                System.out.printf("  %-10s %10.3f ms %10.1f KB%n", p.name().toLowerCase(),
+                        best[p.ordinal()] / 1e6, allocated[p.ordinal()] / 1024.0 / RUNS);
+    }
+
+    public static void main(String[] args) {
+        Phase only = args.length > 0 ? Phase.valueOf(args[0].toUpperCase()) : null;
+        PhaseBenchmark bench = new PhaseBenchmark();
+        for (Shape shape : SHAPES)
+            bench.run(shape, only);
+    }
+
+    /**
+     * Stops after the walk, leaving the IR to the benchmark.
+     */
+    private static final class FrontEnd extends MicroCompiler {
+
+        FrontEnd(MicroOptions options) {
+            super(options, new StringWriter());
+        }
+
+        @Override
+        public void exitPgm_body(MicroParser.Pgm_bodyContext ctx) {
+        }
+
+    }
+
+    /**
+     * A random program of the given shape. Every function takes two INTs and
+     * may call the ones declared before it, and main calls the last.
+     */
+    private static final class Program {
+
+        private final Random random = new Random(42);
+        private final StringBuilder b = new StringBuilder();
+        private final Shape shape;
+        private final String source;
+        // Every expression written, without spaces, for the infix parser
+        private final List<String> expressions = new ArrayList<>();
+        private int functions;
+        private int lines;
+
+        Program(Shape shape) {
+            this.shape = shape;
+            line(0, "PROGRAM bench");
+            line(0, "BEGIN");
+            line(1, "INT g0, g1, g2;");
+            line(1, "STRING eol := \"\\n\";");
+            int count = Math.max(1, shape.size / STATEMENTS_PER_FUNCTION);
+            for (functions = 0; functions < count; functions++) {
+                line(1, "FUNCTION INT f" + functions + "(INT a, INT b)");
+                body("x + a");
+            }
+            line(1, "FUNCTION INT main()");
+            body("f" + (functions - 1) + "(x, y)");
+            line(0, "END");
+            source = b.toString();
+        }
+
+        private void body(String result) {
+            line(1, "BEGIN");
+            line(2, "INT x, y, z;");
+            line(2, "x := 1; y := 2; z := 3;");
+            for (int left = STATEMENTS_PER_FUNCTION; left > 0; )
+                left -= statement(2, shape.depth, left);
+            line(2, "RETURN " + result + ";");
+            line(1, "END");
+        }
+
+        // Writes statements at most budget of them, returning how many
+        private int statement(int indent, int depth, int budget) {
+            double r = random.nextDouble();
+            if (depth > 0 && budget > 2 && r < 0.4) {
+                int used = 1;
+                boolean loop = random.nextBoolean();
+                line(indent, loop ? "DO" : "IF (" + condition() + ")");
+                int inner = Math.max(1, Math.min(budget - 1, 1 + random.nextInt(6)));
+                while (inner > 0) {
+                    int n = statement(indent + 1, depth - 1, inner);
+                    inner -= n;
+                    used += n;
+                }
+                if (loop) {
+                    line(indent + 1, "z := z - 1;");
+                    line(indent, "WHILE (z > 0);");
+                } else {
+                    line(indent, "ENDIF");
+                }
+                return used;
+            }
+            if (r < 0.5)
+                line(indent, "WRITE(x, eol);");
+            else
+                line(indent, variable() + " := " + expression(3) + ";");
+            return 1;
+        }
+
+        private String condition() {
+            String[] ops = { "<", ">", "=", "!=", "<=", ">=" };
+            return expression(1) + " " + ops[random.nextInt(ops.length)] + " " + expression(1);
+        }
+
+        private String expression(int depth) {
+            String e = term(depth);
+            expressions.add(e.replace(" ", ""));
+            return e;
+        }
+
+        private String term(int depth) {
+            if (depth == 0 || random.nextDouble() < 0.3) {
+                if (functions > 0 && random.nextDouble() < shape.calls)
+                    return "f" + random.nextInt(functions) + "(" + operand() + ", " + operand() + ")";
+                return operand();
+            }
+            String op = "+-*".substring(random.nextInt(3)).substring(0, 1);
+            String e = term(depth - 1) + " " + op + " " + term(depth - 1);
+            return random.nextDouble() < 0.3 ? "(" + e + ")" : e;
+        }
+
+        private String operand() {
+            return random.nextBoolean() ? variable() : Integer.toString(random.nextInt(10));
+        }
+
+        private String variable() {
+            String[] names = { "x", "y", "z", "g0", "g1", "g2" };
+            return names[random.nextInt(names.length)];
+        }
+
+        private void line(int indent, String s) {
+            for (int i = 0; i < indent; i++)
+                b.append("  ");
+            b.append(s).append('\n');
+            lines++;
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package compiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Cold vs warm compile latency.
+ *
+ * Cold compiles launch a fresh JVM running Micro for every file, as the build
+ * did before the server existed. Warm compiles send the same file to an
+ * in-process MicroServer through MicroClient.
+ *
+ * Usage: ServerLatencyBenchmark file.micro
+ */
+public class ServerLatencyBenchmark {
+
+    private static final int PORT = 7342;
+    private static final int COLD_RUNS = 5;
+    private static final int WARM_RUNS = 200;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1)
+            throw new MicroRuntimeException(MicroErrorMessages.MissingInput);
+        String input = new File(args[0]).getAbsolutePath();
+
+        long cold = 0;
+        for (int i = 0; i < COLD_RUNS; i++) {
+            long start = System.nanoTime();
+            Process p = new ProcessBuilder(javaBinary(), "-cp", System.getProperty("java.class.path"),
+                    "compiler.Micro", input)
+                    .redirectOutput(ProcessBuilder.Redirect.to(new File("/dev/null")))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            p.waitFor();
+            cold += System.nanoTime() - start;
+        }
+
+        MicroServer server = new MicroServer(PORT);
+        Thread thread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        thread.start();
+        Thread.sleep(200);
+
+        String[] request = { input };
+        OutputStream sink = new ByteArrayOutputStream();
+        long first = time(request, sink);
+        long warm = 0;
+        for (int i = 0; i < WARM_RUNS; i++)
+            warm += time(request, sink);
+
+        MicroClient.send(PORT, new String[]{ MicroServer.SHUTDOWN }, sink);
+        thread.join();
+
+        System.out.printf("%-28s %10.2f ms%n", "cold (new JVM per compile)", cold / 1e6 / COLD_RUNS);
+        System.out.printf("%-28s %10.2f ms%n", "server, first request", first / 1e6);
+        System.out.printf("%-28s %10.2f ms%n", "server, warm request", warm / 1e6 / WARM_RUNS);
+    }
+
+    private static long time(String[] request, OutputStream sink) throws IOException {
+        long start = System.nanoTime();
+        MicroClient.send(PORT, request, sink);
+        return System.nanoTime() - start;
+    }
+
+    private static String javaBinary() {
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    }
+
+}
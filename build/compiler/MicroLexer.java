@@ -0,0 +1,283 @@
+// Generated from Micro.g4 by ANTLR 4.5.3
+package compiler;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class MicroLexer extends Lexer {
+	static { RuntimeMetaData.checkVersion("4.5.3", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
+		T__31=32, T__32=33, KEYWORD=34, OPERATOR=35, IDENTIFIER=36, INTLITERAL=37, 
+		FLOATLITERAL=38, STRINGLITERAL=39, WHITESPACE=40, COMMENT=41;
+	public static String[] modeNames = {
+		"DEFAULT_MODE"
+	};
+
+	public static final String[] ruleNames = {
+		"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
+		"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
+		"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
+		"T__25", "T__26", "T__27", "T__28", "T__29", "T__30", "T__31", "T__32", 
+		"KEYWORD", "OPERATOR", "IDENTIFIER", "INTLITERAL", "FLOATLITERAL", "STRINGLITERAL", 
+		"WHITESPACE", "COMMENT", "DIGIT", "LETTER", "DQ", "DOT", "EOS", "ESC"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'PROGRAM'", "'BEGIN'", "'END'", "'STRING'", "':='", "';'", "'FLOAT'", 
+		"'INT'", "'VOID'", "','", "'FUNCTION'", "'('", "')'", "'READ'", "'WRITE'", 
+		"'RETURN'", "'+'", "'-'", "'*'", "'/'", "'IF'", "'ENDIF'", "'ELSIF'", 
+		"'TRUE'", "'FALSE'", "'<'", "'>'", "'='", "'!='", "'<='", "'>='", "'DO'", 
+		"'WHILE'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, "KEYWORD", 
+		"OPERATOR", "IDENTIFIER", "INTLITERAL", "FLOATLITERAL", "STRINGLITERAL", 
+		"WHITESPACE", "COMMENT"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+
+	public MicroLexer(CharStream input) {
+		super(input);
+		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+
+	@Override
+	public String getGrammarFileName() { return "Micro.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public String[] getModeNames() { return modeNames; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	@Override
+	public void action(RuleContext _localctx, int ruleIndex, int actionIndex) {
+		switch (ruleIndex) {
+		case 35:
+			IDENTIFIER_action((RuleContext)_localctx, actionIndex);
+			break;
+		case 38:
+			STRINGLITERAL_action((RuleContext)_localctx, actionIndex);
+			break;
+		}
+	}
+	private void IDENTIFIER_action(RuleContext _localctx, int actionIndex) {
+		switch (actionIndex) {
+		case 0:
+
+			    if (getText().length() > 31)
+			        throw new MicroRuntimeException("Identifier is more than 31 characters");
+
+			break;
+		}
+	}
+	private void STRINGLITERAL_action(RuleContext _localctx, int actionIndex) {
+		switch (actionIndex) {
+		case 1:
+
+			    if (getText().length() > 81)
+			        throw new MicroRuntimeException("String literal is more than 80 characters");
+
+			break;
+		}
+	}
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\2+\u019c\b\1\4\2\t"+
+		"\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13"+
+		"\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
+		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
+		"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
+		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\4+\t+\4"+
+		",\t,\4-\t-\4.\t.\4/\t/\4\60\t\60\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\2\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\4\3\4\3\4\3\4\3\5\3\5\3\5\3\5\3\5\3\5\3\5\3\6\3\6"+
+		"\3\6\3\7\3\7\3\b\3\b\3\b\3\b\3\b\3\b\3\t\3\t\3\t\3\t\3\n\3\n\3\n\3\n\3"+
+		"\n\3\13\3\13\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\r\3\r\3\16\3\16\3\17"+
+		"\3\17\3\17\3\17\3\17\3\20\3\20\3\20\3\20\3\20\3\20\3\21\3\21\3\21\3\21"+
+		"\3\21\3\21\3\21\3\22\3\22\3\23\3\23\3\24\3\24\3\25\3\25\3\26\3\26\3\26"+
+		"\3\27\3\27\3\27\3\27\3\27\3\27\3\30\3\30\3\30\3\30\3\30\3\30\3\31\3\31"+
+		"\3\31\3\31\3\31\3\32\3\32\3\32\3\32\3\32\3\32\3\33\3\33\3\34\3\34\3\35"+
+		"\3\35\3\36\3\36\3\36\3\37\3\37\3\37\3 \3 \3 \3!\3!\3!\3\"\3\"\3\"\3\""+
+		"\3\"\3\"\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3"+
+		"#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3"+
+		"#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3"+
+		"#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3"+
+		"#\3#\3#\3#\3#\3#\3#\3#\5#\u014b\n#\3$\3$\3$\3$\3$\3$\3$\3$\3$\5$\u0156"+
+		"\n$\3%\3%\3%\7%\u015b\n%\f%\16%\u015e\13%\3%\3%\3&\6&\u0163\n&\r&\16&"+
+		"\u0164\3\'\7\'\u0168\n\'\f\'\16\'\u016b\13\'\3\'\3\'\6\'\u016f\n\'\r\'"+
+		"\16\'\u0170\3(\3(\3(\7(\u0176\n(\f(\16(\u0179\13(\3(\3(\3(\3)\6)\u017f"+
+		"\n)\r)\16)\u0180\3)\3)\3*\3*\3*\3*\7*\u0189\n*\f*\16*\u018c\13*\3*\3*"+
+		"\3+\3+\3,\3,\3-\3-\3.\3.\3/\3/\3/\3\60\3\60\3\u0177\2\61\3\3\5\4\7\5\t"+
+		"\6\13\7\r\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35\20\37\21!\22#\23"+
+		"%\24\'\25)\26+\27-\30/\31\61\32\63\33\65\34\67\359\36;\37= ?!A\"C#E$G"+
+		"%I&K\'M(O)Q*S+U\2W\2Y\2[\2]\2_\2\3\2\7\5\2*/\61\61=@\5\2\13\f\17\17\""+
+		"\"\4\2\f\f\17\17\3\2\62;\4\2C\\c|\u01b5\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3"+
+		"\2\2\2\2\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2"+
+		"\2\23\3\2\2\2\2\25\3\2\2\2\2\27\3\2\2\2\2\31\3\2\2\2\2\33\3\2\2\2\2\35"+
+		"\3\2\2\2\2\37\3\2\2\2\2!\3\2\2\2\2#\3\2\2\2\2%\3\2\2\2\2\'\3\2\2\2\2)"+
+		"\3\2\2\2\2+\3\2\2\2\2-\3\2\2\2\2/\3\2\2\2\2\61\3\2\2\2\2\63\3\2\2\2\2"+
+		"\65\3\2\2\2\2\67\3\2\2\2\29\3\2\2\2\2;\3\2\2\2\2=\3\2\2\2\2?\3\2\2\2\2"+
+		"A\3\2\2\2\2C\3\2\2\2\2E\3\2\2\2\2G\3\2\2\2\2I\3\2\2\2\2K\3\2\2\2\2M\3"+
+		"\2\2\2\2O\3\2\2\2\2Q\3\2\2\2\2S\3\2\2\2\3a\3\2\2\2\5i\3\2\2\2\7o\3\2\2"+
+		"\2\ts\3\2\2\2\13z\3\2\2\2\r}\3\2\2\2\17\177\3\2\2\2\21\u0085\3\2\2\2\23"+
+		"\u0089\3\2\2\2\25\u008e\3\2\2\2\27\u0090\3\2\2\2\31\u0099\3\2\2\2\33\u009b"+
+		"\3\2\2\2\35\u009d\3\2\2\2\37\u00a2\3\2\2\2!\u00a8\3\2\2\2#\u00af\3\2\2"+
+		"\2%\u00b1\3\2\2\2\'\u00b3\3\2\2\2)\u00b5\3\2\2\2+\u00b7\3\2\2\2-\u00ba"+
+		"\3\2\2\2/\u00c0\3\2\2\2\61\u00c6\3\2\2\2\63\u00cb\3\2\2\2\65\u00d1\3\2"+
+		"\2\2\67\u00d3\3\2\2\29\u00d5\3\2\2\2;\u00d7\3\2\2\2=\u00da\3\2\2\2?\u00dd"+
+		"\3\2\2\2A\u00e0\3\2\2\2C\u00e3\3\2\2\2E\u014a\3\2\2\2G\u0155\3\2\2\2I"+
+		"\u0157\3\2\2\2K\u0162\3\2\2\2M\u0169\3\2\2\2O\u0172\3\2\2\2Q\u017e\3\2"+
+		"\2\2S\u0184\3\2\2\2U\u018f\3\2\2\2W\u0191\3\2\2\2Y\u0193\3\2\2\2[\u0195"+
+		"\3\2\2\2]\u0197\3\2\2\2_\u019a\3\2\2\2ab\7R\2\2bc\7T\2\2cd\7Q\2\2de\7"+
+		"I\2\2ef\7T\2\2fg\7C\2\2gh\7O\2\2h\4\3\2\2\2ij\7D\2\2jk\7G\2\2kl\7I\2\2"+
+		"lm\7K\2\2mn\7P\2\2n\6\3\2\2\2op\7G\2\2pq\7P\2\2qr\7F\2\2r\b\3\2\2\2st"+
+		"\7U\2\2tu\7V\2\2uv\7T\2\2vw\7K\2\2wx\7P\2\2xy\7I\2\2y\n\3\2\2\2z{\7<\2"+
+		"\2{|\7?\2\2|\f\3\2\2\2}~\7=\2\2~\16\3\2\2\2\177\u0080\7H\2\2\u0080\u0081"+
+		"\7N\2\2\u0081\u0082\7Q\2\2\u0082\u0083\7C\2\2\u0083\u0084\7V\2\2\u0084"+
+		"\20\3\2\2\2\u0085\u0086\7K\2\2\u0086\u0087\7P\2\2\u0087\u0088\7V\2\2\u0088"+
+		"\22\3\2\2\2\u0089\u008a\7X\2\2\u008a\u008b\7Q\2\2\u008b\u008c\7K\2\2\u008c"+
+		"\u008d\7F\2\2\u008d\24\3\2\2\2\u008e\u008f\7.\2\2\u008f\26\3\2\2\2\u0090"+
+		"\u0091\7H\2\2\u0091\u0092\7W\2\2\u0092\u0093\7P\2\2\u0093\u0094\7E\2\2"+
+		"\u0094\u0095\7V\2\2\u0095\u0096\7K\2\2\u0096\u0097\7Q\2\2\u0097\u0098"+
+		"\7P\2\2\u0098\30\3\2\2\2\u0099\u009a\7*\2\2\u009a\32\3\2\2\2\u009b\u009c"+
+		"\7+\2\2\u009c\34\3\2\2\2\u009d\u009e\7T\2\2\u009e\u009f\7G\2\2\u009f\u00a0"+
+		"\7C\2\2\u00a0\u00a1\7F\2\2\u00a1\36\3\2\2\2\u00a2\u00a3\7Y\2\2\u00a3\u00a4"+
+		"\7T\2\2\u00a4\u00a5\7K\2\2\u00a5\u00a6\7V\2\2\u00a6\u00a7\7G\2\2\u00a7"+
+		" \3\2\2\2\u00a8\u00a9\7T\2\2\u00a9\u00aa\7G\2\2\u00aa\u00ab\7V\2\2\u00ab"+
+		"\u00ac\7W\2\2\u00ac\u00ad\7T\2\2\u00ad\u00ae\7P\2\2\u00ae\"\3\2\2\2\u00af"+
+		"\u00b0\7-\2\2\u00b0$\3\2\2\2\u00b1\u00b2\7/\2\2\u00b2&\3\2\2\2\u00b3\u00b4"+
+		"\7,\2\2\u00b4(\3\2\2\2\u00b5\u00b6\7\61\2\2\u00b6*\3\2\2\2\u00b7\u00b8"+
+		"\7K\2\2\u00b8\u00b9\7H\2\2\u00b9,\3\2\2\2\u00ba\u00bb\7G\2\2\u00bb\u00bc"+
+		"\7P\2\2\u00bc\u00bd\7F\2\2\u00bd\u00be\7K\2\2\u00be\u00bf\7H\2\2\u00bf"+
+		".\3\2\2\2\u00c0\u00c1\7G\2\2\u00c1\u00c2\7N\2\2\u00c2\u00c3\7U\2\2\u00c3"+
+		"\u00c4\7K\2\2\u00c4\u00c5\7H\2\2\u00c5\60\3\2\2\2\u00c6\u00c7\7V\2\2\u00c7"+
+		"\u00c8\7T\2\2\u00c8\u00c9\7W\2\2\u00c9\u00ca\7G\2\2\u00ca\62\3\2\2\2\u00cb"+
+		"\u00cc\7H\2\2\u00cc\u00cd\7C\2\2\u00cd\u00ce\7N\2\2\u00ce\u00cf\7U\2\2"+
+		"\u00cf\u00d0\7G\2\2\u00d0\64\3\2\2\2\u00d1\u00d2\7>\2\2\u00d2\66\3\2\2"+
+		"\2\u00d3\u00d4\7@\2\2\u00d48\3\2\2\2\u00d5\u00d6\7?\2\2\u00d6:\3\2\2\2"+
+		"\u00d7\u00d8\7#\2\2\u00d8\u00d9\7?\2\2\u00d9<\3\2\2\2\u00da\u00db\7>\2"+
+		"\2\u00db\u00dc\7?\2\2\u00dc>\3\2\2\2\u00dd\u00de\7@\2\2\u00de\u00df\7"+
+		"?\2\2\u00df@\3\2\2\2\u00e0\u00e1\7F\2\2\u00e1\u00e2\7Q\2\2\u00e2B\3\2"+
+		"\2\2\u00e3\u00e4\7Y\2\2\u00e4\u00e5\7J\2\2\u00e5\u00e6\7K\2\2\u00e6\u00e7"+
+		"\7N\2\2\u00e7\u00e8\7G\2\2\u00e8D\3\2\2\2\u00e9\u00ea\7R\2\2\u00ea\u00eb"+
+		"\7T\2\2\u00eb\u00ec\7Q\2\2\u00ec\u00ed\7I\2\2\u00ed\u00ee\7T\2\2\u00ee"+
+		"\u00ef\7C\2\2\u00ef\u014b\7O\2\2\u00f0\u00f1\7D\2\2\u00f1\u00f2\7G\2\2"+
+		"\u00f2\u00f3\7I\2\2\u00f3\u00f4\7K\2\2\u00f4\u014b\7P\2\2\u00f5\u00f6"+
+		"\7G\2\2\u00f6\u00f7\7P\2\2\u00f7\u014b\7F\2\2\u00f8\u00f9\7H\2\2\u00f9"+
+		"\u00fa\7W\2\2\u00fa\u00fb\7P\2\2\u00fb\u00fc\7E\2\2\u00fc\u00fd\7V\2\2"+
+		"\u00fd\u00fe\7K\2\2\u00fe\u00ff\7Q\2\2\u00ff\u014b\7P\2\2\u0100\u0101"+
+		"\7T\2\2\u0101\u0102\7G\2\2\u0102\u0103\7C\2\2\u0103\u014b\7F\2\2\u0104"+
+		"\u0105\7Y\2\2\u0105\u0106\7T\2\2\u0106\u0107\7K\2\2\u0107\u0108\7V\2\2"+
+		"\u0108\u014b\7G\2\2\u0109\u010a\7K\2\2\u010a\u014b\7H\2\2\u010b\u010c"+
+		"\7G\2\2\u010c\u010d\7N\2\2\u010d\u010e\7U\2\2\u010e\u010f\7K\2\2\u010f"+
+		"\u014b\7H\2\2\u0110\u0111\7G\2\2\u0111\u0112\7P\2\2\u0112\u0113\7F\2\2"+
+		"\u0113\u0114\7K\2\2\u0114\u014b\7H\2\2\u0115\u0116\7F\2\2\u0116\u014b"+
+		"\7Q\2\2\u0117\u0118\7Y\2\2\u0118\u0119\7J\2\2\u0119\u011a\7K\2\2\u011a"+
+		"\u011b\7N\2\2\u011b\u014b\7G\2\2\u011c\u011d\7E\2\2\u011d\u011e\7Q\2\2"+
+		"\u011e\u011f\7P\2\2\u011f\u0120\7V\2\2\u0120\u0121\7K\2\2\u0121\u0122"+
+		"\7P\2\2\u0122\u0123\7W\2\2\u0123\u014b\7G\2\2\u0124\u0125\7D\2\2\u0125"+
+		"\u0126\7T\2\2\u0126\u0127\7G\2\2\u0127\u0128\7C\2\2\u0128\u014b\7M\2\2"+
+		"\u0129\u012a\7T\2\2\u012a\u012b\7G\2\2\u012b\u012c\7V\2\2\u012c\u012d"+
+		"\7W\2\2\u012d\u012e\7T\2\2\u012e\u014b\7P\2\2\u012f\u0130\7K\2\2\u0130"+
+		"\u0131\7P\2\2\u0131\u014b\7V\2\2\u0132\u0133\7X\2\2\u0133\u0134\7Q\2\2"+
+		"\u0134\u0135\7K\2\2\u0135\u014b\7F\2\2\u0136\u0137\7U\2\2\u0137\u0138"+
+		"\7V\2\2\u0138\u0139\7T\2\2\u0139\u013a\7K\2\2\u013a\u013b\7P\2\2\u013b"+
+		"\u014b\7I\2\2\u013c\u013d\7H\2\2\u013d\u013e\7N\2\2\u013e\u013f\7Q\2\2"+
+		"\u013f\u0140\7C\2\2\u0140\u014b\7V\2\2\u0141\u0142\7V\2\2\u0142\u0143"+
+		"\7T\2\2\u0143\u0144\7W\2\2\u0144\u014b\7G\2\2\u0145\u0146\7H\2\2\u0146"+
+		"\u0147\7C\2\2\u0147\u0148\7N\2\2\u0148\u0149\7U\2\2\u0149\u014b\7G\2\2"+
+		"\u014a\u00e9\3\2\2\2\u014a\u00f0\3\2\2\2\u014a\u00f5\3\2\2\2\u014a\u00f8"+
+		"\3\2\2\2\u014a\u0100\3\2\2\2\u014a\u0104\3\2\2\2\u014a\u0109\3\2\2\2\u014a"+
+		"\u010b\3\2\2\2\u014a\u0110\3\2\2\2\u014a\u0115\3\2\2\2\u014a\u0117\3\2"+
+		"\2\2\u014a\u011c\3\2\2\2\u014a\u0124\3\2\2\2\u014a\u0129\3\2\2\2\u014a"+
+		"\u012f\3\2\2\2\u014a\u0132\3\2\2\2\u014a\u0136\3\2\2\2\u014a\u013c\3\2"+
+		"\2\2\u014a\u0141\3\2\2\2\u014a\u0145\3\2\2\2\u014bF\3\2\2\2\u014c\u0156"+
+		"\t\2\2\2\u014d\u014e\7<\2\2\u014e\u0156\7?\2\2\u014f\u0150\7#\2\2\u0150"+
+		"\u0156\7?\2\2\u0151\u0152\7>\2\2\u0152\u0156\7?\2\2\u0153\u0154\7@\2\2"+
+		"\u0154\u0156\7?\2\2\u0155\u014c\3\2\2\2\u0155\u014d\3\2\2\2\u0155\u014f"+
+		"\3\2\2\2\u0155\u0151\3\2\2\2\u0155\u0153\3\2\2\2\u0156H\3\2\2\2\u0157"+
+		"\u015c\5W,\2\u0158\u015b\5W,\2\u0159\u015b\5U+\2\u015a\u0158\3\2\2\2\u015a"+
+		"\u0159\3\2\2\2\u015b\u015e\3\2\2\2\u015c\u015a\3\2\2\2\u015c\u015d\3\2"+
+		"\2\2\u015d\u015f\3\2\2\2\u015e\u015c\3\2\2\2\u015f\u0160\b%\2\2\u0160"+
+		"J\3\2\2\2\u0161\u0163\5U+\2\u0162\u0161\3\2\2\2\u0163\u0164\3\2\2\2\u0164"+
+		"\u0162\3\2\2\2\u0164\u0165\3\2\2\2\u0165L\3\2\2\2\u0166\u0168\5U+\2\u0167"+
+		"\u0166\3\2\2\2\u0168\u016b\3\2\2\2\u0169\u0167\3\2\2\2\u0169\u016a\3\2"+
+		"\2\2\u016a\u016c\3\2\2\2\u016b\u0169\3\2\2\2\u016c\u016e\5[.\2\u016d\u016f"+
+		"\5U+\2\u016e\u016d\3\2\2\2\u016f\u0170\3\2\2\2\u0170\u016e\3\2\2\2\u0170"+
+		"\u0171\3\2\2\2\u0171N\3\2\2\2\u0172\u0177\5Y-\2\u0173\u0176\5]/\2\u0174"+
+		"\u0176\13\2\2\2\u0175\u0173\3\2\2\2\u0175\u0174\3\2\2\2\u0176\u0179\3"+
+		"\2\2\2\u0177\u0178\3\2\2\2\u0177\u0175\3\2\2\2\u0178\u017a\3\2\2\2\u0179"+
+		"\u0177\3\2\2\2\u017a\u017b\5Y-\2\u017b\u017c\b(\3\2\u017cP\3\2\2\2\u017d"+
+		"\u017f\t\3\2\2\u017e\u017d\3\2\2\2\u017f\u0180\3\2\2\2\u0180\u017e\3\2"+
+		"\2\2\u0180\u0181\3\2\2\2\u0181\u0182\3\2\2\2\u0182\u0183\b)\4\2\u0183"+
+		"R\3\2\2\2\u0184\u0185\7/\2\2\u0185\u0186\7/\2\2\u0186\u018a\3\2\2\2\u0187"+
+		"\u0189\n\4\2\2\u0188\u0187\3\2\2\2\u0189\u018c\3\2\2\2\u018a\u0188\3\2"+
+		"\2\2\u018a\u018b\3\2\2\2\u018b\u018d\3\2\2\2\u018c\u018a\3\2\2\2\u018d"+
+		"\u018e\b*\4\2\u018eT\3\2\2\2\u018f\u0190\t\5\2\2\u0190V\3\2\2\2\u0191"+
+		"\u0192\t\6\2\2\u0192X\3\2\2\2\u0193\u0194\7$\2\2\u0194Z\3\2\2\2\u0195"+
+		"\u0196\7\60\2\2\u0196\\\3\2\2\2\u0197\u0198\7^\2\2\u0198\u0199\7\62\2"+
+		"\2\u0199^\3\2\2\2\u019a\u019b\7^\2\2\u019b`\3\2\2\2\16\2\u014a\u0155\u015a"+
+		"\u015c\u0164\u0169\u0170\u0175\u0177\u0180\u018a\5\3%\2\3(\3\b\2\2";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,2669 @@
+// Generated from Micro.g4 by ANTLR 4.5.3
+package compiler;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
+import org.antlr.v4.runtime.tree.*;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class MicroParser extends Parser {
+	static { RuntimeMetaData.checkVersion("4.5.3", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
+		T__31=32, T__32=33, KEYWORD=34, OPERATOR=35, IDENTIFIER=36, INTLITERAL=37, 
+		FLOATLITERAL=38, STRINGLITERAL=39, WHITESPACE=40, COMMENT=41;
+	public static final int
+		RULE_program = 0, RULE_id = 1, RULE_pgm_body = 2, RULE_decl = 3, RULE_string_decl = 4, 
+		RULE_str = 5, RULE_var_decl = 6, RULE_var_type = 7, RULE_any_type = 8, 
+		RULE_id_list = 9, RULE_id_tail = 10, RULE_param_decl_list = 11, RULE_param_decl = 12, 
+		RULE_param_decl_tail = 13, RULE_func_declarations = 14, RULE_func_decl = 15, 
+		RULE_func_body = 16, RULE_stmt_list = 17, RULE_stmt = 18, RULE_base_stmt = 19, 
+		RULE_assign_stmt = 20, RULE_assign_expr = 21, RULE_read_stmt = 22, RULE_write_stmt = 23, 
+		RULE_return_stmt = 24, RULE_expr = 25, RULE_expr_prefix = 26, RULE_factor = 27, 
+		RULE_factor_prefix = 28, RULE_postfix_expr = 29, RULE_call_expr = 30, 
+		RULE_expr_list = 31, RULE_expr_list_tail = 32, RULE_primary = 33, RULE_addop = 34, 
+		RULE_mulop = 35, RULE_if_stmt = 36, RULE_else_part = 37, RULE_cond = 38, 
+		RULE_compop = 39, RULE_do_while_stmt = 40;
+	public static final String[] ruleNames = {
+		"program", "id", "pgm_body", "decl", "string_decl", "str", "var_decl", 
+		"var_type", "any_type", "id_list", "id_tail", "param_decl_list", "param_decl", 
+		"param_decl_tail", "func_declarations", "func_decl", "func_body", "stmt_list", 
+		"stmt", "base_stmt", "assign_stmt", "assign_expr", "read_stmt", "write_stmt", 
+		"return_stmt", "expr", "expr_prefix", "factor", "factor_prefix", "postfix_expr", 
+		"call_expr", "expr_list", "expr_list_tail", "primary", "addop", "mulop", 
+		"if_stmt", "else_part", "cond", "compop", "do_while_stmt"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'PROGRAM'", "'BEGIN'", "'END'", "'STRING'", "':='", "';'", "'FLOAT'", 
+		"'INT'", "'VOID'", "','", "'FUNCTION'", "'('", "')'", "'READ'", "'WRITE'", 
+		"'RETURN'", "'+'", "'-'", "'*'", "'/'", "'IF'", "'ENDIF'", "'ELSIF'", 
+		"'TRUE'", "'FALSE'", "'<'", "'>'", "'='", "'!='", "'<='", "'>='", "'DO'", 
+		"'WHILE'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, "KEYWORD", 
+		"OPERATOR", "IDENTIFIER", "INTLITERAL", "FLOATLITERAL", "STRINGLITERAL", 
+		"WHITESPACE", "COMMENT"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+	@Override
+	public String getGrammarFileName() { return "Micro.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public MicroParser(TokenStream input) {
+		super(input);
+		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+	public static class ProgramContext extends ParserRuleContext {
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public Pgm_bodyContext pgm_body() {
+			return getRuleContext(Pgm_bodyContext.class,0);
+		}
+		public ProgramContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_program; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterProgram(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitProgram(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitProgram(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final ProgramContext program() throws RecognitionException {
+		ProgramContext _localctx = new ProgramContext(_ctx, getState());
+		enterRule(_localctx, 0, RULE_program);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(82);
+			match(T__0);
+			setState(83);
+			id();
+			setState(84);
+			match(T__1);
+			setState(85);
+			pgm_body();
+			setState(86);
+			match(T__2);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class IdContext extends ParserRuleContext {
+		public TerminalNode IDENTIFIER() { return getToken(MicroParser.IDENTIFIER, 0); }
+		public IdContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_id; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterId(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitId(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitId(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final IdContext id() throws RecognitionException {
+		IdContext _localctx = new IdContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_id);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(88);
+			match(IDENTIFIER);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Pgm_bodyContext extends ParserRuleContext {
+		public DeclContext decl() {
+			return getRuleContext(DeclContext.class,0);
+		}
+		public Func_declarationsContext func_declarations() {
+			return getRuleContext(Func_declarationsContext.class,0);
+		}
+		public Pgm_bodyContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_pgm_body; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterPgm_body(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitPgm_body(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitPgm_body(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Pgm_bodyContext pgm_body() throws RecognitionException {
+		Pgm_bodyContext _localctx = new Pgm_bodyContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_pgm_body);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(90);
+			decl();
+			setState(91);
+			func_declarations();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class DeclContext extends ParserRuleContext {
+		public String_declContext string_decl() {
+			return getRuleContext(String_declContext.class,0);
+		}
+		public DeclContext decl() {
+			return getRuleContext(DeclContext.class,0);
+		}
+		public Var_declContext var_decl() {
+			return getRuleContext(Var_declContext.class,0);
+		}
+		public DeclContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_decl; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterDecl(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitDecl(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitDecl(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final DeclContext decl() throws RecognitionException {
+		DeclContext _localctx = new DeclContext(_ctx, getState());
+		enterRule(_localctx, 6, RULE_decl);
+		try {
+			setState(100);
+			switch (_input.LA(1)) {
+			case T__3:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(93);
+				string_decl();
+				setState(94);
+				decl();
+				}
+				break;
+			case T__6:
+			case T__7:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(96);
+				var_decl();
+				setState(97);
+				decl();
+				}
+				break;
+			case T__2:
+			case T__10:
+			case T__13:
+			case T__14:
+			case T__15:
+			case T__20:
+			case T__21:
+			case T__22:
+			case T__31:
+			case T__32:
+			case IDENTIFIER:
+				enterOuterAlt(_localctx, 3);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class String_declContext extends ParserRuleContext {
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public StrContext str() {
+			return getRuleContext(StrContext.class,0);
+		}
+		public String_declContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_string_decl; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterString_decl(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitString_decl(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitString_decl(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final String_declContext string_decl() throws RecognitionException {
+		String_declContext _localctx = new String_declContext(_ctx, getState());
+		enterRule(_localctx, 8, RULE_string_decl);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(102);
+			match(T__3);
+			setState(103);
+			id();
+			setState(104);
+			match(T__4);
+			setState(105);
+			str();
+			setState(106);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class StrContext extends ParserRuleContext {
+		public TerminalNode STRINGLITERAL() { return getToken(MicroParser.STRINGLITERAL, 0); }
+		public StrContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_str; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterStr(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitStr(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitStr(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final StrContext str() throws RecognitionException {
+		StrContext _localctx = new StrContext(_ctx, getState());
+		enterRule(_localctx, 10, RULE_str);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(108);
+			match(STRINGLITERAL);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Var_declContext extends ParserRuleContext {
+		public Var_typeContext var_type() {
+			return getRuleContext(Var_typeContext.class,0);
+		}
+		public Id_listContext id_list() {
+			return getRuleContext(Id_listContext.class,0);
+		}
+		public Var_declContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_var_decl; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterVar_decl(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitVar_decl(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitVar_decl(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Var_declContext var_decl() throws RecognitionException {
+		Var_declContext _localctx = new Var_declContext(_ctx, getState());
+		enterRule(_localctx, 12, RULE_var_decl);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(110);
+			var_type();
+			setState(111);
+			id_list();
+			setState(112);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Var_typeContext extends ParserRuleContext {
+		public Var_typeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_var_type; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterVar_type(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitVar_type(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitVar_type(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Var_typeContext var_type() throws RecognitionException {
+		Var_typeContext _localctx = new Var_typeContext(_ctx, getState());
+		enterRule(_localctx, 14, RULE_var_type);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(114);
+			_la = _input.LA(1);
+			if ( !(_la==T__6 || _la==T__7) ) {
+			_errHandler.recoverInline(this);
+			} else {
+				consume();
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Any_typeContext extends ParserRuleContext {
+		public Var_typeContext var_type() {
+			return getRuleContext(Var_typeContext.class,0);
+		}
+		public Any_typeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_any_type; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterAny_type(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitAny_type(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitAny_type(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Any_typeContext any_type() throws RecognitionException {
+		Any_typeContext _localctx = new Any_typeContext(_ctx, getState());
+		enterRule(_localctx, 16, RULE_any_type);
+		try {
+			setState(118);
+			switch (_input.LA(1)) {
+			case T__6:
+			case T__7:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(116);
+				var_type();
+				}
+				break;
+			case T__8:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(117);
+				match(T__8);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Id_listContext extends ParserRuleContext {
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public Id_tailContext id_tail() {
+			return getRuleContext(Id_tailContext.class,0);
+		}
+		public Id_listContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_id_list; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterId_list(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitId_list(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitId_list(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Id_listContext id_list() throws RecognitionException {
+		Id_listContext _localctx = new Id_listContext(_ctx, getState());
+		enterRule(_localctx, 18, RULE_id_list);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(120);
+			id();
+			setState(121);
+			id_tail();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Id_tailContext extends ParserRuleContext {
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public Id_tailContext id_tail() {
+			return getRuleContext(Id_tailContext.class,0);
+		}
+		public Id_tailContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_id_tail; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterId_tail(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitId_tail(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitId_tail(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Id_tailContext id_tail() throws RecognitionException {
+		Id_tailContext _localctx = new Id_tailContext(_ctx, getState());
+		enterRule(_localctx, 20, RULE_id_tail);
+		try {
+			setState(128);
+			switch (_input.LA(1)) {
+			case T__9:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(123);
+				match(T__9);
+				setState(124);
+				id();
+				setState(125);
+				id_tail();
+				}
+				break;
+			case T__5:
+			case T__12:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Param_decl_listContext extends ParserRuleContext {
+		public Param_declContext param_decl() {
+			return getRuleContext(Param_declContext.class,0);
+		}
+		public Param_decl_tailContext param_decl_tail() {
+			return getRuleContext(Param_decl_tailContext.class,0);
+		}
+		public Param_decl_listContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_param_decl_list; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterParam_decl_list(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitParam_decl_list(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitParam_decl_list(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Param_decl_listContext param_decl_list() throws RecognitionException {
+		Param_decl_listContext _localctx = new Param_decl_listContext(_ctx, getState());
+		enterRule(_localctx, 22, RULE_param_decl_list);
+		try {
+			setState(134);
+			switch (_input.LA(1)) {
+			case T__6:
+			case T__7:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(130);
+				param_decl();
+				setState(131);
+				param_decl_tail();
+				}
+				break;
+			case T__12:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Param_declContext extends ParserRuleContext {
+		public Var_typeContext var_type() {
+			return getRuleContext(Var_typeContext.class,0);
+		}
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public Param_declContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_param_decl; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterParam_decl(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitParam_decl(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitParam_decl(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Param_declContext param_decl() throws RecognitionException {
+		Param_declContext _localctx = new Param_declContext(_ctx, getState());
+		enterRule(_localctx, 24, RULE_param_decl);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(136);
+			var_type();
+			setState(137);
+			id();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Param_decl_tailContext extends ParserRuleContext {
+		public Param_declContext param_decl() {
+			return getRuleContext(Param_declContext.class,0);
+		}
+		public Param_decl_tailContext param_decl_tail() {
+			return getRuleContext(Param_decl_tailContext.class,0);
+		}
+		public Param_decl_tailContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_param_decl_tail; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterParam_decl_tail(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitParam_decl_tail(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitParam_decl_tail(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Param_decl_tailContext param_decl_tail() throws RecognitionException {
+		Param_decl_tailContext _localctx = new Param_decl_tailContext(_ctx, getState());
+		enterRule(_localctx, 26, RULE_param_decl_tail);
+		try {
+			setState(144);
+			switch (_input.LA(1)) {
+			case T__9:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(139);
+				match(T__9);
+				setState(140);
+				param_decl();
+				setState(141);
+				param_decl_tail();
+				}
+				break;
+			case T__12:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Func_declarationsContext extends ParserRuleContext {
+		public Func_declContext func_decl() {
+			return getRuleContext(Func_declContext.class,0);
+		}
+		public Func_declarationsContext func_declarations() {
+			return getRuleContext(Func_declarationsContext.class,0);
+		}
+		public Func_declarationsContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_func_declarations; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterFunc_declarations(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitFunc_declarations(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitFunc_declarations(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Func_declarationsContext func_declarations() throws RecognitionException {
+		Func_declarationsContext _localctx = new Func_declarationsContext(_ctx, getState());
+		enterRule(_localctx, 28, RULE_func_declarations);
+		try {
+			setState(150);
+			switch (_input.LA(1)) {
+			case T__10:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(146);
+				func_decl();
+				setState(147);
+				func_declarations();
+				}
+				break;
+			case T__2:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Func_declContext extends ParserRuleContext {
+		public Any_typeContext any_type() {
+			return getRuleContext(Any_typeContext.class,0);
+		}
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public Param_decl_listContext param_decl_list() {
+			return getRuleContext(Param_decl_listContext.class,0);
+		}
+		public Func_bodyContext func_body() {
+			return getRuleContext(Func_bodyContext.class,0);
+		}
+		public Func_declContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_func_decl; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterFunc_decl(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitFunc_decl(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitFunc_decl(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Func_declContext func_decl() throws RecognitionException {
+		Func_declContext _localctx = new Func_declContext(_ctx, getState());
+		enterRule(_localctx, 30, RULE_func_decl);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(152);
+			match(T__10);
+			setState(153);
+			any_type();
+			setState(154);
+			id();
+			setState(155);
+			match(T__11);
+			setState(156);
+			param_decl_list();
+			setState(157);
+			match(T__12);
+			setState(158);
+			match(T__1);
+			setState(159);
+			func_body();
+			setState(160);
+			match(T__2);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Func_bodyContext extends ParserRuleContext {
+		public DeclContext decl() {
+			return getRuleContext(DeclContext.class,0);
+		}
+		public Stmt_listContext stmt_list() {
+			return getRuleContext(Stmt_listContext.class,0);
+		}
+		public Func_bodyContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_func_body; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterFunc_body(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitFunc_body(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitFunc_body(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Func_bodyContext func_body() throws RecognitionException {
+		Func_bodyContext _localctx = new Func_bodyContext(_ctx, getState());
+		enterRule(_localctx, 32, RULE_func_body);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(162);
+			decl();
+			setState(163);
+			stmt_list();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Stmt_listContext extends ParserRuleContext {
+		public StmtContext stmt() {
+			return getRuleContext(StmtContext.class,0);
+		}
+		public Stmt_listContext stmt_list() {
+			return getRuleContext(Stmt_listContext.class,0);
+		}
+		public Stmt_listContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_stmt_list; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterStmt_list(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitStmt_list(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitStmt_list(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Stmt_listContext stmt_list() throws RecognitionException {
+		Stmt_listContext _localctx = new Stmt_listContext(_ctx, getState());
+		enterRule(_localctx, 34, RULE_stmt_list);
+		try {
+			setState(169);
+			switch (_input.LA(1)) {
+			case T__13:
+			case T__14:
+			case T__15:
+			case T__20:
+			case T__31:
+			case IDENTIFIER:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(165);
+				stmt();
+				setState(166);
+				stmt_list();
+				}
+				break;
+			case T__2:
+			case T__21:
+			case T__22:
+			case T__32:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class StmtContext extends ParserRuleContext {
+		public Base_stmtContext base_stmt() {
+			return getRuleContext(Base_stmtContext.class,0);
+		}
+		public If_stmtContext if_stmt() {
+			return getRuleContext(If_stmtContext.class,0);
+		}
+		public Do_while_stmtContext do_while_stmt() {
+			return getRuleContext(Do_while_stmtContext.class,0);
+		}
+		public StmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterStmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitStmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitStmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final StmtContext stmt() throws RecognitionException {
+		StmtContext _localctx = new StmtContext(_ctx, getState());
+		enterRule(_localctx, 36, RULE_stmt);
+		try {
+			setState(174);
+			switch (_input.LA(1)) {
+			case T__13:
+			case T__14:
+			case T__15:
+			case IDENTIFIER:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(171);
+				base_stmt();
+				}
+				break;
+			case T__20:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(172);
+				if_stmt();
+				}
+				break;
+			case T__31:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(173);
+				do_while_stmt();
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Base_stmtContext extends ParserRuleContext {
+		public Assign_stmtContext assign_stmt() {
+			return getRuleContext(Assign_stmtContext.class,0);
+		}
+		public Read_stmtContext read_stmt() {
+			return getRuleContext(Read_stmtContext.class,0);
+		}
+		public Write_stmtContext write_stmt() {
+			return getRuleContext(Write_stmtContext.class,0);
+		}
+		public Return_stmtContext return_stmt() {
+			return getRuleContext(Return_stmtContext.class,0);
+		}
+		public Base_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_base_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterBase_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitBase_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitBase_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Base_stmtContext base_stmt() throws RecognitionException {
+		Base_stmtContext _localctx = new Base_stmtContext(_ctx, getState());
+		enterRule(_localctx, 38, RULE_base_stmt);
+		try {
+			setState(180);
+			switch (_input.LA(1)) {
+			case IDENTIFIER:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(176);
+				assign_stmt();
+				}
+				break;
+			case T__13:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(177);
+				read_stmt();
+				}
+				break;
+			case T__14:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(178);
+				write_stmt();
+				}
+				break;
+			case T__15:
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(179);
+				return_stmt();
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Assign_stmtContext extends ParserRuleContext {
+		public Assign_exprContext assign_expr() {
+			return getRuleContext(Assign_exprContext.class,0);
+		}
+		public Assign_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_assign_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterAssign_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitAssign_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitAssign_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Assign_stmtContext assign_stmt() throws RecognitionException {
+		Assign_stmtContext _localctx = new Assign_stmtContext(_ctx, getState());
+		enterRule(_localctx, 40, RULE_assign_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(182);
+			assign_expr();
+			setState(183);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Assign_exprContext extends ParserRuleContext {
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public Assign_exprContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_assign_expr; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterAssign_expr(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitAssign_expr(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitAssign_expr(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Assign_exprContext assign_expr() throws RecognitionException {
+		Assign_exprContext _localctx = new Assign_exprContext(_ctx, getState());
+		enterRule(_localctx, 42, RULE_assign_expr);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(185);
+			id();
+			setState(186);
+			match(T__4);
+			setState(187);
+			expr();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Read_stmtContext extends ParserRuleContext {
+		public Id_listContext id_list() {
+			return getRuleContext(Id_listContext.class,0);
+		}
+		public Read_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_read_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterRead_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitRead_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitRead_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Read_stmtContext read_stmt() throws RecognitionException {
+		Read_stmtContext _localctx = new Read_stmtContext(_ctx, getState());
+		enterRule(_localctx, 44, RULE_read_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(189);
+			match(T__13);
+			setState(190);
+			match(T__11);
+			setState(191);
+			id_list();
+			setState(192);
+			match(T__12);
+			setState(193);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Write_stmtContext extends ParserRuleContext {
+		public Id_listContext id_list() {
+			return getRuleContext(Id_listContext.class,0);
+		}
+		public Write_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_write_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterWrite_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitWrite_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitWrite_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Write_stmtContext write_stmt() throws RecognitionException {
+		Write_stmtContext _localctx = new Write_stmtContext(_ctx, getState());
+		enterRule(_localctx, 46, RULE_write_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(195);
+			match(T__14);
+			setState(196);
+			match(T__11);
+			setState(197);
+			id_list();
+			setState(198);
+			match(T__12);
+			setState(199);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Return_stmtContext extends ParserRuleContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public Return_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_return_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterReturn_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitReturn_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitReturn_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Return_stmtContext return_stmt() throws RecognitionException {
+		Return_stmtContext _localctx = new Return_stmtContext(_ctx, getState());
+		enterRule(_localctx, 48, RULE_return_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(201);
+			match(T__15);
+			setState(202);
+			expr();
+			setState(203);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExprContext extends ParserRuleContext {
+		public Expr_prefixContext expr_prefix() {
+			return getRuleContext(Expr_prefixContext.class,0);
+		}
+		public FactorContext factor() {
+			return getRuleContext(FactorContext.class,0);
+		}
+		public ExprContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expr; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterExpr(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitExpr(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitExpr(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final ExprContext expr() throws RecognitionException {
+		ExprContext _localctx = new ExprContext(_ctx, getState());
+		enterRule(_localctx, 50, RULE_expr);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(205);
+			expr_prefix(0);
+			setState(206);
+			factor();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Expr_prefixContext extends ParserRuleContext {
+		public Expr_prefixContext expr_prefix() {
+			return getRuleContext(Expr_prefixContext.class,0);
+		}
+		public FactorContext factor() {
+			return getRuleContext(FactorContext.class,0);
+		}
+		public AddopContext addop() {
+			return getRuleContext(AddopContext.class,0);
+		}
+		public Expr_prefixContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expr_prefix; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterExpr_prefix(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitExpr_prefix(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitExpr_prefix(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Expr_prefixContext expr_prefix() throws RecognitionException {
+		return expr_prefix(0);
+	}
+
+	private Expr_prefixContext expr_prefix(int _p) throws RecognitionException {
+		ParserRuleContext _parentctx = _ctx;
+		int _parentState = getState();
+		Expr_prefixContext _localctx = new Expr_prefixContext(_ctx, _parentState);
+		Expr_prefixContext _prevctx = _localctx;
+		int _startState = 52;
+		enterRecursionRule(_localctx, 52, RULE_expr_prefix, _p);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			{
+			}
+			_ctx.stop = _input.LT(-1);
+			setState(215);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,9,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					if ( _parseListeners!=null ) triggerExitRuleEvent();
+					_prevctx = _localctx;
+					{
+					{
+					_localctx = new Expr_prefixContext(_parentctx, _parentState);
+					pushNewRecursionContext(_localctx, _startState, RULE_expr_prefix);
+					setState(209);
+					if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
+					setState(210);
+					factor();
+					setState(211);
+					addop();
+					}
+					} 
+				}
+				setState(217);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,9,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			unrollRecursionContexts(_parentctx);
+		}
+		return _localctx;
+	}
+
+	public static class FactorContext extends ParserRuleContext {
+		public Factor_prefixContext factor_prefix() {
+			return getRuleContext(Factor_prefixContext.class,0);
+		}
+		public Postfix_exprContext postfix_expr() {
+			return getRuleContext(Postfix_exprContext.class,0);
+		}
+		public FactorContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_factor; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterFactor(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitFactor(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitFactor(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final FactorContext factor() throws RecognitionException {
+		FactorContext _localctx = new FactorContext(_ctx, getState());
+		enterRule(_localctx, 54, RULE_factor);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(218);
+			factor_prefix(0);
+			setState(219);
+			postfix_expr();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Factor_prefixContext extends ParserRuleContext {
+		public Factor_prefixContext factor_prefix() {
+			return getRuleContext(Factor_prefixContext.class,0);
+		}
+		public Postfix_exprContext postfix_expr() {
+			return getRuleContext(Postfix_exprContext.class,0);
+		}
+		public MulopContext mulop() {
+			return getRuleContext(MulopContext.class,0);
+		}
+		public Factor_prefixContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_factor_prefix; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterFactor_prefix(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitFactor_prefix(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitFactor_prefix(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Factor_prefixContext factor_prefix() throws RecognitionException {
+		return factor_prefix(0);
+	}
+
+	private Factor_prefixContext factor_prefix(int _p) throws RecognitionException {
+		ParserRuleContext _parentctx = _ctx;
+		int _parentState = getState();
+		Factor_prefixContext _localctx = new Factor_prefixContext(_ctx, _parentState);
+		Factor_prefixContext _prevctx = _localctx;
+		int _startState = 56;
+		enterRecursionRule(_localctx, 56, RULE_factor_prefix, _p);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			{
+			}
+			_ctx.stop = _input.LT(-1);
+			setState(228);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					if ( _parseListeners!=null ) triggerExitRuleEvent();
+					_prevctx = _localctx;
+					{
+					{
+					_localctx = new Factor_prefixContext(_parentctx, _parentState);
+					pushNewRecursionContext(_localctx, _startState, RULE_factor_prefix);
+					setState(222);
+					if (!(precpred(_ctx, 2))) throw new FailedPredicateException(this, "precpred(_ctx, 2)");
+					setState(223);
+					postfix_expr();
+					setState(224);
+					mulop();
+					}
+					} 
+				}
+				setState(230);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			unrollRecursionContexts(_parentctx);
+		}
+		return _localctx;
+	}
+
+	public static class Postfix_exprContext extends ParserRuleContext {
+		public PrimaryContext primary() {
+			return getRuleContext(PrimaryContext.class,0);
+		}
+		public Call_exprContext call_expr() {
+			return getRuleContext(Call_exprContext.class,0);
+		}
+		public Postfix_exprContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_postfix_expr; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterPostfix_expr(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitPostfix_expr(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitPostfix_expr(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Postfix_exprContext postfix_expr() throws RecognitionException {
+		Postfix_exprContext _localctx = new Postfix_exprContext(_ctx, getState());
+		enterRule(_localctx, 58, RULE_postfix_expr);
+		try {
+			setState(233);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(231);
+				primary();
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(232);
+				call_expr();
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Call_exprContext extends ParserRuleContext {
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public Expr_listContext expr_list() {
+			return getRuleContext(Expr_listContext.class,0);
+		}
+		public Call_exprContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_call_expr; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterCall_expr(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitCall_expr(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitCall_expr(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Call_exprContext call_expr() throws RecognitionException {
+		Call_exprContext _localctx = new Call_exprContext(_ctx, getState());
+		enterRule(_localctx, 60, RULE_call_expr);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(235);
+			id();
+			setState(236);
+			match(T__11);
+			setState(237);
+			expr_list();
+			setState(238);
+			match(T__12);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Expr_listContext extends ParserRuleContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public Expr_list_tailContext expr_list_tail() {
+			return getRuleContext(Expr_list_tailContext.class,0);
+		}
+		public Expr_listContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expr_list; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterExpr_list(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitExpr_list(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitExpr_list(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Expr_listContext expr_list() throws RecognitionException {
+		Expr_listContext _localctx = new Expr_listContext(_ctx, getState());
+		enterRule(_localctx, 62, RULE_expr_list);
+		try {
+			setState(244);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(240);
+				expr();
+				setState(241);
+				expr_list_tail();
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Expr_list_tailContext extends ParserRuleContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public Expr_list_tailContext expr_list_tail() {
+			return getRuleContext(Expr_list_tailContext.class,0);
+		}
+		public Expr_list_tailContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expr_list_tail; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterExpr_list_tail(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitExpr_list_tail(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitExpr_list_tail(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Expr_list_tailContext expr_list_tail() throws RecognitionException {
+		Expr_list_tailContext _localctx = new Expr_list_tailContext(_ctx, getState());
+		enterRule(_localctx, 64, RULE_expr_list_tail);
+		try {
+			setState(251);
+			switch (_input.LA(1)) {
+			case T__9:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(246);
+				match(T__9);
+				setState(247);
+				expr();
+				setState(248);
+				expr_list_tail();
+				}
+				break;
+			case T__12:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class PrimaryContext extends ParserRuleContext {
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public TerminalNode INTLITERAL() { return getToken(MicroParser.INTLITERAL, 0); }
+		public TerminalNode FLOATLITERAL() { return getToken(MicroParser.FLOATLITERAL, 0); }
+		public PrimaryContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_primary; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterPrimary(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitPrimary(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitPrimary(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final PrimaryContext primary() throws RecognitionException {
+		PrimaryContext _localctx = new PrimaryContext(_ctx, getState());
+		enterRule(_localctx, 66, RULE_primary);
+		try {
+			setState(260);
+			switch (_input.LA(1)) {
+			case T__11:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(253);
+				match(T__11);
+				setState(254);
+				expr();
+				setState(255);
+				match(T__12);
+				}
+				break;
+			case IDENTIFIER:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(257);
+				id();
+				}
+				break;
+			case INTLITERAL:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(258);
+				match(INTLITERAL);
+				}
+				break;
+			case FLOATLITERAL:
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(259);
+				match(FLOATLITERAL);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class AddopContext extends ParserRuleContext {
+		public AddopContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_addop; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterAddop(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitAddop(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitAddop(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final AddopContext addop() throws RecognitionException {
+		AddopContext _localctx = new AddopContext(_ctx, getState());
+		enterRule(_localctx, 68, RULE_addop);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(262);
+			_la = _input.LA(1);
+			if ( !(_la==T__16 || _la==T__17) ) {
+			_errHandler.recoverInline(this);
+			} else {
+				consume();
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class MulopContext extends ParserRuleContext {
+		public MulopContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_mulop; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterMulop(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitMulop(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitMulop(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final MulopContext mulop() throws RecognitionException {
+		MulopContext _localctx = new MulopContext(_ctx, getState());
+		enterRule(_localctx, 70, RULE_mulop);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(264);
+			_la = _input.LA(1);
+			if ( !(_la==T__18 || _la==T__19) ) {
+			_errHandler.recoverInline(this);
+			} else {
+				consume();
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class If_stmtContext extends ParserRuleContext {
+		public CondContext cond() {
+			return getRuleContext(CondContext.class,0);
+		}
+		public DeclContext decl() {
+			return getRuleContext(DeclContext.class,0);
+		}
+		public Stmt_listContext stmt_list() {
+			return getRuleContext(Stmt_listContext.class,0);
+		}
+		public Else_partContext else_part() {
+			return getRuleContext(Else_partContext.class,0);
+		}
+		public If_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_if_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterIf_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitIf_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitIf_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final If_stmtContext if_stmt() throws RecognitionException {
+		If_stmtContext _localctx = new If_stmtContext(_ctx, getState());
+		enterRule(_localctx, 72, RULE_if_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(266);
+			match(T__20);
+			setState(267);
+			match(T__11);
+			setState(268);
+			cond();
+			setState(269);
+			match(T__12);
+			setState(270);
+			decl();
+			setState(271);
+			stmt_list();
+			setState(272);
+			else_part();
+			setState(273);
+			match(T__21);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Else_partContext extends ParserRuleContext {
+		public CondContext cond() {
+			return getRuleContext(CondContext.class,0);
+		}
+		public DeclContext decl() {
+			return getRuleContext(DeclContext.class,0);
+		}
+		public Stmt_listContext stmt_list() {
+			return getRuleContext(Stmt_listContext.class,0);
+		}
+		public Else_partContext else_part() {
+			return getRuleContext(Else_partContext.class,0);
+		}
+		public Else_partContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_else_part; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterElse_part(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitElse_part(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitElse_part(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Else_partContext else_part() throws RecognitionException {
+		Else_partContext _localctx = new Else_partContext(_ctx, getState());
+		enterRule(_localctx, 74, RULE_else_part);
+		try {
+			setState(284);
+			switch (_input.LA(1)) {
+			case T__22:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(275);
+				match(T__22);
+				setState(276);
+				match(T__11);
+				setState(277);
+				cond();
+				setState(278);
+				match(T__12);
+				setState(279);
+				decl();
+				setState(280);
+				stmt_list();
+				setState(281);
+				else_part();
+				}
+				break;
+			case T__21:
+				enterOuterAlt(_localctx, 2);
+				{
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class CondContext extends ParserRuleContext {
+		public List<ExprContext> expr() {
+			return getRuleContexts(ExprContext.class);
+		}
+		public ExprContext expr(int i) {
+			return getRuleContext(ExprContext.class,i);
+		}
+		public CompopContext compop() {
+			return getRuleContext(CompopContext.class,0);
+		}
+		public CondContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_cond; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterCond(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitCond(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitCond(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final CondContext cond() throws RecognitionException {
+		CondContext _localctx = new CondContext(_ctx, getState());
+		enterRule(_localctx, 76, RULE_cond);
+		try {
+			setState(292);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,16,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(286);
+				expr();
+				setState(287);
+				compop();
+				setState(288);
+				expr();
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(290);
+				match(T__23);
+				}
+				break;
+			case 3:
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(291);
+				match(T__24);
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class CompopContext extends ParserRuleContext {
+		public CompopContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_compop; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterCompop(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitCompop(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitCompop(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final CompopContext compop() throws RecognitionException {
+		CompopContext _localctx = new CompopContext(_ctx, getState());
+		enterRule(_localctx, 78, RULE_compop);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(294);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__25) | (1L << T__26) | (1L << T__27) | (1L << T__28) | (1L << T__29) | (1L << T__30))) != 0)) ) {
+			_errHandler.recoverInline(this);
+			} else {
+				consume();
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Do_while_stmtContext extends ParserRuleContext {
+		public DeclContext decl() {
+			return getRuleContext(DeclContext.class,0);
+		}
+		public Stmt_listContext stmt_list() {
+			return getRuleContext(Stmt_listContext.class,0);
+		}
+		public CondContext cond() {
+			return getRuleContext(CondContext.class,0);
+		}
+		public Do_while_stmtContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_do_while_stmt; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).enterDo_while_stmt(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroListener ) ((MicroListener)listener).exitDo_while_stmt(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof MicroVisitor ) return ((MicroVisitor<? extends T>)visitor).visitDo_while_stmt(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Do_while_stmtContext do_while_stmt() throws RecognitionException {
+		Do_while_stmtContext _localctx = new Do_while_stmtContext(_ctx, getState());
+		enterRule(_localctx, 80, RULE_do_while_stmt);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(296);
+			match(T__31);
+			setState(297);
+			decl();
+			setState(298);
+			stmt_list();
+			setState(299);
+			match(T__32);
+			setState(300);
+			match(T__11);
+			setState(301);
+			cond();
+			setState(302);
+			match(T__12);
+			setState(303);
+			match(T__5);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
+		switch (ruleIndex) {
+		case 26:
+			return expr_prefix_sempred((Expr_prefixContext)_localctx, predIndex);
+		case 28:
+			return factor_prefix_sempred((Factor_prefixContext)_localctx, predIndex);
+		}
+		return true;
+	}
+	private boolean expr_prefix_sempred(Expr_prefixContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 0:
+			return precpred(_ctx, 2);
+		}
+		return true;
+	}
+	private boolean factor_prefix_sempred(Factor_prefixContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 1:
+			return precpred(_ctx, 2);
+		}
+		return true;
+	}
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3+\u0134\4\2\t\2\4"+
+		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
+		"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
+		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
+		"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
+		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\3\2\3\2"+
+		"\3\2\3\2\3\2\3\2\3\3\3\3\3\4\3\4\3\4\3\5\3\5\3\5\3\5\3\5\3\5\3\5\5\5g"+
+		"\n\5\3\6\3\6\3\6\3\6\3\6\3\6\3\7\3\7\3\b\3\b\3\b\3\b\3\t\3\t\3\n\3\n\5"+
+		"\ny\n\n\3\13\3\13\3\13\3\f\3\f\3\f\3\f\3\f\5\f\u0083\n\f\3\r\3\r\3\r\3"+
+		"\r\5\r\u0089\n\r\3\16\3\16\3\16\3\17\3\17\3\17\3\17\3\17\5\17\u0093\n"+
+		"\17\3\20\3\20\3\20\3\20\5\20\u0099\n\20\3\21\3\21\3\21\3\21\3\21\3\21"+
+		"\3\21\3\21\3\21\3\21\3\22\3\22\3\22\3\23\3\23\3\23\3\23\5\23\u00ac\n\23"+
+		"\3\24\3\24\3\24\5\24\u00b1\n\24\3\25\3\25\3\25\3\25\5\25\u00b7\n\25\3"+
+		"\26\3\26\3\26\3\27\3\27\3\27\3\27\3\30\3\30\3\30\3\30\3\30\3\30\3\31\3"+
+		"\31\3\31\3\31\3\31\3\31\3\32\3\32\3\32\3\32\3\33\3\33\3\33\3\34\3\34\3"+
+		"\34\3\34\3\34\7\34\u00d8\n\34\f\34\16\34\u00db\13\34\3\35\3\35\3\35\3"+
+		"\36\3\36\3\36\3\36\3\36\7\36\u00e5\n\36\f\36\16\36\u00e8\13\36\3\37\3"+
+		"\37\5\37\u00ec\n\37\3 \3 \3 \3 \3 \3!\3!\3!\3!\5!\u00f7\n!\3\"\3\"\3\""+
+		"\3\"\3\"\5\"\u00fe\n\"\3#\3#\3#\3#\3#\3#\3#\5#\u0107\n#\3$\3$\3%\3%\3"+
+		"&\3&\3&\3&\3&\3&\3&\3&\3&\3\'\3\'\3\'\3\'\3\'\3\'\3\'\3\'\3\'\5\'\u011f"+
+		"\n\'\3(\3(\3(\3(\3(\3(\5(\u0127\n(\3)\3)\3*\3*\3*\3*\3*\3*\3*\3*\3*\3"+
+		"*\2\4\66:+\2\4\6\b\n\f\16\20\22\24\26\30\32\34\36 \"$&(*,.\60\62\64\66"+
+		"8:<>@BDFHJLNPR\2\6\3\2\t\n\3\2\23\24\3\2\25\26\3\2\34!\u0122\2T\3\2\2"+
+		"\2\4Z\3\2\2\2\6\\\3\2\2\2\bf\3\2\2\2\nh\3\2\2\2\fn\3\2\2\2\16p\3\2\2\2"+
+		"\20t\3\2\2\2\22x\3\2\2\2\24z\3\2\2\2\26\u0082\3\2\2\2\30\u0088\3\2\2\2"+
+		"\32\u008a\3\2\2\2\34\u0092\3\2\2\2\36\u0098\3\2\2\2 \u009a\3\2\2\2\"\u00a4"+
+		"\3\2\2\2$\u00ab\3\2\2\2&\u00b0\3\2\2\2(\u00b6\3\2\2\2*\u00b8\3\2\2\2,"+
+		"\u00bb\3\2\2\2.\u00bf\3\2\2\2\60\u00c5\3\2\2\2\62\u00cb\3\2\2\2\64\u00cf"+
+		"\3\2\2\2\66\u00d2\3\2\2\28\u00dc\3\2\2\2:\u00df\3\2\2\2<\u00eb\3\2\2\2"+
+		">\u00ed\3\2\2\2@\u00f6\3\2\2\2B\u00fd\3\2\2\2D\u0106\3\2\2\2F\u0108\3"+
+		"\2\2\2H\u010a\3\2\2\2J\u010c\3\2\2\2L\u011e\3\2\2\2N\u0126\3\2\2\2P\u0128"+
+		"\3\2\2\2R\u012a\3\2\2\2TU\7\3\2\2UV\5\4\3\2VW\7\4\2\2WX\5\6\4\2XY\7\5"+
+		"\2\2Y\3\3\2\2\2Z[\7&\2\2[\5\3\2\2\2\\]\5\b\5\2]^\5\36\20\2^\7\3\2\2\2"+
+		"_`\5\n\6\2`a\5\b\5\2ag\3\2\2\2bc\5\16\b\2cd\5\b\5\2dg\3\2\2\2eg\3\2\2"+
+		"\2f_\3\2\2\2fb\3\2\2\2fe\3\2\2\2g\t\3\2\2\2hi\7\6\2\2ij\5\4\3\2jk\7\7"+
+		"\2\2kl\5\f\7\2lm\7\b\2\2m\13\3\2\2\2no\7)\2\2o\r\3\2\2\2pq\5\20\t\2qr"+
+		"\5\24\13\2rs\7\b\2\2s\17\3\2\2\2tu\t\2\2\2u\21\3\2\2\2vy\5\20\t\2wy\7"+
+		"\13\2\2xv\3\2\2\2xw\3\2\2\2y\23\3\2\2\2z{\5\4\3\2{|\5\26\f\2|\25\3\2\2"+
+		"\2}~\7\f\2\2~\177\5\4\3\2\177\u0080\5\26\f\2\u0080\u0083\3\2\2\2\u0081"+
+		"\u0083\3\2\2\2\u0082}\3\2\2\2\u0082\u0081\3\2\2\2\u0083\27\3\2\2\2\u0084"+
+		"\u0085\5\32\16\2\u0085\u0086\5\34\17\2\u0086\u0089\3\2\2\2\u0087\u0089"+
+		"\3\2\2\2\u0088\u0084\3\2\2\2\u0088\u0087\3\2\2\2\u0089\31\3\2\2\2\u008a"+
+		"\u008b\5\20\t\2\u008b\u008c\5\4\3\2\u008c\33\3\2\2\2\u008d\u008e\7\f\2"+
+		"\2\u008e\u008f\5\32\16\2\u008f\u0090\5\34\17\2\u0090\u0093\3\2\2\2\u0091"+
+		"\u0093\3\2\2\2\u0092\u008d\3\2\2\2\u0092\u0091\3\2\2\2\u0093\35\3\2\2"+
+		"\2\u0094\u0095\5 \21\2\u0095\u0096\5\36\20\2\u0096\u0099\3\2\2\2\u0097"+
+		"\u0099\3\2\2\2\u0098\u0094\3\2\2\2\u0098\u0097\3\2\2\2\u0099\37\3\2\2"+
+		"\2\u009a\u009b\7\r\2\2\u009b\u009c\5\22\n\2\u009c\u009d\5\4\3\2\u009d"+
+		"\u009e\7\16\2\2\u009e\u009f\5\30\r\2\u009f\u00a0\7\17\2\2\u00a0\u00a1"+
+		"\7\4\2\2\u00a1\u00a2\5\"\22\2\u00a2\u00a3\7\5\2\2\u00a3!\3\2\2\2\u00a4"+
+		"\u00a5\5\b\5\2\u00a5\u00a6\5$\23\2\u00a6#\3\2\2\2\u00a7\u00a8\5&\24\2"+
+		"\u00a8\u00a9\5$\23\2\u00a9\u00ac\3\2\2\2\u00aa\u00ac\3\2\2\2\u00ab\u00a7"+
+		"\3\2\2\2\u00ab\u00aa\3\2\2\2\u00ac%\3\2\2\2\u00ad\u00b1\5(\25\2\u00ae"+
+		"\u00b1\5J&\2\u00af\u00b1\5R*\2\u00b0\u00ad\3\2\2\2\u00b0\u00ae\3\2\2\2"+
+		"\u00b0\u00af\3\2\2\2\u00b1\'\3\2\2\2\u00b2\u00b7\5*\26\2\u00b3\u00b7\5"+
+		".\30\2\u00b4\u00b7\5\60\31\2\u00b5\u00b7\5\62\32\2\u00b6\u00b2\3\2\2\2"+
+		"\u00b6\u00b3\3\2\2\2\u00b6\u00b4\3\2\2\2\u00b6\u00b5\3\2\2\2\u00b7)\3"+
+		"\2\2\2\u00b8\u00b9\5,\27\2\u00b9\u00ba\7\b\2\2\u00ba+\3\2\2\2\u00bb\u00bc"+
+		"\5\4\3\2\u00bc\u00bd\7\7\2\2\u00bd\u00be\5\64\33\2\u00be-\3\2\2\2\u00bf"+
+		"\u00c0\7\20\2\2\u00c0\u00c1\7\16\2\2\u00c1\u00c2\5\24\13\2\u00c2\u00c3"+
+		"\7\17\2\2\u00c3\u00c4\7\b\2\2\u00c4/\3\2\2\2\u00c5\u00c6\7\21\2\2\u00c6"+
+		"\u00c7\7\16\2\2\u00c7\u00c8\5\24\13\2\u00c8\u00c9\7\17\2\2\u00c9\u00ca"+
+		"\7\b\2\2\u00ca\61\3\2\2\2\u00cb\u00cc\7\22\2\2\u00cc\u00cd\5\64\33\2\u00cd"+
+		"\u00ce\7\b\2\2\u00ce\63\3\2\2\2\u00cf\u00d0\5\66\34\2\u00d0\u00d1\58\35"+
+		"\2\u00d1\65\3\2\2\2\u00d2\u00d9\b\34\1\2\u00d3\u00d4\f\4\2\2\u00d4\u00d5"+
+		"\58\35\2\u00d5\u00d6\5F$\2\u00d6\u00d8\3\2\2\2\u00d7\u00d3\3\2\2\2\u00d8"+
+		"\u00db\3\2\2\2\u00d9\u00d7\3\2\2\2\u00d9\u00da\3\2\2\2\u00da\67\3\2\2"+
+		"\2\u00db\u00d9\3\2\2\2\u00dc\u00dd\5:\36\2\u00dd\u00de\5<\37\2\u00de9"+
+		"\3\2\2\2\u00df\u00e6\b\36\1\2\u00e0\u00e1\f\4\2\2\u00e1\u00e2\5<\37\2"+
+		"\u00e2\u00e3\5H%\2\u00e3\u00e5\3\2\2\2\u00e4\u00e0\3\2\2\2\u00e5\u00e8"+
+		"\3\2\2\2\u00e6\u00e4\3\2\2\2\u00e6\u00e7\3\2\2\2\u00e7;\3\2\2\2\u00e8"+
+		"\u00e6\3\2\2\2\u00e9\u00ec\5D#\2\u00ea\u00ec\5> \2\u00eb\u00e9\3\2\2\2"+
+		"\u00eb\u00ea\3\2\2\2\u00ec=\3\2\2\2\u00ed\u00ee\5\4\3\2\u00ee\u00ef\7"+
+		"\16\2\2\u00ef\u00f0\5@!\2\u00f0\u00f1\7\17\2\2\u00f1?\3\2\2\2\u00f2\u00f3"+
+		"\5\64\33\2\u00f3\u00f4\5B\"\2\u00f4\u00f7\3\2\2\2\u00f5\u00f7\3\2\2\2"+
+		"\u00f6\u00f2\3\2\2\2\u00f6\u00f5\3\2\2\2\u00f7A\3\2\2\2\u00f8\u00f9\7"+
+		"\f\2\2\u00f9\u00fa\5\64\33\2\u00fa\u00fb\5B\"\2\u00fb\u00fe\3\2\2\2\u00fc"+
+		"\u00fe\3\2\2\2\u00fd\u00f8\3\2\2\2\u00fd\u00fc\3\2\2\2\u00feC\3\2\2\2"+
+		"\u00ff\u0100\7\16\2\2\u0100\u0101\5\64\33\2\u0101\u0102\7\17\2\2\u0102"+
+		"\u0107\3\2\2\2\u0103\u0107\5\4\3\2\u0104\u0107\7\'\2\2\u0105\u0107\7("+
+		"\2\2\u0106\u00ff\3\2\2\2\u0106\u0103\3\2\2\2\u0106\u0104\3\2\2\2\u0106"+
+		"\u0105\3\2\2\2\u0107E\3\2\2\2\u0108\u0109\t\3\2\2\u0109G\3\2\2\2\u010a"+
+		"\u010b\t\4\2\2\u010bI\3\2\2\2\u010c\u010d\7\27\2\2\u010d\u010e\7\16\2"+
+		"\2\u010e\u010f\5N(\2\u010f\u0110\7\17\2\2\u0110\u0111\5\b\5\2\u0111\u0112"+
+		"\5$\23\2\u0112\u0113\5L\'\2\u0113\u0114\7\30\2\2\u0114K\3\2\2\2\u0115"+
+		"\u0116\7\31\2\2\u0116\u0117\7\16\2\2\u0117\u0118\5N(\2\u0118\u0119\7\17"+
+		"\2\2\u0119\u011a\5\b\5\2\u011a\u011b\5$\23\2\u011b\u011c\5L\'\2\u011c"+
+		"\u011f\3\2\2\2\u011d\u011f\3\2\2\2\u011e\u0115\3\2\2\2\u011e\u011d\3\2"+
+		"\2\2\u011fM\3\2\2\2\u0120\u0121\5\64\33\2\u0121\u0122\5P)\2\u0122\u0123"+
+		"\5\64\33\2\u0123\u0127\3\2\2\2\u0124\u0127\7\32\2\2\u0125\u0127\7\33\2"+
+		"\2\u0126\u0120\3\2\2\2\u0126\u0124\3\2\2\2\u0126\u0125\3\2\2\2\u0127O"+
+		"\3\2\2\2\u0128\u0129\t\5\2\2\u0129Q\3\2\2\2\u012a\u012b\7\"\2\2\u012b"+
+		"\u012c\5\b\5\2\u012c\u012d\5$\23\2\u012d\u012e\7#\2\2\u012e\u012f\7\16"+
+		"\2\2\u012f\u0130\5N(\2\u0130\u0131\7\17\2\2\u0131\u0132\7\b\2\2\u0132"+
+		"S\3\2\2\2\23fx\u0082\u0088\u0092\u0098\u00ab\u00b0\u00b6\u00d9\u00e6\u00eb"+
+		"\u00f6\u00fd\u0106\u011e\u0126";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+#! /bin/sh
+# Spill and Tiny cycle counts of every register allocator
+# usage: [TINY=simulator] [REGS=n] scripts/allocators.sh directory-of-micro-files
+
+TINY=${TINY:-lib/tiny}
+REGS=${REGS:-4}
+
+for file in `ls $1/*.micro`
+do
+    FILE=$(echo "$file" | sed 's/\.micro$//')
+    for ra in local linear color
+    do
+        SPILLS=$(java -cp "lib/*:classes/" compiler.Micro -stats -ra $ra -regs $REGS $file 2>&1 > $FILE.$ra.test \
+            | grep allocation | awk '{ s += $4 } END { print s }')
+        if [ -f $FILE.input ]; then
+            CYCLES=$($TINY $FILE.$ra.test < $FILE.input | grep "Total Cycles" | awk '{ print $4 }')
+        else
+            CYCLES=$($TINY $FILE.$ra.test < /dev/null | grep "Total Cycles" | awk '{ print $4 }')
+        fi
+        echo "$file $ra spills=$SPILLS cycles=$CYCLES"
+        rm $FILE.$ra.test
+    done
+done
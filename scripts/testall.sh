@@ -4,6 +4,9 @@ curl -O https://engineering.purdue.edu/EE468/project/step5/testcases_step5.tar.g
 tar -xf testcases_step5.tar.gz
 mv testcases_step5 testcases
 
+# Compiles every program and runs it on the in-process Tiny simulator
+make run-batch DIR=testcases/input FLAGS=-run
+
 for file in `ls testcases/input`
 do
     if [ "$1" = "-v" ]; then
@@ -11,11 +14,9 @@ do
     fi
 
     FILE=$(echo "$file" | cut -d"." -f1)
-    make run FILE=testcases/input/$FILE
     if [ "$1" = "-v" ]; then
         echo "$file check:"
     fi
-    make run-tiny FILE=testcases/input/$FILE < testcases/input/$FILE.input
     make check-tiny IFILE=testcases/input/$FILE.tout CFILE=testcases/output/$FILE.tinyout
 done
 
@@ -1,5 +1,8 @@
 package compiler;
 
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.VariableUniverse;
 import compiler.element.Element;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,9 +11,14 @@ import java.util.*;
 
 /**
  * Intermediate Representation
+ *
+ * Backed by a growable array so that the index based walks done while
+ * building the CFG and solving liveness are O(1) per access.
  */
 @Setter
-public class IR extends LinkedList<IR.Node> {
+public class IR extends ArrayList<IR.Node> {
+
+    private static final int INITIAL_CAPACITY = 256;
 
     public enum Opcode {
         ADDI, ADDF, SUBI, SUBF, MULTI, MULTF, DIVI, DIVF,
@@ -23,20 +31,30 @@ public class IR extends LinkedList<IR.Node> {
             Opcode.GT, Opcode.GE, Opcode.LT, Opcode.LE, Opcode.NE, Opcode.EQ
     );
 
+    private static EnumSet<Opcode> CalcSet = EnumSet.of(
+            Opcode.ADDI, Opcode.ADDF, Opcode.SUBI, Opcode.SUBF,
+            Opcode.MULTI, Opcode.MULTF, Opcode.DIVI, Opcode.DIVF
+    );
+
+    private static EnumSet<Opcode> CommutativeSet = EnumSet.of(
+            Opcode.ADDI, Opcode.ADDF, Opcode.MULTI, Opcode.MULTF
+    );
+
     @Getter
     @Setter
     public static class Node {
 
+        // Assigned by the IR the first time the node is added, never reused
+        private int id = -1;
         private Opcode opcode;
         private Element op1;
         private Element op2;
         private Element focus;
-        private Set<Node> predecessors;
-        private Set<Node> successors;
-        private Set<Element> gen;
-        private Set<Element> kill;
-        private Set<Element> in;
-        private Set<Element> out;
+        // Liveness sets, indexed by the universe of the enclosing function
+        private VariableUniverse universe;
+        private BitSet gen;
+        private BitSet kill;
+        private BitSet out;
 
         // LINK RET JUMP-DEFER PUSH POP
         public Node(Opcode opcode) {
@@ -58,12 +76,9 @@ public class IR extends LinkedList<IR.Node> {
             this.op1 = op1;
             this.op2 = op2;
             this.focus = focus;
-            this.predecessors = new HashSet<>(2);
-            this.successors = new HashSet<>(2);
-            this.gen = new HashSet<>(2);
-            this.kill = new HashSet<>(2);
-            this.in = new LinkedHashSet<>(2);
-            this.out = new LinkedHashSet<>(2);
+            this.gen = new BitSet();
+            this.kill = new BitSet();
+            this.out = new BitSet();
         }
 
         @Override
@@ -76,35 +91,75 @@ public class IR extends LinkedList<IR.Node> {
         }
 
         public boolean isElementLive(Element el) {
-            return el != null && out.stream()
-                .map(v -> v.getRef())
-                .anyMatch(ref -> ref.equals(el.getRef()));
+            if (el == null || universe == null)
+                return false;
+            int i = universe.indexOf(el);
+            return i >= 0 && out.get(i);
         }
 
         public boolean isConditional() {
             return ConditionalSet.contains(opcode);
         }
 
-        public boolean isJump() {
-            return opcode == Opcode.JUMP;
+        // Arithmetic, writing op1 <op> op2 to the focus
+        public boolean isCalc() {
+            return CalcSet.contains(opcode);
+        }
+
+        public boolean isCommutative() {
+            return CommutativeSet.contains(opcode);
+        }
+
+        public boolean isStore() {
+            return opcode == Opcode.STOREI || opcode == Opcode.STOREF;
         }
 
-        public boolean isLeader() {
-            return successors.size() > 1 || predecessors.size() > 1;
+        public boolean isJump() {
+            return opcode == Opcode.JUMP;
         }
 
         public boolean isReturn() {
             return opcode == Opcode.RETURN;
         }
 
+        // Ends a basic block
+        public boolean isTransfer() {
+            return isConditional() || isJump() || isReturn() || opcode == Opcode.JSR;
+        }
+
+        public boolean isElementUsed(Element el) {
+            if (el == null || universe == null)
+                return false;
+            int i = universe.indexOf(el);
+            return i >= 0 && gen.get(i);
+        }
+
     }
 
+    @Getter
     SymbolMap globalSymbolMap;
     int register;
 
+    // Function this IR holds, null for a whole program
+    @Getter
+    private final String function;
+
+    // Next node id to hand out
+    private int nextId;
+
+    // Variable numbering of the function currently being added
+    private VariableUniverse universe;
+
     public IR(SymbolMap globalSymbolMap) {
+        this(globalSymbolMap, null);
+    }
+
+    public IR(SymbolMap globalSymbolMap, String function) {
+        super(INITIAL_CAPACITY);
+        this.function = function;
         register = 0;
         this.globalSymbolMap = globalSymbolMap;
+        this.universe = new VariableUniverse(globalSymbolMap);
     }
 
     @Override
@@ -115,27 +170,57 @@ public class IR extends LinkedList<IR.Node> {
         return b.toString();
     }
 
-    public String cfgToString() {
-        StringBuilder b = new StringBuilder();
-        b.append("IR CFG\n");
-        stream().map(n -> n + ":\nPredecessors:" + n.getPredecessors() + "\nSuccessors:" + n.getSuccessors() + "\n\n")
-                .forEach(b::append);
-        return b.toString();
+    // IR of the same function holding fresh copies of nodes
+    public IR rebuild(List<Node> nodes) {
+        IR ir = new IR(globalSymbolMap, function);
+        nodes.forEach(n -> ir.add(new Node(n.getOpcode(), n.getOp1(), n.getOp2(), n.getFocus())));
+        return ir;
     }
 
-    public String setsToString() {
+    // Splits a program into one IR per function, in declaration order
+    public List<IR> splitFunctions() {
+        List<IR> functions = new ArrayList<>();
+        IR unit = null;
+        for (int i = 0; i < size(); i++) {
+            Node node = get(i);
+            if (isFunctionEntry(i)) {
+                unit = new IR(globalSymbolMap, node.getFocus().getName());
+                functions.add(unit);
+            }
+            if (unit == null)
+                throw new MicroRuntimeException(MicroErrorMessages.UnknownIRNodeType, node.toString());
+            unit.add(node);
+        }
+        return functions;
+    }
+
+    // A function starts with its LABEL immediately followed by LINK
+    public boolean isFunctionEntry(int i) {
+        return get(i).getOpcode() == Opcode.LABEL && i + 1 < size() && get(i + 1).getOpcode() == Opcode.LINK;
+    }
+
+    // Every node with the nodes it can follow and lead to, the blocks are in ControlFlowGraph.toString()
+    public String cfgToString() {
+        ControlFlowGraph cfg = new ControlFlowGraph(this);
         StringBuilder b = new StringBuilder();
-        b.append("IR GEN KILL IN OUT\n");
-        stream().map(n -> {
-            String s = n + ":\n";
-            s += "PRE: " + n.getPredecessors() + "\n";
-            s += "SUC: " + n.getSuccessors() + "\n";
-            s += "GEN: " + n.getGen() + "\n";
-            s += "KILL: " + n.getKill() + "\n";
-            s += "IN: " + n.getIn() + "\n";
-            s += "OUT: " + n.getOut() + "\n\n";
-            return s;
-        }).forEach(b::append);
+        b.append("IR CFG\n");
+        for (BasicBlock block : cfg.getBlocks()) {
+            List<Node> nodes = block.getNodes();
+            for (int i = 0; i < nodes.size(); i++) {
+                Set<Node> predecessors = new LinkedHashSet<>(2);
+                Set<Node> successors = new LinkedHashSet<>(2);
+                if (i > 0)
+                    predecessors.add(nodes.get(i - 1));
+                else
+                    Arrays.stream(block.getPredecessors()).forEach(p -> predecessors.add(cfg.getBlock(p).getLast()));
+                if (i < nodes.size() - 1)
+                    successors.add(nodes.get(i + 1));
+                else
+                    Arrays.stream(block.getSuccessors()).forEach(s -> successors.add(cfg.getBlock(s).getFirst()));
+                b.append(nodes.get(i)).append(":\nPredecessors:").append(predecessors)
+                        .append("\nSuccessors:").append(successors).append("\n\n");
+            }
+        }
         return b.toString();
     }
 
@@ -176,11 +261,25 @@ public class IR extends LinkedList<IR.Node> {
     // Override to create gen and kill sets
     @Override
     public boolean add(IR.Node node) {
+        // Ids are stable, a node that is added again keeps its first one
+        if (node.id < 0)
+            node.id = nextId++;
         generateGenAndKill(node);
         return super.add(node);
     }
 
     private void generateGenAndKill(IR.Node node) {
+        // Every function gets its own numbering, starting with the LINK that
+        // follows its LABEL
+        if (node.getOpcode() == Opcode.LINK) {
+            universe = new VariableUniverse(globalSymbolMap);
+            if (!isEmpty() && get(size() - 1).getOpcode() == Opcode.LABEL)
+                get(size() - 1).universe = universe;
+        }
+        node.universe = universe;
+        node.gen.clear();
+        node.kill.clear();
+
         boolean op1Valid = node.getOp1() != null && !node.getOp1().isConstant();
         boolean op2Valid = node.getOp2() != null && !node.getOp2().isConstant();
         boolean focusValid = node.getFocus() != null && !node.getFocus().isConstant();
@@ -188,22 +287,23 @@ public class IR extends LinkedList<IR.Node> {
         switch(node.getOpcode()) {
             case LABEL:
             case LINK:
+            case JUMP:
                 return;
             case PUSH:
             case WRITEI:
             case WRITEF:
             case WRITES:
                 if (focusValid)
-                    node.gen.add(node.getFocus());
+                    node.gen.set(universe.intern(node.getFocus()));
                 return;
             case POP:
             case READI:
             case READF:
                 if (focusValid)
-                    node.kill.add(node.getFocus());
+                    node.kill.set(universe.intern(node.getFocus()));
                 return;
             case JSR:
-                globalSymbolMap.values().stream().forEach(node.gen::add);
+                node.gen.or(universe.getGlobals());
                 return;
             case GT:
             case GE:
@@ -212,17 +312,17 @@ public class IR extends LinkedList<IR.Node> {
             case NE:
             case EQ:
                 if (op1Valid)
-                    node.gen.add(node.getOp1());
+                    node.gen.set(universe.intern(node.getOp1()));
                 if (op2Valid)
-                    node.gen.add(node.getOp2());
+                    node.gen.set(universe.intern(node.getOp2()));
                 return;
             default:
                 if (op1Valid)
-                    node.gen.add(node.getOp1());
+                    node.gen.set(universe.intern(node.getOp1()));
                 if (op2Valid)
-                    node.gen.add(node.getOp2());
+                    node.gen.set(universe.intern(node.getOp2()));
                 if (focusValid)
-                    node.kill.add(node.getFocus());
+                    node.kill.set(universe.intern(node.getFocus()));
                 return;
         }
 
@@ -1,8 +1,20 @@
 package compiler;
 
+import compiler.jvm.MicroClassLoader;
+import compiler.tiny.TinyProgram;
+import compiler.tiny.TinySimulator;
+import compiler.tiny.TinyStatistics;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.tree.*;
 
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
 public class Micro {
 
     public static class MicroFailFastLexer extends MicroLexer {
@@ -15,23 +27,126 @@ public class Micro {
 
     }
 
+    private static final int OUTPUT_BUFFER = 1 << 16;
+
+    // One lexer and parser per thread, reused across compiles. The ATN and DFA
+    // caches are static in the generated classes, so they stay warm either way.
+    private static final ThreadLocal<MicroParser> parsers = ThreadLocal.withInitial(() -> {
+        MicroFailFastLexer lexer = new MicroFailFastLexer(new ANTLRInputStream(""));
+        MicroParser parser = new MicroParser(new CommonTokenStream(lexer));
+        parser.setErrorHandler(new MicroErrorStrategy());
+        return parser;
+    });
+
     public static void main(String[] args) throws Exception {
-        ANTLRFileStream input = new ANTLRFileStream(args[0]);
+        MicroOptions options = MicroOptions.parse(args);
+        if (options.getServerPort() != 0) {
+            new MicroServer(options.getServerPort()).run();
+            return;
+        }
+        if (options.isBatch()) {
+            boolean ok = new MicroBatch(options).run(new PrintWriter(System.err));
+            System.exit(ok ? 0 : 1);
+        }
+
+        ANTLRFileStream input = new ANTLRFileStream(options.getInput());
+
+        if (options.isRun()) {
+            System.exit(run(input, options) ? 0 : 1);
+        }
+        if (options.isJvm()) {
+            System.exit(runClass(input, options) ? 0 : 1);
+        }
+        try (Writer out = openOutput(options)) {
+            compile(input, options, out);
+        }
+    }
+
+    // Compiles input and runs the code on standard input and output
+    private static boolean run(CharStream input, MicroOptions options) throws IOException {
+        StringWriter code = new StringWriter();
+        boolean ok = compile(input, options, code);
+        if (options.getOutput() != null) {
+            try (Writer out = openOutput(options)) {
+                out.write(code.toString());
+            }
+        }
+        if (!ok)
+            return false;
+
+        Reader in = new InputStreamReader(System.in, StandardCharsets.US_ASCII);
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.US_ASCII), OUTPUT_BUFFER);
+        TinyStatistics stats = new TinySimulator(TinyProgram.parse(code.toString())).run(in, out);
+        if (options.isStats())
+            System.err.print(stats);
+        return true;
+    }
 
+    // Compiles input to a JVM class and runs it on standard input and output
+    private static boolean runClass(CharStream input, MicroOptions options) throws IOException {
+        byte[] classFile;
         try {
-            MicroFailFastLexer lexer = new MicroFailFastLexer(input);
-            CommonTokenStream tokens = new CommonTokenStream(lexer);
-            MicroParser parser = new MicroParser(tokens);
-            parser.setErrorHandler(new MicroErrorStrategy());
-
-            MicroParser.ProgramContext microProgramContext = parser.program();
-            ParseTreeWalker walker = new ParseTreeWalker();
-            MicroCompiler compiler = new MicroCompiler();
-            walker.walk(compiler, microProgramContext);
+            classFile = compileClass(input, options);
         } catch (MicroRuntimeException e) {
-            System.out.println(e.getMessage());
             e.printStackTrace();
+            return false;
         }
+        if (options.getOutput() != null)
+            Files.write(Paths.get(options.getOutput()), classFile);
+
+        Reader in = new InputStreamReader(System.in, StandardCharsets.US_ASCII);
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.US_ASCII), OUTPUT_BUFFER);
+        long start = System.nanoTime();
+        new MicroClassLoader(classFile).run(in, out);
+        if (options.isStats())
+            System.err.printf("jvm: %.2f ms%n", (System.nanoTime() - start) / 1e6);
+        return true;
+    }
+
+    static Writer openOutput(MicroOptions options) throws IOException {
+        if (options.getOutput() == null)
+            return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.US_ASCII), OUTPUT_BUFFER);
+
+        FileChannel channel = FileChannel.open(Paths.get(options.getOutput()),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.US_ASCII.newEncoder(), OUTPUT_BUFFER), OUTPUT_BUFFER);
+    }
+
+    /**
+     * Compiles one program to out. Returns false when it was rejected, after
+     * writing the error in place of the code.
+     */
+    static boolean compile(CharStream input, MicroOptions options, Writer out) throws IOException {
+        try {
+            walk(input, options, out);
+            return true;
+        } catch (MicroRuntimeException e) {
+            out.write(e.getMessage() + "\n");
+            out.flush();
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Compiles one program to a JVM class, options must ask for -jvm.
+     * Rejected programs throw.
+     */
+    static byte[] compileClass(CharStream input, MicroOptions options) {
+        return walk(input, options, new StringWriter()).getClassFile();
+    }
+
+    private static MicroCompiler walk(CharStream input, MicroOptions options, Writer out) {
+        MicroParser parser = parsers.get();
+        Lexer lexer = (Lexer) parser.getTokenStream().getTokenSource();
+        lexer.setInputStream(input);
+        parser.setTokenStream(new CommonTokenStream(lexer));
+
+        MicroParser.ProgramContext microProgramContext = parser.program();
+        ParseTreeWalker walker = new ParseTreeWalker();
+        MicroCompiler compiler = new MicroCompiler(options, out);
+        walker.walk(compiler, microProgramContext);
+        return compiler;
     }
 
 }
@@ -0,0 +1,171 @@
+package compiler;
+
+import compiler.jvm.MicroClassLoader;
+import compiler.tiny.TinyProgram;
+import compiler.tiny.TinySimulator;
+import lombok.AllArgsConstructor;
+import org.antlr.v4.runtime.ANTLRFileStream;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles many programs in one JVM.
+ *
+ * Inputs are .micro files, directories (their .micro files, not recursively)
+ * or @manifest files listing one path per line. Every program is compiled on
+ * a bounded pool to a .test file next to its source, and the time and result
+ * of each file is reported in input order. With -run the code is also run on
+ * the Tiny simulator, reading name.input when there is one and writing what
+ * it prints to name.tout, and its cycles are reported. With -jvm every
+ * program is compiled to a JVM class and run the same way instead.
+ */
+@AllArgsConstructor
+public class MicroBatch {
+
+    private static final String SOURCE_SUFFIX = ".micro";
+    private static final String OUTPUT_SUFFIX = ".test";
+    private static final String INPUT_SUFFIX = ".input";
+    private static final String RUN_SUFFIX = ".tout";
+    static final String MANIFEST_PREFIX = "@";
+
+    private final MicroOptions options;
+
+    @AllArgsConstructor
+    private static class Result {
+        final Path source;
+        final long nanos;
+        // Null when the file compiled
+        final String error;
+        // Cycles the code ran for, -1 when it was not run
+        final long cycles;
+    }
+
+    /**
+     * Returns true when every file compiled.
+     */
+    public boolean run(Writer report) throws IOException {
+        List<Path> sources = collect();
+        if (sources.isEmpty())
+            throw new MicroRuntimeException(MicroErrorMessages.MissingInput);
+
+        long start = System.nanoTime();
+        List<Result> results;
+        ForkJoinPool pool = new ForkJoinPool(Math.min(options.getThreads(), sources.size()));
+        try {
+            List<ForkJoinTask<Result>> tasks = sources.stream()
+                    .map(source -> pool.submit(() -> compile(source)))
+                    .collect(Collectors.toList());
+            results = tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+        } finally {
+            pool.shutdown();
+        }
+        long wall = System.nanoTime() - start;
+
+        int failed = 0;
+        for (Result r : results) {
+            report.write(String.format("%10.2f ms  %-4s %s%s%n", r.nanos / 1e6, r.error == null ? "ok" : "FAIL", r.source,
+                    r.cycles < 0 ? "" : "  " + r.cycles + " cycles"));
+            if (r.error != null) {
+                report.write("    " + r.error + "\n");
+                failed++;
+            }
+        }
+        report.write(String.format("%d files, %d failed, %.2f ms wall on %d threads%n",
+                results.size(), failed, wall / 1e6, pool.getParallelism()));
+        report.flush();
+        return failed == 0;
+    }
+
+    private Result compile(Path source) {
+        long start = System.nanoTime();
+        String error = null;
+        long cycles = -1;
+        MicroOptions fileOptions = options.forFile(source.toString(), outputFor(source, OUTPUT_SUFFIX).toString());
+        if (options.isJvm()) {
+            try {
+                runClass(source, Micro.compileClass(new ANTLRFileStream(fileOptions.getInput()), fileOptions));
+            } catch (IOException | RuntimeException e) {
+                error = e.toString();
+            }
+            return new Result(source, System.nanoTime() - start, error, cycles);
+        }
+        try (Writer out = Micro.openOutput(fileOptions)) {
+            if (!Micro.compile(new ANTLRFileStream(fileOptions.getInput()), fileOptions, out))
+                error = "rejected, see " + fileOptions.getOutput();
+        } catch (IOException | RuntimeException e) {
+            error = e.toString();
+        }
+        if (error == null && options.isRun()) {
+            try {
+                cycles = run(source, Paths.get(fileOptions.getOutput()));
+            } catch (IOException | RuntimeException e) {
+                error = e.toString();
+            }
+        }
+        return new Result(source, System.nanoTime() - start, error, cycles);
+    }
+
+    // Runs the code compiled from source, returning its cycles
+    private static long run(Path source, Path code) throws IOException {
+        TinyProgram program = TinyProgram.parse(new String(Files.readAllBytes(code), StandardCharsets.US_ASCII));
+        try (Reader in = inputFor(source);
+             Writer out = Files.newBufferedWriter(outputFor(source, RUN_SUFFIX), StandardCharsets.US_ASCII)) {
+            return new TinySimulator(program).run(in, out).getCycles();
+        }
+    }
+
+    private static void runClass(Path source, byte[] classFile) throws IOException {
+        try (Reader in = inputFor(source);
+             Writer out = Files.newBufferedWriter(outputFor(source, RUN_SUFFIX), StandardCharsets.US_ASCII)) {
+            new MicroClassLoader(classFile).run(in, out);
+        }
+    }
+
+    private static Reader inputFor(Path source) throws IOException {
+        Path input = outputFor(source, INPUT_SUFFIX);
+        return Files.exists(input) ? Files.newBufferedReader(input, StandardCharsets.US_ASCII) : new StringReader("");
+    }
+
+    private List<Path> collect() throws IOException {
+        List<Path> sources = new ArrayList<>();
+        for (String input : options.getInputs()) {
+            if (input.startsWith(MANIFEST_PREFIX)) {
+                for (String line : Files.readAllLines(Paths.get(input.substring(1)), StandardCharsets.UTF_8))
+                    if (!line.trim().isEmpty())
+                        sources.add(Paths.get(line.trim()));
+            } else if (Files.isDirectory(Paths.get(input))) {
+                List<Path> found = new ArrayList<>();
+                try (DirectoryStream<Path> dir = Files.newDirectoryStream(Paths.get(input), "*" + SOURCE_SUFFIX)) {
+                    dir.forEach(found::add);
+                }
+                found.sort(null);
+                sources.addAll(found);
+            } else {
+                sources.add(Paths.get(input));
+            }
+        }
+        return sources;
+    }
+
+    // The file next to source with its suffix
+    private static Path outputFor(Path source, String suffix) {
+        String name = source.getFileName().toString();
+        if (name.endsWith(SOURCE_SUFFIX))
+            name = name.substring(0, name.length() - SOURCE_SUFFIX.length());
+        return source.resolveSibling(name + suffix);
+    }
+
+}
@@ -0,0 +1,71 @@
+package compiler;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Thin client for MicroServer.
+ *
+ * Usage: MicroClient port [Micro arguments...]
+ *
+ * Inputs, @manifest lists and the -o file are made absolute so the server
+ * resolves them like the client would, other option values are sent as is. The compiled output is copied to standard output and the
+ * server status becomes the exit code.
+ */
+public class MicroClient {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2)
+            throw new MicroRuntimeException(MicroErrorMessages.MissingInput);
+
+        int port = Integer.parseInt(args[0]);
+        System.exit(send(port, request(Arrays.copyOfRange(args, 1, args.length)), System.out));
+    }
+
+    /**
+     * args with the paths in them made absolute, telling paths from option
+     * values the way MicroOptions.parse does.
+     */
+    static String[] request(String[] args) {
+        String[] request = args.clone();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (MicroOptions.takesValue(a)) {
+                if (a.equals("-o") && i + 1 < args.length)
+                    request[i + 1] = absolute(args[i + 1]);
+                i++;
+            } else if (a.startsWith(MicroBatch.MANIFEST_PREFIX)) {
+                request[i] = MicroBatch.MANIFEST_PREFIX + absolute(a.substring(MicroBatch.MANIFEST_PREFIX.length()));
+            } else if (!a.startsWith("-")) {
+                request[i] = absolute(a);
+            }
+        }
+        return request;
+    }
+
+    private static String absolute(String path) {
+        return Paths.get(path).toAbsolutePath().toString();
+    }
+
+    public static int send(int port, String[] request, OutputStream sink) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            out.writeInt(request.length);
+            for (String a : request)
+                out.writeUTF(a);
+            out.flush();
+
+            int status = in.readInt();
+            byte[] text = new byte[in.readInt()];
+            in.readFully(text);
+            sink.write(text);
+            sink.flush();
+            return status;
+        }
+    }
+
+}
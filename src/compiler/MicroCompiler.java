@@ -1,13 +1,28 @@
 package compiler;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.DataflowResult;
+import compiler.analysis.Liveness;
 import compiler.element.*;
-import compiler.expression.Expression;
-import compiler.expression.Operator;
-import compiler.expression.Token;
+import compiler.jvm.JvmTranslator;
+import compiler.optimizer.FunctionInlining;
+import compiler.optimizer.Optimization;
+import compiler.translator.Peephole;
+import compiler.translator.RegisterAllocator;
+import compiler.translator.TinyEmitter;
 import compiler.translator.TinyTranslator;
+import lombok.Getter;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.ParseTree;
 
@@ -35,12 +50,10 @@ public class MicroCompiler extends MicroBaseListener {
     // Tracks temporary registers
     private Integer register;
 
-    // Intermediate Representation of program
+    // Intermediate Representation of program, complete once the walk reaches exitPgm_body
+    @Getter
     private IR ir;
 
-    // Tracks program scope
-    private LinkedList<Integer> scope;
-
     // Tracks label scope
     private Deque<Integer> labelScope;
 
@@ -50,29 +63,38 @@ public class MicroCompiler extends MicroBaseListener {
     // Defers function parameter naming
     private Deque<Element> deferParam;
 
-    // Conditional label map to make ir node lookups easier when generating CFG
-    private Map<String, IR.Node> condLabelMap;
+    // Program symbols, scoped
+    @Getter
+    private SymbolTable symbols;
+
+    private final ExpressionLowering expressionLowering = new ExpressionLowering();
+
+    private MicroOptions options;
 
-    // Program symbol maps
-    private List<SymbolMap> symbolMaps;
+    // Destination of the generated code, only written from the walking thread
+    private Writer out;
+
+    // Class compiled for the JVM back end, null when compiling to Tiny
+    @Getter
+    private byte[] classFile;
 
     public MicroCompiler() {
+        this(new MicroOptions(), new BufferedWriter(new OutputStreamWriter(System.out)));
+    }
+
+    public MicroCompiler(MicroOptions options, Writer out) {
+        this.options = options;
+        this.out = out;
         this.inFunction = false;
         this.flocalnum = 1;
         this.fparamnum = 0;
         this.blocknum = 1;
         this.labelnum = 1;
         this.register = 1;
-        this.scope = new LinkedList<>();
         this.labelScope = new ArrayDeque<>();
         this.defer = new ArrayDeque<>();
         this.deferParam = new ArrayDeque<>();
-        this.condLabelMap = new HashMap<>();
-        this.symbolMaps = new ArrayList<>();
-    }
-
-    private SymbolMap lastMap() {
-        return symbolMaps.get(symbolMaps.size()-1);
+        this.symbols = new SymbolTable();
     }
 
     private String nextBlockName() {
@@ -81,92 +103,99 @@ public class MicroCompiler extends MicroBaseListener {
 
     @Override
     public void enterPgm_body(MicroParser.Pgm_bodyContext ctx) {
-        scope.push(0);
-        symbolMaps.add(new SymbolMap(GLOBAL));
-        this.ir = new IR(lastMap());
+        this.ir = new IR(symbols.open(new SymbolMap(GLOBAL)));
     }
 
     @Override
     public void exitPgm_body(MicroParser.Pgm_bodyContext ctx) {
-        System.out.println(ir);
-        generateCFG();
-        // Wait for convergence
-        while (!generateInAndOut());
-        TinyTranslator tt = new TinyTranslator();
-        tt.printTinyFromIR(symbolMaps, ir);
-    }
-
-    private void generateCFG() {
-        IntStream.range(0, ir.size()).forEach(i -> {
-            IR.Node node = ir.get(i);
-            IR.Node next = getNextIRNode(i);
-            if (node.isConditional()) {
-                resolveCFGInfo(node, next);
-                IR.Node target = getCFTarget(node);
-                // Resolve branch target
-                if (next == null || next.getFocus() == null || !target.getFocus().getName().equals(next.getFocus().getName()))
-                    resolveCFGInfo(node, target);
-            } else if (node.isJump()) {
-                resolveCFGInfo(node, getCFTarget(node));
-            } else if (!node.isReturn()) {
-                resolveCFGInfo(node, next);
-            }
-        });
-    }
-
-    private boolean generateInAndOut() {
-        boolean converged = true;
-        for (int i = ir.size() - 1; i >= 0; i--) {
-            IR.Node node = ir.get(i);
-            Set<Element> curIn = new LinkedHashSet<>(node.getIn());
-            Set<Element> curOut = new LinkedHashSet<>(node.getOut());
-
-            if (node.isReturn() && i != ir.size() - 1)
-                symbolMaps.get(0).values().stream().forEach(node.getOut()::add);
-
-            // Generate Out
-            node.getSuccessors().stream()
-                    .map(s -> s.getIn())
-                    .forEach(node.getOut()::addAll);
-
-            // Generate In
-            Set<Element> outCopy = new HashSet<>(node.getOut());
-            outCopy.removeAll(node.getKill());
-            node.getIn().addAll(outCopy);
-            node.getIn().addAll(node.getGen());
-
-            if (!curIn.equals(node.getIn()) || !curOut.equals(node.getOut()))
-                converged = false;
+        if (options.isJvm()) {
+            classFile = new JvmTranslator().translate(symbols.getMaps(), forEachFunction(inline(ir.splitFunctions()), this::optimize));
+            return;
         }
-        return converged;
-    }
 
-    private IR.Node getNextIRNode(int i) {
-        if (i + 1 < ir.size())
-            return ir.get(i + 1);
-        return null;
+        TinyTranslator tt = new TinyTranslator();
+        try {
+            if (options.isDumpIR())
+                dumpIR();
+            List<TinyEmitter> functions = forEachFunction(inline(ir.splitFunctions()), this::compileFunction);
+            tt.translateHeader(symbols.getMaps()).writeTo(out);
+            functions.forEach(f -> f.writeTo(out));
+            tt.translateFooter().writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
     }
 
-    private void resolveCFGInfo(IR.Node node, IR.Node successor) {
-        if (successor == null || node == null)
-            return;
-
-        node.getSuccessors().add(successor);
-        successor.getPredecessors().add(node);
+    private void dumpIR() throws IOException {
+        out.write(";IR code\n");
+        for (IR.Node n : ir) {
+            out.write(';');
+            out.write(n.toString());
+            out.write('\n');
+        }
+        out.write('\n');
+    }
+
+    // Inlining reads every function, so it runs ahead of the per function passes
+    private List<IR> inline(List<IR> functions) {
+        if (options.getInlineLimit() == 0)
+            return functions;
+        FunctionInlining inlining = new FunctionInlining(options.getInlineLimit());
+        functions = inlining.apply(functions);
+        if (options.isStats())
+            System.err.println("inline: " + inlining);
+        return functions;
+    }
+
+    // Functions are independent once the walk is done, so the back end runs on
+    // each of them in parallel and the results are stitched in declaration order
+    private <T> List<T> forEachFunction(List<IR> functions, Function<IR, T> backEnd) {
+        if (options.getThreads() == 1 || functions.size() < 2)
+            return functions.stream().map(backEnd).collect(Collectors.toList());
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(options.getThreads(), functions.size()));
+        try {
+            List<ForkJoinTask<T>> tasks = functions.stream()
+                    .map(f -> pool.submit(() -> backEnd.apply(f)))
+                    .collect(Collectors.toList());
+            return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+        } finally {
+            pool.shutdown();
+        }
     }
 
-    private IR.Node getCFTarget(IR.Node node) {
-        IR.Node target = condLabelMap.get(node.getFocus().getName());
-        if (target == null)
-            throw new MicroRuntimeException(MicroErrorMessages.UnableToFindBranchTarget);
-        return target;
+    private IR optimize(IR function) {
+        for (Optimization.Kind kind : options.getOptimizations()) {
+            Optimization pass = kind.create();
+            function = pass.apply(function);
+            if (options.isStats())
+                System.err.println(function.getFunction() + " " + kind.name().toLowerCase() + ": " + pass);
+        }
+        return function;
+    }
+
+    private TinyEmitter compileFunction(IR function) {
+        function = optimize(function);
+        ControlFlowGraph cfg = new ControlFlowGraph(function);
+        DataflowResult liveness = Liveness.analyze(cfg);
+        RegisterAllocator allocator = options.getAllocator().create(options.getRegisters());
+        Peephole peephole = new Peephole(options.getPeepholes());
+        TinyEmitter code = new TinyTranslator(allocator, peephole).translate(cfg);
+        if (options.isStats()) {
+            System.err.println(function.getFunction() + " liveness: " + liveness + " (" + cfg.size() + " blocks)");
+            System.err.println(function.getFunction() + " allocation: " + allocator);
+            if (!options.getPeepholes().isEmpty())
+                System.err.println(function.getFunction() + " peephole: " + peephole);
+        }
+        return code;
     }
 
     @Override
     public void enterString_decl(MicroParser.String_declContext ctx) {
         String name = ctx.getChild(1).getText();
         Element var = new Variable(name, Element.Type.STRING, ctx.getChild(3).getText());
-        symbolMaps.get(symbolMaps.size()-1).put(name, var);
+        symbols.declare(name, var);
     }
 
     @Override
@@ -178,14 +207,14 @@ public class MicroCompiler extends MicroBaseListener {
             Element var = inFunction
                     ? new FunctionLocal(flocalnum++, s, type)
                     : new Variable(s, type);
-            lastMap().put(s, var);
+            symbols.declare(s, var);
         }
     }
 
     @Override
     public void exitParam_decl_list(MicroParser.Param_decl_listContext ctx) {
         fparamnum = deferParam.size();
-        lastMap().setNumParam(deferParam.size());
+        symbols.current().setNumParam(deferParam.size());
         IntStream.rangeClosed(1, deferParam.size()).forEach(i -> deferParam.pop().setCtxVal(i));
     }
 
@@ -196,7 +225,7 @@ public class MicroCompiler extends MicroBaseListener {
         Element.Type type = Element.Type.valueOf(rawtype);
 
         Element fparam = new FunctionParameter(0, name, type);
-        lastMap().put(name, fparam);
+        symbols.declare(name, fparam);
         deferParam.push(fparam);
     }
 
@@ -205,8 +234,7 @@ public class MicroCompiler extends MicroBaseListener {
         inFunction = true;
 
         String name = ctx.getChild(2).getText();
-        symbolMaps.add(new SymbolMap(name, true));
-        scope.push(symbolMaps.size()-1);
+        symbols.open(new SymbolMap(name, true));
         ir.add(new IR.Node(IR.Opcode.LABEL, new Label(name)));
 
         IR.Node link = new IR.Node(IR.Opcode.LINK);
@@ -222,7 +250,7 @@ public class MicroCompiler extends MicroBaseListener {
 
         // Set LINK number (#local + #temp)
         defer.pop().setFocus(new Link(flocalnum - 1, register));
-        scope.pop();
+        symbols.close();
         inFunction = false;
         flocalnum = 1;
         fparamnum = 0;
@@ -232,7 +260,7 @@ public class MicroCompiler extends MicroBaseListener {
     @Override
     public void enterAssign_expr(MicroParser.Assign_exprContext ctx) {
         Element el = getElementSafely(ctx, ctx.getChild(0).getText());
-        Element focus = parseExpr(ctx.getChild(2).getText());
+        Element focus = parseExpr(ctx.expr());
         IR.Opcode opcode = el.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF;
         ir.add(new IR.Node(opcode, focus, el));
     }
@@ -265,7 +293,7 @@ public class MicroCompiler extends MicroBaseListener {
     }
 
     private Element getElementSafely(ParserRuleContext ctx, String name) {
-        Element e = Element.getScopedElement(symbolMaps, scope, name);
+        Element e = symbols.lookup(name);
         if (e == null) {
             String meta = " " + name + " (" + ctx.getStart().getLine() + ")";
             throw new MicroRuntimeException(MicroErrorMessages.UndefinedVariable + meta);
@@ -275,7 +303,7 @@ public class MicroCompiler extends MicroBaseListener {
 
     @Override
     public void enterReturn_stmt(MicroParser.Return_stmtContext ctx) {
-        Element focus = parseExpr(ctx.getChild(1).getText());
+        Element focus = parseExpr(ctx.expr());
         IR.Opcode opcode = focus.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF;
         ir.add(new IR.Node(opcode, focus, new Return(fparamnum, focus.getType())));
         ir.add(new IR.Node(IR.Opcode.RETURN));
@@ -283,28 +311,28 @@ public class MicroCompiler extends MicroBaseListener {
 
     @Override
     public void enterIf_stmt(MicroParser.If_stmtContext ctx) {
-        symbolMaps.add(new SymbolMap(nextBlockName()));
-        scope.push(symbolMaps.size()-1);
+        symbols.open(new SymbolMap(nextBlockName()));
 
         parseCond(ctx.getChild(2), LABEL_PREFIX + labelnum, true);
         labelScope.push(labelnum++);
-        defer.push(new IR.Node(IR.Opcode.JUMP));
+        // Every ELSIF jumps to the same end label, named once the IF closes
+        defer.push(new IR.Node(IR.Opcode.JUMP, new Label(null)));
     }
 
     @Override
     public void exitIf_stmt(MicroParser.If_stmtContext ctx) {
-        defer.pop().setFocus(resolveLabel(labelScope.pop()));
+        Element end = resolveLabel(labelScope.pop());
+        defer.pop().getFocus().setName(end.getName());
     }
 
     @Override
     public void enterElse_part(MicroParser.Else_partContext ctx) {
         if (ctx.getChild(0) == null) return;
 
-        symbolMaps.add(new SymbolMap(nextBlockName()));
-        scope.push(symbolMaps.size() - 1);
+        symbols.open(new SymbolMap(nextBlockName()));
 
         if (!ir.get(ir.size()-1).isReturn())
-            ir.add(defer.peek());
+            ir.add(new IR.Node(IR.Opcode.JUMP, defer.peek().getFocus()));
 
         resolveLabel(labelScope.pop());
         labelScope.push(labelnum++);
@@ -313,13 +341,12 @@ public class MicroCompiler extends MicroBaseListener {
 
     @Override
     public void exitElse_part(MicroParser.Else_partContext ctx) {
-        scope.pop();
+        symbols.close();
     }
 
     @Override
     public void enterDo_while_stmt(MicroParser.Do_while_stmtContext ctx) {
-        symbolMaps.add(new SymbolMap(nextBlockName()));
-        scope.push(symbolMaps.size()-1);
+        symbols.open(new SymbolMap(nextBlockName()));
 
         resolveLabel(labelnum);
         labelScope.push(labelnum++);
@@ -328,15 +355,13 @@ public class MicroCompiler extends MicroBaseListener {
     @Override
     public void exitDo_while_stmt(MicroParser.Do_while_stmtContext ctx) {
         parseCond(ctx.getChild(5), LABEL_PREFIX + labelScope.pop(), false);
-        scope.pop();
+        symbols.close();
     }
 
      private Element resolveLabel(int num) {
         String labelName = LABEL_PREFIX + num;
         Element labelVar = new Label(labelName);
-        IR.Node labelNode = new IR.Node(IR.Opcode.LABEL, labelVar);
-        ir.add(labelNode);
-        condLabelMap.put(labelName, labelNode);
+        ir.add(new IR.Node(IR.Opcode.LABEL, labelVar));
         return labelVar;
     }
 
@@ -353,68 +378,122 @@ public class MicroCompiler extends MicroBaseListener {
                     ir.add(new IR.Node(IR.Opcode.JUMP, target));
                 break;
             default:
-                Element left = parseExpr(cond.getChild(0).getText());
-                Element right = parseExpr(cond.getChild(2).getText());
+                Element left = parseExpr((MicroParser.ExprContext) cond.getChild(0));
+                Element right = parseExpr((MicroParser.ExprContext) cond.getChild(2));
                 IR.Opcode opcode = IR.parseCompOp(cond.getChild(1).getText(), opposite);
                 ir.add(new IR.Node(opcode, left, right, target));
         }
     }
 
-    // Returns last relevant variable on IR
-    public Element parseExpr(String expr) {
-        List<Token> infix = Expression.tokenizeExpr(expr, symbolMaps);
-        List<Token> postfix = Expression.transformToPostfix(infix);
-        Expression.Node tree = Expression.generateExpressionTree(postfix);
+    // Lowers an expression to IR, returns the element holding its value
+    public Element parseExpr(MicroParser.ExprContext expr) {
+        return materialize(expressionLowering.visit(expr));
+    }
 
-        // Expression is a single constant
-        if (tree.getToken().isVar())
-            return resolveENode(tree);
+    // Constants are copied into a temporary where they are used as operands
+    private Element materialize(Element el) {
+        if (!el.isConstant())
+            return el;
 
-        // Expression includes an operator
-        tree.postorder().forEach(n -> {
-            if (n.getToken().isFunction())
-                resolveFunction(n);
+        IR.Opcode opcode = el.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF;
+        Element temp = new Temporary(register++, el.getType());
+        ir.add(new IR.Node(opcode, el, temp));
+        return temp;
+    }
+
+    private Element binaryOp(String op, Element left, Element right) {
+        int result = register++;
+        Element op1 = materialize(left);
+        Element op2 = materialize(right);
+        Element.Type exprType = op1.isFloat() || op2.isFloat() ? Element.Type.FLOAT : Element.Type.INT;
+        Element temp = new Temporary(result, exprType);
+        ir.add(new IR.Node(IR.parseCalcOp(op, exprType), op1, op2, temp));
+        return temp;
+    }
+
+    /**
+     * Lowers expressions straight from the parse tree. Operands are evaluated
+     * left to right and leaf constants are returned as is, so the operator
+     * using them picks its temporary before they are materialized.
+     */
+    private class ExpressionLowering extends MicroBaseVisitor<Element> {
+
+        @Override
+        public Element visitExpr(MicroParser.ExprContext ctx) {
+            return fold(ctx.expr_prefix(), ctx.factor());
+        }
 
-            if (n.getToken().isOperator()) {
-                Operator operator = (Operator)n.getToken();
-                operator.setRegister(register++);
+        @Override
+        public Element visitExpr_prefix(MicroParser.Expr_prefixContext ctx) {
+            return ctx.factor() == null ? null : fold(ctx.expr_prefix(), ctx.factor());
+        }
 
-                Element op1 = resolveENode(n.get(0));
-                Element op2 = resolveENode(n.get(1));
-                Element.Type exprType = op1.isFloat() || op2.isFloat() ? Element.Type.FLOAT : Element.Type.INT;
-                Element result = new Temporary(operator.getRegister(), exprType);
-                ir.add(new IR.Node(IR.parseCalcOp(operator.getValue(), exprType), op1, op2, result));
-            }
-        });
+        private Element fold(MicroParser.Expr_prefixContext prefix, MicroParser.FactorContext factor) {
+            Element left = visit(prefix);
+            Element right = visit(factor);
+            return left == null ? right : binaryOp(prefix.addop().getText(), left, right);
+        }
 
-        return ir.get(ir.size() - 1).getFocus();
-    }
+        @Override
+        public Element visitFactor(MicroParser.FactorContext ctx) {
+            return fold(ctx.factor_prefix(), ctx.postfix_expr());
+        }
+
+        @Override
+        public Element visitFactor_prefix(MicroParser.Factor_prefixContext ctx) {
+            return ctx.postfix_expr() == null ? null : fold(ctx.factor_prefix(), ctx.postfix_expr());
+        }
 
-    private Element resolveENode(Expression.Node node) {
-        if (node.getToken().isFunction())
-            return resolveFunction(node);
+        private Element fold(MicroParser.Factor_prefixContext prefix, MicroParser.Postfix_exprContext operand) {
+            Element left = visit(prefix);
+            Element right = visit(operand);
+            return left == null ? right : binaryOp(prefix.mulop().getText(), left, right);
+        }
 
-        Element el = node.getToken().toElement(symbolMaps, scope);
-        if (el == null)
-            throw new MicroRuntimeException(MicroErrorMessages.UndefinedVariable);
+        @Override
+        public Element visitPostfix_expr(MicroParser.Postfix_exprContext ctx) {
+            return visit(ctx.getChild(0));
+        }
 
-        if (el.isConstant()) {
-            IR.Opcode opcode = el.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF;
-            Element temp = new Temporary(register++, el.getType());
-            ir.add(new IR.Node(opcode, el, temp));
-            return temp;
+        @Override
+        public Element visitPrimary(MicroParser.PrimaryContext ctx) {
+            if (ctx.expr() != null)
+                return visit(ctx.expr());
+            if (ctx.id() != null)
+                return getElementSafely(ctx, ctx.id().getText());
+            return Constant.parse(ctx.getText());
         }
 
-        return el;
-    }
+        @Override
+        public Element visitCall_expr(MicroParser.Call_exprContext ctx) {
+            // Arguments, constants included, are computed before the return slot
+            // is pushed so that only pushes sit between it and the JSR
+            List<Element> args = new ArrayList<>();
+            MicroParser.ExprContext arg = ctx.expr_list().expr();
+            MicroParser.Expr_list_tailContext tail = ctx.expr_list().expr_list_tail();
+            while (arg != null) {
+                args.add(visit(arg));
+                arg = tail == null ? null : tail.expr();
+                tail = tail == null ? null : tail.expr_list_tail();
+            }
+
+            String name = ctx.id().getText();
+            SymbolMap function = symbols.getFunction(name);
+            if (function != null && function.getNumParam() != args.size()) {
+                String meta = " " + name + " (" + ctx.getStart().getLine() + ")";
+                throw new MicroRuntimeException(MicroErrorMessages.ArgumentCountMismatch + meta);
+            }
+
+            List<Element> values = args.stream().map(a -> materialize(a)).collect(Collectors.toList());
+            ir.add(new IR.Node(IR.Opcode.PUSH));
+            values.forEach(a -> ir.add(new IR.Node(IR.Opcode.PUSH, a)));
+            ir.add(new IR.Node(IR.Opcode.JSR, new Label(name)));
+            args.forEach(a -> ir.add(new IR.Node(IR.Opcode.POP)));
+            Element result = new Temporary(register++);
+            ir.add(new IR.Node(IR.Opcode.POP, result));
+            return result;
+        }
 
-    private Element resolveFunction(Expression.Node node) {
-        ir.add(new IR.Node(IR.Opcode.PUSH));
-        node.forEach(p -> ir.add(new IR.Node(IR.Opcode.PUSH, resolveENode(p))));
-        ir.add(new IR.Node(IR.Opcode.JSR, new Label(node.getToken().getValue())));
-        node.forEach(p -> ir.add(new IR.Node(IR.Opcode.POP)));
-        ir.add(new IR.Node(IR.Opcode.POP, new Temporary(register++)));
-        return ir.get(ir.size() - 1).getFocus();
     }
 
 }
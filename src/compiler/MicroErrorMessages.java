@@ -5,6 +5,7 @@ public class MicroErrorMessages {
     public static final String DuplicateDeclaration = "Element already declared in scope";
     public static final String MismatchedParentheses = "Mismatched parentheses in expression";
     public static final String UndefinedVariable = "Undefined Element";
+    public static final String ArgumentCountMismatch = "Wrong number of arguments in call";
     public static final String UnknownCalcOp = "Unknown Calculation Operator";
     public static final String UnknownCompOp = "Unknown Comparison Operator";
     public static final String UnknownIRNodeType = "Unknown IR Node type";
@@ -12,5 +13,12 @@ public class MicroErrorMessages {
     public static final String UnknownVariableContext = "Unknown Element Context";
     public static final String UnableToFindBranchTarget = "Unable to find branch target when building CFG";
     public static final String InvalidVariableMoveInTranslation = "Invalid Element being moved in translation";
+    public static final String RegisterAllocationFailed = "Unable to allocate registers";
+    public static final String InvalidOption = "Invalid command line option";
+    public static final String MissingInput = "No input file given";
+    public static final String InvalidTinyCode = "Invalid Tiny code";
+    public static final String TinyRuntimeError = "Tiny program failed";
+    public static final String MethodTooLarge = "Function too large for a JVM method";
+    public static final String MissingMain = "No main function";
 
 }
@@ -0,0 +1,219 @@
+package compiler;
+
+import compiler.optimizer.FunctionInlining;
+import compiler.optimizer.Optimization;
+import compiler.translator.PeepholeRule;
+import compiler.translator.RegisterAllocator;
+import compiler.translator.TinyTranslator;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Command line options of the compiler.
+ *
+ * Usage: Micro [-stats] [-noir] [-j threads] [-ra local|color|linear] [-regs n] [-O | -opt pass,...] [-inline size] [-peep rule,...] [-run | -jvm] [-o output] file.micro
+ *        Micro -batch [options] (file.micro | directory | @manifest)...
+ *        Micro -server port
+ */
+@Getter
+public class MicroOptions {
+
+    private String input;
+    // Every input given, files, directories or @manifest lists in batch mode
+    private final List<String> inputs = new ArrayList<>();
+    // Compile every input to a .test file next to its source
+    private boolean batch;
+    // Output file, standard output when null
+    private String output;
+    // Print the IR as Tiny comments ahead of the code
+    private boolean dumpIR;
+    // Report analysis statistics on stderr
+    private boolean stats;
+    // Threads compiling functions in parallel, 1 compiles them in order on the caller
+    private int threads;
+    // Register allocator of the back end
+    private RegisterAllocator.Kind allocator;
+    // Registers of the target Tiny machine
+    private int registers;
+    // IR optimizations run on every function, in Optimization.Kind order
+    private EnumSet<Optimization.Kind> optimizations;
+    // Largest function inlined at its calls, in IR nodes, 0 when off
+    private int inlineLimit;
+    // Peephole rules run on the Tiny code of every function
+    private EnumSet<PeepholeRule.Kind> peepholes;
+    // Run the compiled code on the in-process Tiny simulator, the code only goes to -o
+    private boolean run;
+    // Compile to a JVM class and run it, the class only goes to -o
+    private boolean jvm;
+    // Serve compile requests on this loopback port instead of compiling, 0 when off
+    private int serverPort;
+
+    public MicroOptions() {
+        this.stats = false;
+        this.dumpIR = true;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.allocator = RegisterAllocator.Kind.LOCAL;
+        this.registers = TinyTranslator.REGISTERS;
+        this.optimizations = EnumSet.noneOf(Optimization.Kind.class);
+        this.peepholes = EnumSet.noneOf(PeepholeRule.Kind.class);
+    }
+
+    // Options parse reads a value after, every other argument is a flag or an input
+    private static final Set<String> VALUED = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "-j", "-ra", "-regs", "-opt", "-inline", "-peep", "-server", "-o")));
+
+    /**
+     * Whether option is followed by its value, as in -ra linear.
+     */
+    public static boolean takesValue(String option) {
+        return VALUED.contains(option);
+    }
+
+    public static MicroOptions parse(String... args) {
+        MicroOptions options = new MicroOptions();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-stats":
+                    options.stats = true;
+                    break;
+                case "-noir":
+                    options.dumpIR = false;
+                    break;
+                case "-j":
+                    options.threads = parseCount(args, ++i);
+                    break;
+                case "-ra":
+                    options.allocator = parseAllocator(args, ++i);
+                    break;
+                case "-regs":
+                    options.registers = parseCount(args, ++i);
+                    // Comparisons need both operands in registers
+                    if (options.registers < 2)
+                        throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1], args[i]);
+                    break;
+                case "-O":
+                    options.optimizations = EnumSet.noneOf(Optimization.Kind.class);
+                    for (Optimization.Kind kind : Optimization.Kind.values())
+                        if (kind.isStandard())
+                            options.optimizations.add(kind);
+                    options.inlineLimit = FunctionInlining.DEFAULT_LIMIT;
+                    options.peepholes = EnumSet.allOf(PeepholeRule.Kind.class);
+                    break;
+                case "-opt":
+                    options.optimizations = parseKinds(Optimization.Kind.class, args, ++i);
+                    break;
+                case "-inline":
+                    options.inlineLimit = parseCount(args, ++i, 0);
+                    break;
+                case "-peep":
+                    options.peepholes = parseKinds(PeepholeRule.Kind.class, args, ++i);
+                    break;
+                case "-run":
+                    options.run = true;
+                    break;
+                case "-jvm":
+                    options.jvm = true;
+                    break;
+                case "-batch":
+                    options.batch = true;
+                    break;
+                case "-server":
+                    options.serverPort = parseCount(args, ++i);
+                    break;
+                case "-o":
+                    if (++i >= args.length)
+                        throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1]);
+                    options.output = args[i];
+                    break;
+                default:
+                    if (args[i].startsWith("-"))
+                        throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i]);
+                    options.inputs.add(args[i]);
+            }
+        }
+
+        if (options.inputs.isEmpty() && options.serverPort == 0)
+            throw new MicroRuntimeException(MicroErrorMessages.MissingInput);
+        if (!options.batch && options.inputs.size() > 1)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, options.inputs.get(1));
+        if (options.run && options.jvm)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, "-jvm");
+        if (options.batch && options.output != null)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, "-o");
+        if (!options.inputs.isEmpty())
+            options.input = options.inputs.get(0);
+        return options;
+    }
+
+    /**
+     * Options for one file of a batch. Functions are compiled in order since
+     * the batch already keeps every thread busy with whole files.
+     */
+    MicroOptions forFile(String input, String output) {
+        MicroOptions options = new MicroOptions();
+        options.input = input;
+        options.inputs.add(input);
+        options.output = output;
+        options.dumpIR = dumpIR;
+        options.stats = stats;
+        options.threads = 1;
+        options.allocator = allocator;
+        options.registers = registers;
+        options.optimizations = optimizations;
+        options.inlineLimit = inlineLimit;
+        options.peepholes = peepholes;
+        options.run = run;
+        options.jvm = jvm;
+        return options;
+    }
+
+    private static RegisterAllocator.Kind parseAllocator(String[] args, int i) {
+        if (i >= args.length)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1]);
+        try {
+            return RegisterAllocator.Kind.valueOf(args[i].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1], args[i]);
+        }
+    }
+
+    // Comma separated names, any case, with - standing for _
+    private static <E extends Enum<E>> EnumSet<E> parseKinds(Class<E> type, String[] args, int i) {
+        if (i >= args.length)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1]);
+        EnumSet<E> kinds = EnumSet.noneOf(type);
+        for (String name : args[i].split(",")) {
+            try {
+                kinds.add(Enum.valueOf(type, name.toUpperCase().replace('-', '_')));
+            } catch (IllegalArgumentException e) {
+                throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1], name);
+            }
+        }
+        return kinds;
+    }
+
+    private static int parseCount(String[] args, int i) {
+        return parseCount(args, i, 1);
+    }
+
+    private static int parseCount(String[] args, int i, int min) {
+        if (i >= args.length)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1]);
+        try {
+            int count = Integer.parseInt(args[i]);
+            if (count < min)
+                throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1], args[i]);
+            return count;
+        } catch (NumberFormatException e) {
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidOption, args[i - 1], args[i]);
+        }
+    }
+
+}
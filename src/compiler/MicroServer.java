@@ -0,0 +1,100 @@
+package compiler;
+
+import org.antlr.v4.runtime.ANTLRFileStream;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long lived compile server, so repeated compiles skip JVM startup, class
+ * loading and ANTLR warmup.
+ *
+ * Listens on a loopback port. A request is an argument count followed by the
+ * arguments as UTF strings, exactly as they would be given to Micro. The reply
+ * is a status (0 on success) followed by the length and bytes of the output
+ * that would have gone to standard output. A single "-shutdown" argument
+ * stops the server.
+ */
+public class MicroServer {
+
+    public static final String SHUTDOWN = "-shutdown";
+
+    private final int port;
+    private final ExecutorService workers;
+    private volatile ServerSocket server;
+
+    public MicroServer(int port) {
+        this.port = port;
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    public void run() throws IOException {
+        server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        try {
+            while (!server.isClosed()) {
+                Socket socket = server.accept();
+                workers.submit(() -> serve(socket));
+            }
+        } catch (SocketException e) {
+            // Closed by a shutdown request
+            if (!server.isClosed())
+                throw e;
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+            String[] args = new String[in.readInt()];
+            for (int i = 0; i < args.length; i++)
+                args[i] = in.readUTF();
+
+            if (args.length == 1 && args[0].equals(SHUTDOWN)) {
+                reply(out, 0, "");
+                server.close();
+                return;
+            }
+
+            StringWriter text = new StringWriter();
+            int status = compile(args, text);
+            reply(out, status, text.toString());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static int compile(String[] args, StringWriter text) {
+        try {
+            MicroOptions options = MicroOptions.parse(args);
+            if (options.isBatch())
+                return new MicroBatch(options).run(text) ? 0 : 1;
+            ANTLRFileStream input = new ANTLRFileStream(options.getInput());
+            if (options.getOutput() == null)
+                return Micro.compile(input, options, text) ? 0 : 1;
+            try (Writer out = Micro.openOutput(options)) {
+                return Micro.compile(input, options, out) ? 0 : 1;
+            }
+        } catch (IOException | RuntimeException e) {
+            text.write(e + "\n");
+            return 1;
+        }
+    }
+
+    private static void reply(DataOutputStream out, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        out.writeInt(status);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.flush();
+    }
+
+}
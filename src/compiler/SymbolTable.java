@@ -0,0 +1,83 @@
+package compiler;
+
+import compiler.element.Element;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Scoped symbol table.
+ *
+ * Identifiers are interned to dense ids, and every id keeps a stack of its
+ * declarations in scope with the innermost on top, so resolving a name costs
+ * one hash lookup however many blocks the program has. Functions are indexed
+ * by name on their own. Every SymbolMap opened is kept in order for the Tiny
+ * header.
+ */
+public class SymbolTable {
+
+    private static final class Scope {
+        private final SymbolMap map;
+        // Ids declared in this scope, popped from their stacks on close
+        private final List<Integer> declared = new ArrayList<>();
+
+        private Scope(SymbolMap map) {
+            this.map = map;
+        }
+    }
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<Deque<Element>> shadows = new ArrayList<>();
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+    private final Map<String, SymbolMap> functions = new HashMap<>();
+
+    @Getter
+    private final List<SymbolMap> maps = new ArrayList<>();
+
+    public SymbolMap open(SymbolMap map) {
+        maps.add(map);
+        if (map.isFunction())
+            functions.put(map.getName(), map);
+        scopes.push(new Scope(map));
+        return map;
+    }
+
+    public void close() {
+        Scope scope = scopes.pop();
+        scope.declared.forEach(id -> shadows.get(id).pop());
+    }
+
+    // Innermost open scope, where declarations go
+    public SymbolMap current() {
+        return scopes.peek().map;
+    }
+
+    public void declare(String name, Element el) {
+        Scope scope = scopes.peek();
+        scope.map.put(name, el);
+        int id = intern(name);
+        shadows.get(id).push(el);
+        scope.declared.add(id);
+    }
+
+    // Innermost declaration of name in scope, null when there is none
+    public Element lookup(String name) {
+        Integer id = ids.get(name);
+        return id == null ? null : shadows.get(id).peek();
+    }
+
+    public SymbolMap getFunction(String name) {
+        return functions.get(name);
+    }
+
+    private int intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = shadows.size();
+            ids.put(name, id);
+            shadows.add(new ArrayDeque<>());
+        }
+        return id;
+    }
+
+}
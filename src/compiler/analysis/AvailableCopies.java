@@ -0,0 +1,120 @@
+package compiler.analysis;
+
+import compiler.IR;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Available copies over one function.
+ *
+ * A copy is a store from one element into another. It is available at a
+ * point when every path from the entry goes through it and writes neither
+ * element after, so the destination can be read from the source instead.
+ * A JSR ends every copy that involves a global.
+ */
+public final class AvailableCopies extends DataflowProblem {
+
+    private final ControlFlowGraph cfg;
+    private final List<IR.Node> copies = new ArrayList<>();
+    private final Map<String, Integer> index = new HashMap<>();
+    // Copies into or out of each element, by reference
+    private final Map<String, BitSet> touching = new HashMap<>();
+    // Copies into each element, by reference
+    private final Map<String, BitSet> into = new HashMap<>();
+    private final BitSet global = new BitSet();
+    private DataflowResult result;
+
+    private AvailableCopies(ControlFlowGraph cfg) {
+        this.cfg = cfg;
+        for (IR.Node n : cfg.getIr()) {
+            if (!isCopy(n) || index.containsKey(key(n)))
+                continue;
+            int c = copies.size();
+            copies.add(n);
+            index.put(key(n), c);
+            into.computeIfAbsent(n.getFocus().getRef(), ref -> new BitSet()).set(c);
+            for (Element el : new Element[] { n.getOp1(), n.getFocus() }) {
+                touching.computeIfAbsent(el.getRef(), ref -> new BitSet()).set(c);
+                if (el.getCtx() == Element.Context.VARIABLE)
+                    global.set(c);
+            }
+        }
+    }
+
+    public static AvailableCopies analyze(ControlFlowGraph cfg) {
+        AvailableCopies available = new AvailableCopies(cfg);
+        available.result = DataflowSolver.solve(cfg, available);
+        return available;
+    }
+
+    // A store between two elements of the same type
+    public static boolean isCopy(IR.Node n) {
+        if (!n.isStore() || n.getOp1().isConstant() || n.getOp1().getRef().equals(n.getFocus().getRef()))
+            return false;
+        return n.getOp1().getType() == n.getFocus().getType();
+    }
+
+    public int size() {
+        return copies.size();
+    }
+
+    // Copies available on entry to block
+    public BitSet getIn(int block) {
+        return (BitSet) result.getIn(block).clone();
+    }
+
+    // Element el holds the same value as, given the copies available, or null
+    public Element getSource(Element el, BitSet available) {
+        BitSet candidates = into.get(el.getRef());
+        if (candidates == null)
+            return null;
+        for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1))
+            if (available.get(c))
+                return copies.get(c).getOp1();
+        return null;
+    }
+
+    // Moves available from the top of n to its bottom
+    public void step(IR.Node n, BitSet available) {
+        if (n.getOpcode() == IR.Opcode.JSR) {
+            available.andNot(global);
+            return;
+        }
+
+        n.getKill().stream().forEach(i -> {
+            BitSet killed = touching.get(n.getUniverse().get(i).getRef());
+            if (killed != null)
+                available.andNot(killed);
+        });
+        if (isCopy(n))
+            available.set(index.get(key(n)));
+    }
+
+    private static String key(IR.Node n) {
+        return n.getOp1().getRef() + " " + n.getFocus().getRef();
+    }
+
+    @Override
+    public Direction getDirection() {
+        return Direction.FORWARD;
+    }
+
+    @Override
+    public Meet getMeet() {
+        return Meet.INTERSECTION;
+    }
+
+    @Override
+    public void initialize(int node, BitSet output) {
+        output.set(0, copies.size());
+    }
+
+    @Override
+    public void transfer(int node, BitSet in, BitSet out) {
+        out.or(in);
+        for (IR.Node n : cfg.getBlock(node).getNodes())
+            step(n, out);
+    }
+
+}
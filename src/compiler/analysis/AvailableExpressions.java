@@ -0,0 +1,122 @@
+package compiler.analysis;
+
+import compiler.IR;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Available expressions over the arithmetic of one function.
+ *
+ * An expression is an arithmetic opcode with its two operands, the same for
+ * either order when the opcode commutes. It is available at a point when
+ * every path from the entry computes it and writes neither operand after.
+ * A JSR makes every expression reading a global unavailable, since the
+ * callee may write it.
+ */
+public final class AvailableExpressions extends DataflowProblem {
+
+    private final ControlFlowGraph cfg;
+    private final Map<String, Integer> index = new HashMap<>();
+    // Expressions reading each element, by reference
+    private final Map<String, BitSet> readers = new HashMap<>();
+    private final BitSet readsGlobal = new BitSet();
+    private DataflowResult result;
+
+    private AvailableExpressions(ControlFlowGraph cfg) {
+        this.cfg = cfg;
+        for (IR.Node n : cfg.getIr()) {
+            String key = key(n);
+            if (key == null || index.containsKey(key))
+                continue;
+            int e = index.size();
+            index.put(key, e);
+            for (Element op : new Element[] { n.getOp1(), n.getOp2() }) {
+                if (op.isConstant())
+                    continue;
+                readers.computeIfAbsent(op.getRef(), ref -> new BitSet()).set(e);
+                if (op.getCtx() == Element.Context.VARIABLE)
+                    readsGlobal.set(e);
+            }
+        }
+    }
+
+    public static AvailableExpressions analyze(ControlFlowGraph cfg) {
+        AvailableExpressions available = new AvailableExpressions(cfg);
+        available.result = DataflowSolver.solve(cfg, available);
+        return available;
+    }
+
+    // Expression computed by n, -1 when n is not arithmetic
+    public int indexOf(IR.Node n) {
+        String key = key(n);
+        return key == null ? -1 : index.get(key);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // Expressions available on entry to block
+    public BitSet getIn(int block) {
+        return (BitSet) result.getIn(block).clone();
+    }
+
+    // Moves available from the top of n to its bottom
+    public void step(IR.Node n, BitSet available) {
+        if (n.getOpcode() == IR.Opcode.JSR) {
+            available.andNot(readsGlobal);
+            return;
+        }
+
+        int e = indexOf(n);
+        if (e >= 0)
+            available.set(e);
+        n.getKill().stream().forEach(i -> {
+            BitSet killed = readers.get(n.getUniverse().get(i).getRef());
+            if (killed != null)
+                available.andNot(killed);
+        });
+    }
+
+    private static String key(IR.Node n) {
+        switch (n.getOpcode()) {
+            case ADDI:
+            case ADDF:
+            case MULTI:
+            case MULTF:
+                String a = n.getOp1().getRef(), b = n.getOp2().getRef();
+                return a.compareTo(b) <= 0 ? n.getOpcode() + " " + a + " " + b : n.getOpcode() + " " + b + " " + a;
+            case SUBI:
+            case SUBF:
+            case DIVI:
+            case DIVF:
+                return n.getOpcode() + " " + n.getOp1().getRef() + " " + n.getOp2().getRef();
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Direction getDirection() {
+        return Direction.FORWARD;
+    }
+
+    @Override
+    public Meet getMeet() {
+        return Meet.INTERSECTION;
+    }
+
+    @Override
+    public void initialize(int node, BitSet output) {
+        output.set(0, index.size());
+    }
+
+    @Override
+    public void transfer(int node, BitSet in, BitSet out) {
+        out.or(in);
+        for (IR.Node n : cfg.getBlock(node).getNodes())
+            step(n, out);
+    }
+
+}
@@ -0,0 +1,72 @@
+package compiler.analysis;
+
+import compiler.IR;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Maximal straight line run of IR nodes, [start, end) in IR order.
+ *
+ * Carries the block level liveness summary: USE holds the elements read
+ * before any write in the block, DEF the elements written in it.
+ */
+@Getter
+public final class BasicBlock {
+
+    private final int id;
+    private final int start;
+    private final int end;
+    private final List<IR.Node> nodes;
+    private final BitSet use;
+    private final BitSet def;
+
+    @Setter(AccessLevel.PACKAGE)
+    private int[] successors;
+    @Setter(AccessLevel.PACKAGE)
+    private int[] predecessors;
+    @Setter(AccessLevel.PACKAGE)
+    private BitSet liveIn;
+    @Setter(AccessLevel.PACKAGE)
+    private BitSet liveOut;
+
+    BasicBlock(int id, IR ir, int start, int end) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.nodes = ir.subList(start, end);
+        this.use = new BitSet();
+        this.def = new BitSet();
+        this.liveIn = new BitSet();
+        this.liveOut = new BitSet();
+
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            IR.Node n = nodes.get(i);
+            use.andNot(n.getKill());
+            use.or(n.getGen());
+            def.or(n.getKill());
+        }
+    }
+
+    public IR.Node getFirst() {
+        return nodes.get(0);
+    }
+
+    public IR.Node getLast() {
+        return nodes.get(nodes.size() - 1);
+    }
+
+    // True if control leaves the block through its last node rather than falling through
+    public boolean endsWithTransfer() {
+        return getLast().isTransfer();
+    }
+
+    @Override
+    public String toString() {
+        return "B" + id + " [" + start + ", " + end + ")";
+    }
+
+}
@@ -0,0 +1,62 @@
+package compiler.analysis;
+
+import compiler.IR;
+
+import java.util.*;
+
+/**
+ * Calls between the functions of a program, read from their JSR nodes.
+ *
+ * Functions are only called by name, so every edge is known once the front end
+ * is done. Calls to names the program does not define are kept as edges to
+ * functions without a body.
+ */
+public final class CallGraph {
+
+    // Functions each function calls, in the order of their first call
+    private final Map<String, Set<String>> callees = new LinkedHashMap<>();
+
+    public CallGraph(List<IR> functions) {
+        for (IR function : functions) {
+            Set<String> called = new LinkedHashSet<>();
+            for (IR.Node n : function)
+                if (n.getOpcode() == IR.Opcode.JSR)
+                    called.add(n.getFocus().getName());
+            callees.put(function.getFunction(), called);
+        }
+    }
+
+    public Set<String> getCallees(String function) {
+        return callees.getOrDefault(function, Collections.emptySet());
+    }
+
+    public boolean isLeaf(String function) {
+        return getCallees(function).isEmpty();
+    }
+
+    // Defined functions with callees ahead of their callers, functions on a
+    // cycle are placed when the walk first leaves them
+    public List<String> bottomUp() {
+        List<String> order = new ArrayList<>(callees.size());
+        Set<String> seen = new HashSet<>();
+        for (String f : callees.keySet())
+            postorder(f, seen, order);
+        return order;
+    }
+
+    private void postorder(String function, Set<String> seen, List<String> order) {
+        if (!callees.containsKey(function) || !seen.add(function))
+            return;
+        for (String f : callees.get(function))
+            postorder(f, seen, order);
+        order.add(function);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        callees.forEach((f, called) -> b.append(f).append(" -> ").append(called).append('\n'));
+        return b.toString();
+    }
+
+}
@@ -0,0 +1,118 @@
+package compiler.analysis;
+
+import compiler.IR;
+import compiler.MicroErrorMessages;
+import compiler.MicroRuntimeException;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Basic block control flow graph of an IR.
+ *
+ * A block starts at every LABEL and after every branch, JUMP, JSR and RETURN.
+ * Function entry labels (a LABEL followed by LINK) are never branch targets.
+ */
+public final class ControlFlowGraph implements FlowGraph {
+
+    @Getter
+    private final IR ir;
+    @Getter
+    private final List<BasicBlock> blocks;
+
+    public ControlFlowGraph(IR ir) {
+        this.ir = ir;
+        this.blocks = new ArrayList<>();
+
+        int start = 0;
+        for (int i = 0; i < ir.size(); i++) {
+            IR.Node node = ir.get(i);
+            if (node.getOpcode() == IR.Opcode.LABEL && i > start) {
+                blocks.add(new BasicBlock(blocks.size(), ir, start, i));
+                start = i;
+            }
+            if (node.isTransfer()) {
+                blocks.add(new BasicBlock(blocks.size(), ir, start, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < ir.size())
+            blocks.add(new BasicBlock(blocks.size(), ir, start, ir.size()));
+
+        Map<String, BasicBlock> labels = new HashMap<>();
+        for (BasicBlock b : blocks) {
+            IR.Node first = b.getFirst();
+            if (first.getOpcode() == IR.Opcode.LABEL && !ir.isFunctionEntry(b.getStart()))
+                labels.put(first.getFocus().getName(), b);
+        }
+
+        List<List<Integer>> preds = new ArrayList<>(blocks.size());
+        blocks.forEach(b -> preds.add(new ArrayList<>(2)));
+        for (BasicBlock b : blocks) {
+            IR.Node last = b.getLast();
+            BasicBlock next = b.getId() + 1 < blocks.size() ? blocks.get(b.getId() + 1) : null;
+            int[] succ;
+            if (last.isConditional()) {
+                BasicBlock target = getTarget(labels, last);
+                succ = next == null || next == target
+                        ? new int[] { target.getId() }
+                        : new int[] { next.getId(), target.getId() };
+            } else if (last.isJump()) {
+                succ = new int[] { getTarget(labels, last).getId() };
+            } else if (last.isReturn() || next == null) {
+                succ = new int[0];
+            } else {
+                succ = new int[] { next.getId() };
+            }
+            b.setSuccessors(succ);
+            for (int s : succ)
+                preds.get(s).add(b.getId());
+        }
+        for (BasicBlock b : blocks)
+            b.setPredecessors(preds.get(b.getId()).stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static BasicBlock getTarget(Map<String, BasicBlock> labels, IR.Node node) {
+        BasicBlock target = labels.get(node.getFocus().getName());
+        if (target == null)
+            throw new MicroRuntimeException(MicroErrorMessages.UnableToFindBranchTarget);
+        return target;
+    }
+
+    public BasicBlock getBlock(int id) {
+        return blocks.get(id);
+    }
+
+    @Override
+    public int size() {
+        return blocks.size();
+    }
+
+    @Override
+    public int[] getSuccessors(int node) {
+        return blocks.get(node).getSuccessors();
+    }
+
+    @Override
+    public int[] getPredecessors(int node) {
+        return blocks.get(node).getPredecessors();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        b.append("IR CFG\n");
+        for (BasicBlock block : blocks) {
+            b.append(block).append(":\n");
+            block.getNodes().forEach(n -> b.append(n).append("\n"));
+            b.append("Predecessors:").append(Arrays.toString(block.getPredecessors())).append("\n");
+            b.append("Successors:").append(Arrays.toString(block.getSuccessors())).append("\n");
+            b.append("USE: ").append(block.getFirst().getUniverse().toElements(block.getUse())).append("\n");
+            b.append("DEF: ").append(block.getFirst().getUniverse().toElements(block.getDef())).append("\n");
+            b.append("IN: ").append(block.getFirst().getUniverse().toElements(block.getLiveIn())).append("\n");
+            b.append("OUT: ").append(block.getFirst().getUniverse().toElements(block.getLiveOut())).append("\n\n");
+        }
+        return b.toString();
+    }
+
+}
@@ -0,0 +1,35 @@
+package compiler.analysis;
+
+import java.util.BitSet;
+
+/**
+ * A bit vector dataflow problem: a direction, a meet operator and a transfer
+ * function per node.
+ *
+ * The solver names facts in program order: IN is the fact at the top of a
+ * node and OUT the fact at its bottom, whatever the direction.
+ */
+public abstract class DataflowProblem {
+
+    public enum Direction {
+        FORWARD, BACKWARD
+    }
+
+    public enum Meet {
+        UNION, INTERSECTION
+    }
+
+    public abstract Direction getDirection();
+
+    public abstract Meet getMeet();
+
+    // Computes the fact leaving node from the fact entering it (in flow order)
+    public abstract void transfer(int node, BitSet input, BitSet output);
+
+    // Adds facts that flow into node from outside the graph, after the meet
+    public void boundary(int node, BitSet input) {}
+
+    // Sets the initial output of node; empty unless overridden
+    public void initialize(int node, BitSet output) {}
+
+}
@@ -0,0 +1,30 @@
+package compiler.analysis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.BitSet;
+
+@Getter
+@AllArgsConstructor
+public final class DataflowResult {
+
+    private final BitSet[] in;
+    private final BitSet[] out;
+    // Number of transfer function evaluations until convergence
+    private final int visits;
+
+    public BitSet getIn(int node) {
+        return in[node];
+    }
+
+    public BitSet getOut(int node) {
+        return out[node];
+    }
+
+    @Override
+    public String toString() {
+        return visits + " visits over " + in.length + " nodes";
+    }
+
+}
@@ -0,0 +1,124 @@
+package compiler.analysis;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+
+/**
+ * Worklist solver for bit vector dataflow problems.
+ *
+ * Nodes are visited in reverse postorder of the flow direction, and a node is
+ * only revisited when the output of one of its flow predecessors changed.
+ */
+public final class DataflowSolver {
+
+    private DataflowSolver() {}
+
+    public static DataflowResult solve(FlowGraph graph, DataflowProblem problem) {
+        int n = graph.size();
+        boolean forward = problem.getDirection() == DataflowProblem.Direction.FORWARD;
+        boolean union = problem.getMeet() == DataflowProblem.Meet.UNION;
+
+        BitSet[] input = new BitSet[n];
+        BitSet[] output = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            input[i] = new BitSet();
+            output[i] = new BitSet();
+            problem.initialize(i, output[i]);
+        }
+
+        int[] order = reversePostorder(graph, forward);
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++)
+            rank[order[i]] = i;
+
+        // Pending nodes by rank, so the worklist drains in reverse postorder
+        BitSet pending = new BitSet(n);
+        pending.set(0, n);
+
+        BitSet scratch = new BitSet();
+        int visits = 0;
+        int cursor = 0;
+        while (!pending.isEmpty()) {
+            int r = pending.nextSetBit(cursor);
+            if (r < 0)
+                r = pending.nextSetBit(0);
+            pending.clear(r);
+            cursor = r + 1;
+
+            int node = order[r];
+            visits++;
+
+            // Meet over the nodes this one receives facts from
+            int[] from = forward ? graph.getPredecessors(node) : graph.getSuccessors(node);
+            BitSet in = input[node];
+            in.clear();
+            if (from.length > 0) {
+                in.or(output[from[0]]);
+                for (int i = 1; i < from.length; i++) {
+                    if (union)
+                        in.or(output[from[i]]);
+                    else
+                        in.and(output[from[i]]);
+                }
+            }
+            problem.boundary(node, in);
+
+            scratch.clear();
+            problem.transfer(node, in, scratch);
+            if (scratch.equals(output[node]))
+                continue;
+
+            output[node].clear();
+            output[node].or(scratch);
+            for (int next : forward ? graph.getSuccessors(node) : graph.getPredecessors(node))
+                pending.set(rank[next]);
+        }
+
+        return forward
+                ? new DataflowResult(input, output, visits)
+                : new DataflowResult(output, input, visits);
+    }
+
+    // Iterative DFS so deep graphs do not overflow the stack
+    private static int[] reversePostorder(FlowGraph graph, boolean forward) {
+        int n = graph.size();
+        int[] postorder = new int[n];
+        int count = 0;
+        BitSet visited = new BitSet(n);
+        Deque<int[]> stack = new ArrayDeque<>();
+
+        // Roots first, then anything they cannot reach
+        for (int pass = 0; pass < 2; pass++) {
+            for (int root = 0; root < n; root++) {
+                if (visited.get(root))
+                    continue;
+                int[] roots = forward ? graph.getPredecessors(root) : graph.getSuccessors(root);
+                if (pass == 0 && roots.length != 0)
+                    continue;
+
+                visited.set(root);
+                stack.push(new int[] { root, 0 });
+                while (!stack.isEmpty()) {
+                    int[] frame = stack.peek();
+                    int[] next = forward ? graph.getSuccessors(frame[0]) : graph.getPredecessors(frame[0]);
+                    if (frame[1] < next.length) {
+                        int s = next[frame[1]++];
+                        if (!visited.get(s)) {
+                            visited.set(s);
+                            stack.push(new int[] { s, 0 });
+                        }
+                    } else {
+                        postorder[count++] = stack.pop()[0];
+                    }
+                }
+            }
+        }
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = postorder[n - 1 - i];
+        return order;
+    }
+
+}
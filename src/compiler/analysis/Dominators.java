@@ -0,0 +1,119 @@
+package compiler.analysis;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+
+/**
+ * Dominator tree of a flow graph rooted at node 0.
+ *
+ * Uses the iterative algorithm of Cooper, Harvey and Kennedy over reverse
+ * postorder. Nodes not reachable from the root have no immediate dominator.
+ */
+public final class Dominators {
+
+    private static final int NONE = -1;
+
+    private final int[] idom;
+    // Reverse postorder rank, NONE when unreachable
+    private final int[] rank;
+    private final int[] order;
+
+    public Dominators(FlowGraph graph) {
+        int n = graph.size();
+        this.idom = new int[n];
+        this.rank = new int[n];
+        Arrays.fill(idom, NONE);
+        Arrays.fill(rank, NONE);
+        this.order = reversePostorder(graph);
+        for (int i = 0; i < order.length; i++)
+            rank[order[i]] = i;
+        if (n == 0)
+            return;
+
+        idom[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < order.length; i++) {
+                int b = order[i];
+                int dom = NONE;
+                for (int p : graph.getPredecessors(b)) {
+                    if (idom[p] == NONE)
+                        continue;
+                    dom = dom == NONE ? p : intersect(p, dom);
+                }
+                if (idom[b] != dom) {
+                    idom[b] = dom;
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private int intersect(int a, int b) {
+        while (a != b) {
+            while (rank[a] > rank[b])
+                a = idom[a];
+            while (rank[b] > rank[a])
+                b = idom[b];
+        }
+        return a;
+    }
+
+    // Immediate dominator of node, the root for the root and -1 when unreachable
+    public int getIdom(int node) {
+        return idom[node];
+    }
+
+    public boolean isReachable(int node) {
+        return rank[node] != NONE;
+    }
+
+    // True if every path from the root to b passes through a
+    public boolean dominates(int a, int b) {
+        if (!isReachable(a) || !isReachable(b))
+            return false;
+        while (rank[b] > rank[a])
+            b = idom[b];
+        return a == b;
+    }
+
+    // Reachable nodes in reverse postorder
+    public int[] getOrder() {
+        return order;
+    }
+
+    private static int[] reversePostorder(FlowGraph graph) {
+        int n = graph.size();
+        int[] postorder = new int[n];
+        int count = 0;
+        if (n == 0)
+            return postorder;
+
+        BitSet visited = new BitSet(n);
+        Deque<int[]> stack = new ArrayDeque<>();
+        visited.set(0);
+        stack.push(new int[] { 0, 0 });
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            int[] next = graph.getSuccessors(frame[0]);
+            if (frame[1] < next.length) {
+                int s = next[frame[1]++];
+                if (!visited.get(s)) {
+                    visited.set(s);
+                    stack.push(new int[] { s, 0 });
+                }
+            } else {
+                postorder[count++] = stack.pop()[0];
+            }
+        }
+
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++)
+            order[i] = postorder[count - 1 - i];
+        return order;
+    }
+
+}
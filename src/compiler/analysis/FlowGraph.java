@@ -0,0 +1,14 @@
+package compiler.analysis;
+
+/**
+ * Directed graph over dense node numbers that dataflow problems are solved on.
+ */
+public interface FlowGraph {
+
+    int size();
+
+    int[] getSuccessors(int node);
+
+    int[] getPredecessors(int node);
+
+}
@@ -0,0 +1,68 @@
+package compiler.analysis;
+
+import compiler.IR;
+
+import java.util.BitSet;
+
+/**
+ * Live variable analysis, solved over basic blocks and then pushed down to the
+ * OUT set of every node in a single backward pass per block.
+ *
+ * Globals are live out of every RETURN outside main, since callers may read
+ * them; the program halts once main returns.
+ */
+public final class Liveness extends DataflowProblem {
+
+    private static final String MAIN = "main";
+
+    private final ControlFlowGraph cfg;
+
+    private Liveness(ControlFlowGraph cfg) {
+        this.cfg = cfg;
+    }
+
+    // Solves liveness and stores it on every block and node of cfg
+    public static DataflowResult analyze(ControlFlowGraph cfg) {
+        DataflowResult result = DataflowSolver.solve(cfg, new Liveness(cfg));
+        for (BasicBlock block : cfg.getBlocks()) {
+            block.setLiveIn(result.getIn(block.getId()));
+            block.setLiveOut(result.getOut(block.getId()));
+
+            BitSet live = (BitSet) block.getLiveOut().clone();
+            for (int i = block.getNodes().size() - 1; i >= 0; i--) {
+                IR.Node n = block.getNodes().get(i);
+                n.setOut((BitSet) live.clone());
+                live.andNot(n.getKill());
+                live.or(n.getGen());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return Direction.BACKWARD;
+    }
+
+    @Override
+    public Meet getMeet() {
+        return Meet.UNION;
+    }
+
+    @Override
+    public void boundary(int node, BitSet out) {
+        BasicBlock block = cfg.getBlock(node);
+        IR.Node last = block.getLast();
+        if (last.isReturn() && !MAIN.equals(cfg.getIr().getFunction()))
+            out.or(last.getUniverse().getGlobals());
+    }
+
+    @Override
+    public void transfer(int node, BitSet out, BitSet in) {
+        BasicBlock block = cfg.getBlock(node);
+        in.or(out);
+        in.andNot(block.getDef());
+        in.or(block.getUse());
+    }
+
+}
@@ -0,0 +1,94 @@
+package compiler.analysis;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Natural loops of a flow graph.
+ *
+ * An edge t -> h is a back edge when h dominates t. The loop of header h is h
+ * plus every node that reaches one of its back edges without passing through
+ * h; back edges sharing a header form one loop. The depth of a node is the
+ * number of loops containing it.
+ */
+public final class Loops {
+
+    @Getter
+    public static final class Loop {
+        private final int header;
+        private final BitSet body;
+        // Sources of the back edges into header
+        private final List<Integer> tails;
+
+        private Loop(int header) {
+            this.header = header;
+            this.body = new BitSet();
+            this.tails = new ArrayList<>(1);
+        }
+
+        public boolean contains(int node) {
+            return body.get(node);
+        }
+
+        @Override
+        public String toString() {
+            return "loop B" + header + " " + body;
+        }
+    }
+
+    @Getter
+    private final Dominators dominators;
+    // Innermost loops last, outer loops first
+    @Getter
+    private final List<Loop> loops;
+    private final int[] depth;
+
+    public Loops(FlowGraph graph) {
+        this(graph, new Dominators(graph));
+    }
+
+    public Loops(FlowGraph graph, Dominators dominators) {
+        this.dominators = dominators;
+        this.depth = new int[graph.size()];
+
+        Map<Integer, Loop> byHeader = new LinkedHashMap<>();
+        for (int t : dominators.getOrder()) {
+            for (int h : graph.getSuccessors(t)) {
+                if (!dominators.dominates(h, t))
+                    continue;
+                Loop loop = byHeader.computeIfAbsent(h, Loop::new);
+                loop.tails.add(t);
+                collect(graph, loop, t);
+            }
+        }
+
+        this.loops = new ArrayList<>(byHeader.values());
+        loops.sort(Comparator.comparingInt(l -> -l.body.cardinality()));
+        for (Loop loop : loops)
+            loop.body.stream().forEach(b -> depth[b]++);
+    }
+
+    private void collect(FlowGraph graph, Loop loop, int tail) {
+        loop.body.set(loop.header);
+        Deque<Integer> work = new ArrayDeque<>();
+        if (!loop.body.get(tail)) {
+            loop.body.set(tail);
+            work.push(tail);
+        }
+        while (!work.isEmpty()) {
+            for (int p : graph.getPredecessors(work.pop())) {
+                if (!loop.body.get(p) && dominators.isReachable(p)) {
+                    loop.body.set(p);
+                    work.push(p);
+                }
+            }
+        }
+    }
+
+    // Number of loops containing node, 0 outside any loop
+    public int getDepth(int node) {
+        return depth[node];
+    }
+
+}
@@ -0,0 +1,63 @@
+package compiler.analysis;
+
+import compiler.SymbolMap;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Dense numbering of the elements referenced by one function.
+ *
+ * Globals always take the first indices so the bits they occupy are the same
+ * in every function. Elements are keyed by their IR reference, so different
+ * Element objects naming the same location share a bit.
+ */
+public final class VariableUniverse {
+
+    private final Map<String, Integer> index;
+    private final List<Element> elements;
+    private final BitSet globals;
+
+    public VariableUniverse(SymbolMap globalSymbolMap) {
+        this.index = new HashMap<>();
+        this.elements = new ArrayList<>();
+        this.globals = new BitSet();
+        if (globalSymbolMap != null)
+            globalSymbolMap.values().forEach(e -> globals.set(intern(e)));
+    }
+
+    // Returns the bit for el, numbering it if it has not been seen before
+    public int intern(Element el) {
+        Integer i = index.get(el.getRef());
+        if (i != null)
+            return i;
+
+        index.put(el.getRef(), elements.size());
+        elements.add(el);
+        return elements.size() - 1;
+    }
+
+    public int indexOf(Element el) {
+        Integer i = index.get(el.getRef());
+        return i == null ? -1 : i;
+    }
+
+    public Element get(int i) {
+        return elements.get(i);
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public BitSet getGlobals() {
+        return globals;
+    }
+
+    public Set<Element> toElements(BitSet bits) {
+        Set<Element> set = new LinkedHashSet<>();
+        bits.stream().mapToObj(elements::get).forEach(set::add);
+        return set;
+    }
+
+}
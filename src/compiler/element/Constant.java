@@ -16,6 +16,14 @@ public class Constant extends Element {
         return null;
     }
 
+    public static Constant valueOf(int value) {
+        return new Constant(Element.Type.INT, Integer.toString(value));
+    }
+
+    public static Constant valueOf(float value) {
+        return new Constant(Element.Type.FLOAT, Float.toString(value));
+    }
+
     @Override
     public String toString() {
         return getRef() + " (" + getType() + ")";
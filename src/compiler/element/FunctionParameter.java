@@ -18,8 +18,10 @@ public class FunctionParameter extends Element {
         return PREFIX + getCtxVal();
     }
 
+    // Arguments sit right above the return address, callers save registers
+    // before pushing the return slot
     @Override
     public Element getTinyElement(int localCount) {
-        return new Stack(5 + getCtxVal(), getType());
+        return new Stack(1 + getCtxVal(), getType());
     }
 }
@@ -1,8 +1,12 @@
 package compiler.element;
 
+import lombok.Getter;
+
+@Getter
 public class Link extends Element {
 
     private int numLocal;
+    // One past the highest temporary number in the frame
     private int numTemp;
 
     public Link(int numLocal, int numTemp) {
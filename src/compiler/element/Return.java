@@ -18,6 +18,6 @@ public class Return extends Element {
 
     @Override
     public Element getTinyElement(int localCount) {
-        return new Stack(5 + getCtxVal() + 1, getType());
+        return new Stack(1 + getCtxVal() + 1, getType());
     }
 }
@@ -16,6 +16,11 @@ import compiler.MicroErrorMessages;
 import compiler.MicroRuntimeException;
 import compiler.SymbolMap;
 
+/**
+ * String based expression parsing: tokenize, shunting-yard to postfix, then
+ * rebuild a tree. The compiler lowers expressions straight from the parse
+ * tree instead; this is kept as a standalone fallback exercised by tests.
+ */
 public final class Expression {
 
     private Expression() {}
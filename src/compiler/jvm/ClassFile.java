@@ -0,0 +1,308 @@
+package compiler.jvm;
+
+import compiler.MicroErrorMessages;
+import compiler.MicroRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Just enough of a class file writer for the JVM back end.
+ *
+ * Classes are written as version 49, which the JVM verifies by inference, so
+ * no stack map frames are needed. Method bodies are assembled with symbolic
+ * labels, patched when the method is finished, and track their stack depth
+ * as instructions are added. Branches are 16 bit, so a method is kept under
+ * 32K of code.
+ */
+final class ClassFile {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PRIVATE = 0x0002;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_SUPER = 0x0020;
+
+    // Opcodes used by the back end
+    static final int ICONST_0 = 0x03, FCONST_0 = 0x0b, BIPUSH = 0x10, SIPUSH = 0x11, LDC = 0x12, LDC_W = 0x13;
+    static final int ILOAD = 0x15, FLOAD = 0x17, ALOAD_0 = 0x2a, ISTORE = 0x36, FSTORE = 0x38, POP = 0x57;
+    static final int IADD = 0x60, FADD = 0x62, ISUB = 0x64, FSUB = 0x66, IMUL = 0x68, FMUL = 0x6a, IDIV = 0x6c, FDIV = 0x6e;
+    static final int I2F = 0x86, F2I = 0x8b, FCMPL = 0x95, FCMPG = 0x96;
+    static final int IFEQ = 0x99, IFNE = 0x9a, IFLT = 0x9b, IFGE = 0x9c, IFGT = 0x9d, IFLE = 0x9e;
+    static final int IF_ICMPEQ = 0x9f, IF_ICMPNE = 0xa0, IF_ICMPLT = 0xa1, IF_ICMPGE = 0xa2, IF_ICMPGT = 0xa3, IF_ICMPLE = 0xa4;
+    static final int GOTO = 0xa7, IRETURN = 0xac, FRETURN = 0xae, RETURN = 0xb1;
+    static final int GETSTATIC = 0xb2, PUTSTATIC = 0xb3, INVOKEVIRTUAL = 0xb6, INVOKESTATIC = 0xb8, WIDE = 0xc4;
+
+    private static final int MAGIC = 0xcafebabe;
+    private static final int VERSION = 49;
+    private static final int UTF8 = 1, INTEGER = 3, FLOAT = 4, CLASS = 7, STRING = 8, FIELD = 9, METHOD = 10, NAME_AND_TYPE = 12;
+
+    private final String name;
+    private final int superClass;
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final Map<List<Object>, Integer> constants = new HashMap<>();
+    private int poolSize = 1;
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<Method> methods = new ArrayList<>();
+
+    ClassFile(String name, String superName) {
+        this.name = name;
+        this.superClass = classRef(superName);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void addField(int access, String fieldName, String descriptor) {
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        DataOutputStream d = new DataOutputStream(b);
+        try {
+            d.writeShort(access);
+            d.writeShort(utf8(fieldName));
+            d.writeShort(utf8(descriptor));
+            d.writeShort(0);
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+        fields.add(b.toByteArray());
+    }
+
+    Method addMethod(int access, String methodName, String descriptor) {
+        Method m = new Method(access, methodName, utf8(methodName), utf8(descriptor));
+        methods.add(m);
+        return m;
+    }
+
+    byte[] toByteArray() {
+        int self = classRef(name);
+        int code = utf8("Code");
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        DataOutputStream d = new DataOutputStream(b);
+        try {
+            d.writeInt(MAGIC);
+            d.writeShort(0);
+            d.writeShort(VERSION);
+            d.writeShort(poolSize);
+            pool.writeTo(d);
+            d.writeShort(ACC_PUBLIC | ACC_SUPER);
+            d.writeShort(self);
+            d.writeShort(superClass);
+            d.writeShort(0);
+            d.writeShort(fields.size());
+            for (byte[] f : fields)
+                d.write(f);
+            d.writeShort(methods.size());
+            for (Method m : methods)
+                m.writeTo(d, code);
+            d.writeShort(0);
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+        return b.toByteArray();
+    }
+
+    // Constant pool entries, shared when equal
+
+    private int constant(int tag, Object... key) {
+        List<Object> k = new ArrayList<>(key.length + 1);
+        k.add(tag);
+        k.addAll(Arrays.asList(key));
+        Integer index = constants.get(k);
+        if (index != null)
+            return index;
+
+        DataOutputStream d = new DataOutputStream(pool);
+        try {
+            d.writeByte(tag);
+            for (Object o : key) {
+                if (o instanceof String)
+                    d.writeUTF((String) o);
+                else if (o instanceof Float)
+                    d.writeFloat((Float) o);
+                else if (tag == INTEGER)
+                    d.writeInt((Integer) o);
+                else
+                    d.writeShort((Integer) o);
+            }
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+        constants.put(k, poolSize);
+        return poolSize++;
+    }
+
+    private int utf8(String s) {
+        return constant(UTF8, s);
+    }
+
+    private int classRef(String className) {
+        return constant(CLASS, utf8(className));
+    }
+
+    private int nameAndType(String member, String descriptor) {
+        return constant(NAME_AND_TYPE, utf8(member), utf8(descriptor));
+    }
+
+    int fieldRef(String owner, String field, String descriptor) {
+        return constant(FIELD, classRef(owner), nameAndType(field, descriptor));
+    }
+
+    int methodRef(String owner, String method, String descriptor) {
+        return constant(METHOD, classRef(owner), nameAndType(method, descriptor));
+    }
+
+    /**
+     * The body of a method being assembled.
+     */
+    final class Method {
+
+        private final int access;
+        // Name of the method for errors, and its constant
+        private final String methodName;
+        private final int name;
+        private final int descriptor;
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+        // Offset of every label marked, -1 until it is
+        private final List<Integer> labels = new ArrayList<>();
+        // Branch instructions to patch, mapped to their label
+        private final Map<Integer, Integer> branches = new LinkedHashMap<>();
+        private int stack;
+        private int maxStack;
+        private int maxLocals;
+
+        private Method(int access, String methodName, int name, int descriptor) {
+            this.access = access;
+            this.methodName = methodName;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        int newLabel() {
+            labels.add(-1);
+            return labels.size() - 1;
+        }
+
+        void mark(int label) {
+            labels.set(label, code.size());
+        }
+
+        void locals(int count) {
+            maxLocals = Math.max(maxLocals, count);
+        }
+
+        // An instruction without operands, changing the stack by delta
+        void op(int opcode, int delta) {
+            code.write(opcode);
+            adjust(delta);
+        }
+
+        void loadInt(int value) {
+            if (value >= -1 && value <= 5) {
+                code.write(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                code.write(BIPUSH);
+                code.write(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                code.write(SIPUSH);
+                u2(value);
+            } else {
+                ldc(constant(INTEGER, value));
+                return;
+            }
+            adjust(1);
+        }
+
+        void loadFloat(float value) {
+            if ((value == 0 && 1 / value > 0) || value == 1 || value == 2) {
+                code.write(FCONST_0 + (int) value);
+                adjust(1);
+            } else {
+                ldc(constant(FLOAT, value));
+            }
+        }
+
+        void loadString(String value) {
+            ldc(constant(STRING, utf8(value)));
+        }
+
+        private void ldc(int index) {
+            if (index < 256) {
+                code.write(LDC);
+                code.write(index);
+            } else {
+                code.write(LDC_W);
+                u2(index);
+            }
+            adjust(1);
+        }
+
+        // ILOAD, FLOAD, ISTORE or FSTORE of a local
+        void local(int opcode, int index) {
+            if (index > 255) {
+                code.write(WIDE);
+                code.write(opcode);
+                u2(index);
+            } else {
+                code.write(opcode);
+                code.write(index);
+            }
+            locals(index + 1);
+            adjust(opcode == ILOAD || opcode == FLOAD ? 1 : -1);
+        }
+
+        // GETSTATIC, PUTSTATIC, INVOKESTATIC or INVOKEVIRTUAL of a constant, changing the stack by delta
+        void member(int opcode, int constant, int delta) {
+            code.write(opcode);
+            u2(constant);
+            adjust(delta);
+        }
+
+        // A GOTO or conditional branch, popping pops values
+        void jump(int opcode, int label, int pops) {
+            branches.put(code.size(), label);
+            code.write(opcode);
+            u2(0);
+            adjust(-pops);
+        }
+
+        private void u2(int value) {
+            code.write(value >> 8);
+            code.write(value);
+        }
+
+        private void adjust(int delta) {
+            stack += delta;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        private void writeTo(DataOutputStream d, int codeAttribute) throws IOException {
+            byte[] bytes = code.toByteArray();
+            if (bytes.length > Short.MAX_VALUE)
+                throw new MicroRuntimeException(MicroErrorMessages.MethodTooLarge, methodName);
+            for (Map.Entry<Integer, Integer> b : branches.entrySet()) {
+                if (labels.get(b.getValue()) < 0)
+                    throw new MicroRuntimeException(MicroErrorMessages.UnableToFindBranchTarget, methodName);
+                int offset = labels.get(b.getValue()) - b.getKey();
+                bytes[b.getKey() + 1] = (byte) (offset >> 8);
+                bytes[b.getKey() + 2] = (byte) offset;
+            }
+
+            d.writeShort(access);
+            d.writeShort(name);
+            d.writeShort(descriptor);
+            d.writeShort(1);
+            d.writeShort(codeAttribute);
+            d.writeInt(12 + bytes.length);
+            d.writeShort(maxStack);
+            d.writeShort(maxLocals);
+            d.writeInt(bytes.length);
+            d.write(bytes);
+            d.writeShort(0);
+            d.writeShort(0);
+        }
+
+    }
+
+}
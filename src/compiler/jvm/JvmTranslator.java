@@ -0,0 +1,522 @@
+package compiler.jvm;
+
+import compiler.IR;
+import compiler.MicroErrorMessages;
+import compiler.MicroRuntimeException;
+import compiler.SymbolMap;
+import compiler.element.Element;
+import compiler.tiny.TinySimulator;
+
+import java.util.*;
+
+import static compiler.jvm.ClassFile.*;
+
+/**
+ * Translates the IR of a program to a JVM class, as TinyTranslator does to
+ * Tiny code.
+ *
+ * Every function becomes a static method taking its parameters in the order
+ * they are pushed, so $P1 is the last of them, and returning the type its
+ * stores to $R have. Locals and temporaries become JVM locals, typed by the
+ * instructions writing them, and globals static fields. The PUSHes, JSR and
+ * POPs of a call collapse to one invokestatic. Numbers are read, written and
+ * parsed from constants the way Tiny does, so both back ends print the same
+ * for well typed programs. Where a value crosses types it is converted,
+ * which is the one place the JVM can disagree with Tiny, since Tiny keeps an
+ * int and a float side by side in every cell.
+ */
+public final class JvmTranslator {
+
+    public static final String CLASS_NAME = "MicroProgram";
+    // Public entry point, taking the runtime, running main and flushing the output
+    public static final String ENTRY = "run";
+
+    private static final String MAIN = "main";
+    private static final String RUNTIME = "compiler/jvm/MicroRuntime";
+    private static final String RUNTIME_DESCRIPTOR = "L" + RUNTIME + ";";
+    // Micro identifiers have no $, so this never names a global
+    private static final String RUNTIME_FIELD = "$runtime";
+
+    private static final class Signature {
+        // Parameter types in push order
+        final Element.Type[] params;
+        final Element.Type result;
+
+        Signature(Element.Type[] params, Element.Type result) {
+            this.params = params;
+            this.result = result;
+        }
+
+        String descriptor() {
+            StringBuilder b = new StringBuilder("(");
+            for (Element.Type t : params)
+                b.append(JvmTranslator.descriptor(t));
+            return b.append(')').append(JvmTranslator.descriptor(result)).toString();
+        }
+    }
+
+    private static final class Slot {
+        final int index;
+        final Element.Type type;
+
+        Slot(int index, Element.Type type) {
+            this.index = index;
+            this.type = type;
+        }
+    }
+
+    private final ClassFile cf = new ClassFile(CLASS_NAME, "java/lang/Object");
+    private final Map<String, Element.Type> globals = new HashMap<>();
+    private final Map<String, Signature> signatures = new HashMap<>();
+
+    // State of the function being translated
+    private ClassFile.Method method;
+    private Signature signature;
+    private Map<String, Slot> slots;
+    private Map<String, Integer> labels;
+    private int result;
+
+    public byte[] translate(List<SymbolMap> symbolMaps, List<IR> functions) {
+        cf.addField(ACC_PRIVATE | ACC_STATIC, RUNTIME_FIELD, RUNTIME_DESCRIPTOR);
+        for (Element v : symbolMaps.get(0).values()) {
+            if (!v.isString()) {
+                globals.put(v.getName(), v.getType());
+                cf.addField(ACC_PRIVATE | ACC_STATIC, v.getName(), descriptor(v.getType()));
+            }
+        }
+
+        Map<String, SymbolMap> scopes = new HashMap<>();
+        symbolMaps.stream().filter(SymbolMap::isFunction).forEach(m -> scopes.put(m.getName(), m));
+        Map<String, Element.Type> results = returned(functions);
+        for (IR f : functions)
+            signatures.put(f.getFunction(), signature(scopes.get(f.getFunction()), results.getOrDefault(f.getFunction(), Element.Type.INT)));
+        if (!signatures.containsKey(MAIN))
+            throw new MicroRuntimeException(MicroErrorMessages.MissingMain);
+
+        functions.forEach(this::translate);
+        translateEntry();
+        return cf.toByteArray();
+    }
+
+    private static Signature signature(SymbolMap scope, Element.Type result) {
+        int n = scope == null ? 0 : scope.getNumParam();
+        Element.Type[] params = new Element.Type[n];
+        Arrays.fill(params, Element.Type.INT);
+        if (scope != null)
+            for (Element el : scope.values())
+                if (el.getCtx() == Element.Context.FPARAM)
+                    params[n - el.getCtxVal()] = el.getType();
+        return new Signature(params, result);
+    }
+
+    /**
+     * Type every function returns, the type of the first value it stores to
+     * $R. The result of a call is untyped in the IR, and the front end stores
+     * it with STOREF, so it takes the type its callee returns, found by going
+     * over the functions until none is left to type.
+     */
+    private static Map<String, Element.Type> returned(List<IR> functions) {
+        Map<String, Element.Type> results = new HashMap<>();
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (IR f : functions) {
+                if (results.containsKey(f.getFunction()))
+                    continue;
+                for (IR.Node n : f) {
+                    Element.Type t = n.isStore() && n.getFocus().isReturn() ? valueType(f, n.getOp1(), results) : null;
+                    if (t != null) {
+                        results.put(f.getFunction(), t);
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // Type of el, for an untyped temporary the type of the call result popped to it
+    private static Element.Type valueType(IR function, Element el, Map<String, Element.Type> results) {
+        if (el.getType() != null || el.getCtx() != Element.Context.TEMPORARY)
+            return el.getType();
+        for (int i = 0; i < function.size(); i++) {
+            IR.Node n = function.get(i);
+            if (n.getOpcode() == IR.Opcode.POP && n.getFocus() != null && n.getFocus().getRef().equals(el.getRef())) {
+                String callee = calleeOf(function, i);
+                return callee == null ? null : results.get(callee);
+            }
+        }
+        return null;
+    }
+
+    // Function called by the JSR ahead of the POP at pop, null when there is none
+    private static String calleeOf(IR function, int pop) {
+        for (int j = pop - 1; j >= 0; j--) {
+            IR.Node n = function.get(j);
+            if (n.getOpcode() == IR.Opcode.JSR)
+                return n.getFocus().getName();
+            if (n.getOpcode() != IR.Opcode.POP)
+                return null;
+        }
+        return null;
+    }
+
+    private void translateEntry() {
+        ClassFile.Method m = cf.addMethod(ACC_PUBLIC | ACC_STATIC, ENTRY, "(" + RUNTIME_DESCRIPTOR + ")V");
+        m.locals(1);
+        m.op(ALOAD_0, 1);
+        m.member(PUTSTATIC, cf.fieldRef(CLASS_NAME, RUNTIME_FIELD, RUNTIME_DESCRIPTOR), -1);
+        // Globals start at zero on every run, as Tiny variables do
+        for (Map.Entry<String, Element.Type> g : globals.entrySet()) {
+            if (g.getValue() == Element.Type.FLOAT)
+                m.loadFloat(0);
+            else
+                m.loadInt(0);
+            m.member(PUTSTATIC, cf.fieldRef(CLASS_NAME, g.getKey(), descriptor(g.getValue())), -1);
+        }
+        m.member(INVOKESTATIC, cf.methodRef(CLASS_NAME, MAIN, signatures.get(MAIN).descriptor()), 1 - signatures.get(MAIN).params.length);
+        m.op(POP, -1);
+        runtime(m);
+        m.member(INVOKEVIRTUAL, cf.methodRef(RUNTIME, "flush", "()V"), -1);
+        m.op(RETURN, 0);
+    }
+
+    private void translate(IR function) {
+        signature = signatures.get(function.getFunction());
+        method = cf.addMethod(ACC_PRIVATE | ACC_STATIC, function.getFunction(), signature.descriptor());
+        labels = new HashMap<>();
+        slots = new HashMap<>();
+        allocate(function);
+
+        for (int i = 0; i < function.size(); i++) {
+            IR.Node n = function.get(i);
+            switch (n.getOpcode()) {
+                case LABEL:
+                    if (i > 0)
+                        method.mark(label(n.getFocus()));
+                    break;
+                case LINK:
+                case PUSH:
+                case POP:
+                    // Calls are translated at their JSR
+                    break;
+                case JSR:
+                    call(function, i);
+                    break;
+                case JUMP:
+                    method.jump(GOTO, label(n.getFocus()), 0);
+                    break;
+                case RETURN:
+                    ret();
+                    break;
+                case STOREI:
+                case STOREF:
+                    load(n.getOp1(), type(n.getFocus()));
+                    store(n.getFocus(), type(n.getFocus()));
+                    break;
+                case READI:
+                    runtime(method);
+                    method.member(INVOKEVIRTUAL, cf.methodRef(RUNTIME, "readInt", "()I"), 0);
+                    store(n.getFocus(), Element.Type.INT);
+                    break;
+                case READF:
+                    runtime(method);
+                    method.member(INVOKEVIRTUAL, cf.methodRef(RUNTIME, "readFloat", "()F"), 0);
+                    store(n.getFocus(), Element.Type.FLOAT);
+                    break;
+                case WRITEI:
+                    runtime(method);
+                    load(n.getFocus(), Element.Type.INT);
+                    method.member(INVOKEVIRTUAL, cf.methodRef(RUNTIME, "writeInt", "(I)V"), -2);
+                    break;
+                case WRITEF:
+                    runtime(method);
+                    load(n.getFocus(), Element.Type.FLOAT);
+                    method.member(INVOKEVIRTUAL, cf.methodRef(RUNTIME, "writeFloat", "(F)V"), -2);
+                    break;
+                case WRITES:
+                    runtime(method);
+                    method.loadString(unquote(n.getFocus().getValue()));
+                    method.member(INVOKEVIRTUAL, cf.methodRef(RUNTIME, "write", "(Ljava/lang/String;)V"), -2);
+                    break;
+                default:
+                    if (n.isCalc())
+                        calc(n);
+                    else if (n.isConditional())
+                        branch(n);
+                    else
+                        throw new MicroRuntimeException(MicroErrorMessages.UnknownIRNodeType, n.toString());
+            }
+        }
+        // Functions falling off their end return what is in the return slot
+        ret();
+    }
+
+    /**
+     * Gives every local, temporary and the return value a JVM local after the
+     * parameters, typed by the first instruction writing it, and zeroes them
+     * so every read is of a definitely assigned local.
+     */
+    private void allocate(IR function) {
+        for (IR.Node n : function)
+            for (Element el : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() })
+                if (el != null && el.getCtx() == Element.Context.FPARAM)
+                    slots.put(el.getRef(), new Slot(signature.params.length - el.getCtxVal(), signature.params[signature.params.length - el.getCtxVal()]));
+
+        int next = signature.params.length;
+        for (int i = 0; i < function.size(); i++) {
+            IR.Node n = function.get(i);
+            Element el = n.getFocus();
+            if (el == null || slots.containsKey(el.getRef()))
+                continue;
+            if (el.getCtx() != Element.Context.FLOCAL && el.getCtx() != Element.Context.TEMPORARY)
+                continue;
+            boolean typed = el.getType() != null && !(n.isCalc() && el.getCtx() == Element.Context.TEMPORARY);
+            slots.put(el.getRef(), new Slot(next++, typed ? el.getType() : written(function, i)));
+        }
+        // Locals only read are still given a slot
+        for (IR.Node n : function)
+            for (Element el : new Element[] { n.getOp1(), n.getOp2() })
+                if (el != null && (el.getCtx() == Element.Context.FLOCAL || el.getCtx() == Element.Context.TEMPORARY) && !slots.containsKey(el.getRef()))
+                    slots.put(el.getRef(), new Slot(next++, el.getType() != null ? el.getType() : Element.Type.INT));
+        result = next++;
+        method.locals(next);
+
+        for (Slot s : slots.values())
+            if (s.index >= signature.params.length)
+                zero(s.index, s.type);
+        zero(result, signature.result);
+    }
+
+    private void zero(int index, Element.Type type) {
+        if (type == Element.Type.FLOAT) {
+            method.loadFloat(0);
+            method.local(FSTORE, index);
+        } else {
+            method.loadInt(0);
+            method.local(ISTORE, index);
+        }
+    }
+
+    // Type of the value node i of function writes to its focus
+    private Element.Type written(IR function, int i) {
+        IR.Node n = function.get(i);
+        switch (n.getOpcode()) {
+            case ADDF:
+            case SUBF:
+            case MULTF:
+            case DIVF:
+            case READF:
+                return Element.Type.FLOAT;
+            case STOREI:
+            case STOREF:
+                // Stores of call results are STOREF whatever the call returns
+                Element src = n.getOp1();
+                if (src.getType() != null)
+                    return src.getType();
+                return slots.containsKey(src.getRef()) ? slots.get(src.getRef()).type : Element.Type.INT;
+            case POP:
+                Signature callee = signatures.get(calleeOf(function, i));
+                return callee == null ? Element.Type.INT : callee.result;
+            case ADDI:
+            case SUBI:
+            case MULTI:
+                return ofFloatResults(n) ? Element.Type.FLOAT : Element.Type.INT;
+            default:
+                return Element.Type.INT;
+        }
+    }
+
+    private Signature callee(IR.Node jsr) {
+        Signature s = signatures.get(jsr.getFocus().getName());
+        if (s == null)
+            throw new MicroRuntimeException(MicroErrorMessages.UnableToFindBranchTarget, jsr.toString());
+        return s;
+    }
+
+    /**
+     * The JSR at index jsr with the PUSHes of its arguments ahead of it and
+     * the POP of its result after it.
+     */
+    private void call(IR function, int jsr) {
+        Signature callee = callee(function.get(jsr));
+        List<Element> args = new ArrayList<>();
+        for (int i = jsr - 1; i >= 0 && function.get(i).getOpcode() == IR.Opcode.PUSH && function.get(i).getFocus() != null; i--)
+            args.add(0, function.get(i).getFocus());
+        if (args.size() != callee.params.length)
+            throw new MicroRuntimeException(MicroErrorMessages.ArgumentCountMismatch, function.get(jsr).toString());
+        for (int j = 0; j < args.size(); j++)
+            load(args.get(j), callee.params[j]);
+        method.member(INVOKESTATIC, cf.methodRef(CLASS_NAME, function.get(jsr).getFocus().getName(), callee.descriptor()), 1 - args.size());
+
+        int pop = jsr + 1;
+        while (pop < function.size() && function.get(pop).getOpcode() == IR.Opcode.POP && function.get(pop).getFocus() == null)
+            pop++;
+        if (pop < function.size() && function.get(pop).getOpcode() == IR.Opcode.POP)
+            store(function.get(pop).getFocus(), callee.result);
+        else
+            method.op(POP, -1);
+    }
+
+    private void calc(IR.Node n) {
+        Element.Type type;
+        int opcode;
+        switch (n.getOpcode()) {
+            case ADDI: type = Element.Type.INT; opcode = IADD; break;
+            case SUBI: type = Element.Type.INT; opcode = ISUB; break;
+            case MULTI: type = Element.Type.INT; opcode = IMUL; break;
+            case DIVI: type = Element.Type.INT; opcode = IDIV; break;
+            case ADDF: type = Element.Type.FLOAT; opcode = FADD; break;
+            case SUBF: type = Element.Type.FLOAT; opcode = FSUB; break;
+            case MULTF: type = Element.Type.FLOAT; opcode = FMUL; break;
+            default: type = Element.Type.FLOAT; opcode = FDIV; break;
+        }
+        if (ofFloatResults(n)) {
+            type = Element.Type.FLOAT;
+            opcode += FADD - IADD;
+        }
+        load(n.getOp1(), type);
+        load(n.getOp2(), type);
+        method.op(opcode, -1);
+        store(n.getFocus(), type);
+    }
+
+    /**
+     * Whether n is integer addition, subtraction or multiplication of a
+     * temporary holding a float, as a call result is. The front end types
+     * these by their untyped operands, and Tiny computes them on the float
+     * side as well, which is the one a STOREF of the result reads.
+     */
+    private boolean ofFloatResults(IR.Node n) {
+        if (n.getOpcode() != IR.Opcode.ADDI && n.getOpcode() != IR.Opcode.SUBI && n.getOpcode() != IR.Opcode.MULTI)
+            return false;
+        for (Element el : new Element[] { n.getOp1(), n.getOp2() })
+            if (el.getCtx() == Element.Context.TEMPORARY && slots.containsKey(el.getRef()) && slots.get(el.getRef()).type == Element.Type.FLOAT)
+                return true;
+        return false;
+    }
+
+    // Jumps when op1 compares to op2 as the opcode says, as floats when either is one
+    private void branch(IR.Node n) {
+        int target = label(n.getFocus());
+        boolean real = type(n.getOp1()) == Element.Type.FLOAT || type(n.getOp2()) == Element.Type.FLOAT;
+        Element.Type type = real ? Element.Type.FLOAT : Element.Type.INT;
+        load(n.getOp1(), type);
+        load(n.getOp2(), type);
+        if (!real) {
+            method.jump(compare(n.getOpcode()) - IFEQ + IF_ICMPEQ, target, 2);
+            return;
+        }
+        // NaN compares false except for NE, as in Tiny
+        boolean less = n.getOpcode() == IR.Opcode.LT || n.getOpcode() == IR.Opcode.LE;
+        method.op(less ? FCMPG : FCMPL, -1);
+        method.jump(compare(n.getOpcode()), target, 1);
+    }
+
+    // The IF instruction jumping on op, its IF_ICMP sits at the same offset from IF_ICMPEQ
+    private static int compare(IR.Opcode op) {
+        switch (op) {
+            case GT: return IFGT;
+            case GE: return IFGE;
+            case LT: return IFLT;
+            case LE: return IFLE;
+            case NE: return IFNE;
+            default: return IFEQ;
+        }
+    }
+
+    private void ret() {
+        if (signature.result == Element.Type.FLOAT) {
+            method.local(FLOAD, result);
+            method.op(FRETURN, -1);
+        } else {
+            method.local(ILOAD, result);
+            method.op(IRETURN, -1);
+        }
+    }
+
+    // Pushes the value of el as type
+    private void load(Element el, Element.Type type) {
+        switch (el.getCtx()) {
+            case CONSTANT:
+                float f = (float) Double.parseDouble(el.getValue());
+                if (type == Element.Type.FLOAT)
+                    method.loadFloat(f);
+                else
+                    method.loadInt(TinySimulator.toInt(f));
+                return;
+            case VARIABLE:
+                method.member(GETSTATIC, cf.fieldRef(CLASS_NAME, el.getName(), descriptor(globals.get(el.getName()))), 1);
+                break;
+            case RETURN:
+                method.local(signature.result == Element.Type.FLOAT ? FLOAD : ILOAD, result);
+                break;
+            default:
+                Slot s = slot(el);
+                method.local(s.type == Element.Type.FLOAT ? FLOAD : ILOAD, s.index);
+        }
+        convert(type(el), type);
+    }
+
+    // Pops a value of type into el
+    private void store(Element el, Element.Type type) {
+        convert(type, type(el));
+        switch (el.getCtx()) {
+            case VARIABLE:
+                method.member(PUTSTATIC, cf.fieldRef(CLASS_NAME, el.getName(), descriptor(globals.get(el.getName()))), -1);
+                break;
+            case RETURN:
+                method.local(signature.result == Element.Type.FLOAT ? FSTORE : ISTORE, result);
+                break;
+            default:
+                Slot s = slot(el);
+                method.local(s.type == Element.Type.FLOAT ? FSTORE : ISTORE, s.index);
+        }
+    }
+
+    private void convert(Element.Type from, Element.Type to) {
+        if (from == Element.Type.INT && to == Element.Type.FLOAT)
+            method.op(I2F, 0);
+        else if (from == Element.Type.FLOAT && to == Element.Type.INT)
+            method.op(F2I, 0);
+    }
+
+    // Type el holds on the JVM
+    private Element.Type type(Element el) {
+        switch (el.getCtx()) {
+            case CONSTANT:
+                return el.getType();
+            case VARIABLE:
+                return globals.get(el.getName());
+            case RETURN:
+                return signature.result;
+            default:
+                return slot(el).type;
+        }
+    }
+
+    private Slot slot(Element el) {
+        Slot s = slots.get(el.getRef());
+        if (s == null)
+            throw new MicroRuntimeException(MicroErrorMessages.UnknownVariableContext, el.toString());
+        return s;
+    }
+
+    private int label(Element el) {
+        return labels.computeIfAbsent(el.getName(), l -> method.newLabel());
+    }
+
+    private void runtime(ClassFile.Method m) {
+        m.member(GETSTATIC, cf.fieldRef(CLASS_NAME, RUNTIME_FIELD, RUNTIME_DESCRIPTOR), 1);
+    }
+
+    private static String descriptor(Element.Type type) {
+        return type == Element.Type.FLOAT ? "F" : "I";
+    }
+
+    // Tiny only knows the \n escape
+    private static String unquote(String literal) {
+        return literal.substring(1, literal.length() - 1).replace("\\n", "\n");
+    }
+
+}
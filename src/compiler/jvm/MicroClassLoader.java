@@ -0,0 +1,43 @@
+package compiler.jvm;
+
+import compiler.MicroRuntimeException;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Loads a program translated by JvmTranslator. Every program gets a loader
+ * of its own, so programs sharing the class name never meet and a program's
+ * class is unloaded with its loader.
+ */
+public final class MicroClassLoader extends ClassLoader {
+
+    private final Method entry;
+
+    public MicroClassLoader(byte[] classFile) {
+        super(MicroClassLoader.class.getClassLoader());
+        Class<?> program = defineClass(JvmTranslator.CLASS_NAME, classFile, 0, classFile.length);
+        try {
+            entry = program.getMethod(JvmTranslator.ENTRY, MicroRuntime.class);
+        } catch (NoSuchMethodException e) {
+            throw new MicroRuntimeException(e);
+        }
+    }
+
+    /**
+     * Runs main of the program, reading from in and writing to out.
+     */
+    public void run(Reader in, Writer out) {
+        try {
+            entry.invoke(null, new MicroRuntime(in, out));
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof MicroRuntimeException
+                    ? (MicroRuntimeException) e.getCause() : new MicroRuntimeException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new MicroRuntimeException(e);
+        }
+    }
+
+}
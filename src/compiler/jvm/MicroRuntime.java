@@ -0,0 +1,66 @@
+package compiler.jvm;
+
+import compiler.MicroRuntimeException;
+import compiler.tiny.TinyInput;
+import compiler.tiny.TinySimulator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Input and output of a Micro program running on the JVM, reading and
+ * printing numbers exactly as Tiny does so both back ends agree on output.
+ * Generated code calls it through a static field of the program class.
+ */
+public final class MicroRuntime {
+
+    private final TinyInput in;
+    private final Writer out;
+
+    public MicroRuntime(Reader in, Writer out) {
+        this.in = new TinyInput(in);
+        this.out = out;
+    }
+
+    public int readInt() {
+        try {
+            return in.readInt();
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+    }
+
+    public float readFloat() {
+        try {
+            return in.readFloat();
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+    }
+
+    public void writeInt(int value) {
+        write(Integer.toString(value));
+    }
+
+    public void writeFloat(float value) {
+        write(TinySimulator.format(value));
+    }
+
+    public void write(String s) {
+        try {
+            out.write(s);
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.Constant;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Rewrites arithmetic with an identity operand into a copy.
+ *
+ * x + 0, x - 0, x * 1 and x / 1 copy x, x * 0 and x - x store 0. Operands
+ * count as constant when they are literals or temporaries written once, by
+ * a literal. Floats only drop multiplications and divisions by one, the
+ * others differ for NaN or negative zero. The copies are left to copy
+ * propagation and DCE.
+ */
+final class AlgebraicSimplification implements Optimization {
+
+    private int simplified;
+
+    @Override
+    public IR apply(IR function) {
+        Set<String> once = singleDefTemporaries(function).keySet();
+        Map<String, Double> constants = constantTemporaries(function);
+        List<IR.Node> nodes = new ArrayList<>(function.size());
+        for (IR.Node n : function) {
+            IR.Node simple = n.isCalc() ? simplify(n, constants) : null;
+            if (simple != null) {
+                simplified++;
+                // A temporary now holding a constant simplifies the code reading it
+                Double v = valueOf(simple.getOp1(), constants);
+                if (v != null && once.contains(n.getFocus().getRef()))
+                    constants.put(n.getFocus().getRef(), v);
+            }
+            nodes.add(simple != null ? simple : n);
+        }
+        return function.rebuild(nodes);
+    }
+
+    // Temporaries whose only write stores a literal
+    static Map<String, Double> constantTemporaries(IR function) {
+        Map<String, Double> constants = new HashMap<>();
+        for (Map.Entry<String, IR.Node> def : singleDefTemporaries(function).entrySet()) {
+            IR.Node n = def.getValue();
+            if (n.isStore() && n.getOp1().isConstant())
+                constants.put(def.getKey(), Double.parseDouble(n.getOp1().getValue()));
+        }
+        return constants;
+    }
+
+    // Temporaries written exactly once, with the node writing them
+    private static Map<String, IR.Node> singleDefTemporaries(IR function) {
+        Map<String, IR.Node> defs = new HashMap<>();
+        Set<String> written = new HashSet<>();
+        for (IR.Node n : function) {
+            Element focus = n.getFocus();
+            if (focus == null || focus.getCtx() != Element.Context.TEMPORARY || n.getKill().isEmpty())
+                continue;
+            if (written.add(focus.getRef()))
+                defs.put(focus.getRef(), n);
+            else
+                defs.remove(focus.getRef());
+        }
+        return defs;
+    }
+
+    static Double valueOf(Element el, Map<String, Double> constants) {
+        if (el.isConstant())
+            return Double.parseDouble(el.getValue());
+        return constants.get(el.getRef());
+    }
+
+    private static IR.Node simplify(IR.Node n, Map<String, Double> constants) {
+        Element a = n.getOp1(), b = n.getOp2(), focus = n.getFocus();
+        Double x = valueOf(a, constants), y = valueOf(b, constants);
+        if (x != null && y != null)
+            return null;
+
+        IR.Opcode store = focus.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF;
+        switch (n.getOpcode()) {
+            case ADDI:
+                if (is(y, 0))
+                    return new IR.Node(store, a, focus);
+                if (is(x, 0))
+                    return new IR.Node(store, b, focus);
+                return null;
+            case SUBI:
+                if (is(y, 0))
+                    return new IR.Node(store, a, focus);
+                if (x == null && y == null && a.getRef().equals(b.getRef()))
+                    return new IR.Node(store, Constant.valueOf(0), focus);
+                return null;
+            case MULTI:
+                if (is(x, 0) || is(y, 0))
+                    return new IR.Node(store, Constant.valueOf(0), focus);
+                return multiplyByOne(n, x, y, store);
+            case MULTF:
+                return multiplyByOne(n, x, y, store);
+            case DIVI:
+            case DIVF:
+                return is(y, 1) ? new IR.Node(store, a, focus) : null;
+            default:
+                return null;
+        }
+    }
+
+    // x * 1 and 1 * x, for floats too since the product is exact
+    private static IR.Node multiplyByOne(IR.Node n, Double x, Double y, IR.Opcode store) {
+        if (is(y, 1))
+            return new IR.Node(store, n.getOp1(), n.getFocus());
+        if (is(x, 1))
+            return new IR.Node(store, n.getOp2(), n.getFocus());
+        return null;
+    }
+
+    private static boolean is(Double v, double c) {
+        return v != null && v == c;
+    }
+
+    @Override
+    public String toString() {
+        return simplified + " simplified";
+    }
+
+}
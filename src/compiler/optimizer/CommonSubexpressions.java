@@ -0,0 +1,146 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.analysis.AvailableExpressions;
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.element.Element;
+import compiler.element.Link;
+import compiler.element.Temporary;
+
+import java.util.*;
+
+/**
+ * Removes arithmetic that recomputes a value already at hand.
+ *
+ * Within a block, value numbering gives every element and every
+ * computation a number, with copies sharing the number of their source, so
+ * a computation whose operands carry the numbers of an earlier one becomes a
+ * copy of whatever still holds that result. Across blocks, an expression
+ * that is available where it is computed again is kept in a new temporary:
+ * every computation of it that reaches further writes the temporary first,
+ * and the redundant ones copy from it. The frame grows by the temporaries
+ * added.
+ */
+final class CommonSubexpressions implements Optimization {
+
+    private int local;
+    private int global;
+
+    @Override
+    public IR apply(IR function) {
+        IR numbered = function.rebuild(numberValues(function));
+        return numbered.rebuild(eliminateGlobally(numbered));
+    }
+
+    private List<IR.Node> numberValues(IR function) {
+        Set<String> globals = new HashSet<>();
+        function.getGlobalSymbolMap().values().forEach(g -> globals.add(g.getRef()));
+        List<IR.Node> nodes = new ArrayList<>(function.size());
+        for (BasicBlock block : new ControlFlowGraph(function).getBlocks()) {
+            Map<String, Integer> numbers = new HashMap<>();
+            Map<String, Integer> computed = new HashMap<>();
+            Map<Integer, Element> holders = new HashMap<>();
+            int[] next = { 0 };
+
+            for (IR.Node n : block.getNodes()) {
+                IR.Opcode opcode = n.getOpcode();
+                Element focus = n.getFocus();
+                if (n.isCalc()) {
+                    int a = number(n.getOp1(), numbers, next), b = number(n.getOp2(), numbers, next);
+                    String key = n.isCommutative() && a > b ? opcode + " " + b + " " + a : opcode + " " + a + " " + b;
+                    Integer v = computed.get(key);
+                    Element holder = v == null ? null : holders.get(v);
+                    if (holder != null && v.equals(numbers.get(holder.getRef()))) {
+                        local++;
+                        nodes.add(new IR.Node(focus.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF, holder, focus));
+                    } else {
+                        v = next[0]++;
+                        computed.put(key, v);
+                        nodes.add(n);
+                    }
+                    assign(focus, v, numbers, holders);
+                    continue;
+                }
+
+                nodes.add(n);
+                if (n.isStore())
+                    assign(focus, number(n.getOp1(), numbers, next), numbers, holders);
+                else if (opcode == IR.Opcode.JSR)
+                    numbers.keySet().removeIf(globals::contains);
+                else
+                    n.getKill().stream().forEach(i -> numbers.remove(n.getUniverse().get(i).getRef()));
+            }
+        }
+        return nodes;
+    }
+
+    private List<IR.Node> eliminateGlobally(IR function) {
+        ControlFlowGraph cfg = new ControlFlowGraph(function);
+        AvailableExpressions available = AvailableExpressions.analyze(cfg);
+
+        // Redundant computations, and the computations whose result reaches further
+        Set<IR.Node> redundant = new HashSet<>();
+        Map<IR.Node, Integer> reaching = new HashMap<>();
+        BitSet needed = new BitSet();
+        for (BasicBlock block : cfg.getBlocks()) {
+            BitSet avail = available.getIn(block.getId());
+            for (IR.Node n : block.getNodes()) {
+                int e = available.indexOf(n);
+                if (e >= 0 && avail.get(e)) {
+                    redundant.add(n);
+                    needed.set(e);
+                }
+                available.step(n, avail);
+                if (e >= 0 && avail.get(e) && !redundant.contains(n))
+                    reaching.put(n, e);
+            }
+        }
+        if (redundant.isEmpty())
+            return new ArrayList<>(function);
+
+        Link link = (Link) function.get(1).getFocus();
+        Map<Integer, Temporary> holders = new HashMap<>();
+        List<IR.Node> nodes = new ArrayList<>(function.size() + needed.cardinality());
+        for (IR.Node n : function) {
+            Element focus = n.getFocus();
+            IR.Opcode store = focus != null && focus.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF;
+            int e = available.indexOf(n);
+            if (n.getOpcode() == IR.Opcode.LINK) {
+                nodes.add(new IR.Node(IR.Opcode.LINK, new Link(link.getNumLocal(), link.getNumTemp() + needed.cardinality())));
+            } else if (redundant.contains(n)) {
+                global++;
+                nodes.add(new IR.Node(store, holder(holders, e, focus, link.getNumTemp() + holders.size()), focus));
+            } else if (reaching.containsKey(n) && needed.get(e)) {
+                Temporary t = holder(holders, e, focus, link.getNumTemp() + holders.size());
+                nodes.add(new IR.Node(n.getOpcode(), n.getOp1(), n.getOp2(), t));
+                nodes.add(new IR.Node(store, t, focus));
+            } else {
+                nodes.add(n);
+            }
+        }
+        return nodes;
+    }
+
+    private static Temporary holder(Map<Integer, Temporary> holders, int e, Element focus, int number) {
+        return holders.computeIfAbsent(e, k -> new Temporary(number, focus.getType()));
+    }
+
+    private static int number(Element el, Map<String, Integer> numbers, int[] next) {
+        String ref = el.isConstant() ? "#" + el.getType() + el.getRef() : el.getRef();
+        return numbers.computeIfAbsent(ref, r -> next[0]++);
+    }
+
+    private static void assign(Element focus, int v, Map<String, Integer> numbers, Map<Integer, Element> holders) {
+        numbers.put(focus.getRef(), v);
+        Element holder = holders.get(v);
+        if (holder == null || !Integer.valueOf(v).equals(numbers.get(holder.getRef())))
+            holders.put(v, focus);
+    }
+
+    @Override
+    public String toString() {
+        return local + " local, " + global + " global";
+    }
+
+}
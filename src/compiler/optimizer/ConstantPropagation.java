@@ -0,0 +1,364 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.VariableUniverse;
+import compiler.element.Constant;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Sparse conditional constant propagation, after Wegman and Zadeck, over the
+ * basic blocks of one function.
+ *
+ * Every element starts out undefined and only moves down to a constant and
+ * then to unknown, while blocks only become executable once an executable
+ * edge reaches them. Comparisons on constants then take one edge, so code
+ * behind a branch that is never taken neither runs nor spoils the values
+ * after it. The rewrite folds arithmetic into stores, puts known values in
+ * the operands Tiny takes as literals, turns decided branches into a JUMP or
+ * nothing and drops the blocks that never run.
+ *
+ * Values follow Tiny: floats are single precision, and an int literal only
+ * reads back exactly up to 2^24 since the simulator parses it as a float.
+ */
+final class ConstantPropagation implements Optimization {
+
+    private static final int EXACT_INT = 1 << 24;
+
+    /**
+     * A value in the lattice: an int or float constant, or BOTTOM when it is
+     * unknown at run time. Undefined is null. The accessors only answer for
+     * a constant of their type, so BOTTOM can never be folded as a number.
+     */
+    private static final class Value {
+
+        static final Value BOTTOM = new Value(null);
+
+        // Integer or Float, null for BOTTOM
+        private final Number constant;
+
+        private Value(Number constant) {
+            this.constant = constant;
+        }
+
+        static Value of(int i) {
+            return new Value(i);
+        }
+
+        static Value of(float f) {
+            return new Value(f);
+        }
+
+        boolean isConstant() {
+            return constant != null;
+        }
+
+        boolean isInt() {
+            return constant instanceof Integer;
+        }
+
+        boolean isFloat() {
+            return constant instanceof Float;
+        }
+
+        int intValue() {
+            if (!isInt())
+                throw new IllegalStateException("not an int constant: " + this);
+            return constant.intValue();
+        }
+
+        float floatValue() {
+            if (!isFloat())
+                throw new IllegalStateException("not a float constant: " + this);
+            return constant.floatValue();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Value && Objects.equals(constant, ((Value) o).constant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(constant);
+        }
+
+        @Override
+        public String toString() {
+            return isConstant() ? constant.toString() : "BOTTOM";
+        }
+
+    }
+
+    private int folded;
+    private int branches;
+    private int removed;
+
+    @Override
+    public IR apply(IR function) {
+        ControlFlowGraph cfg = new ControlFlowGraph(function);
+        VariableUniverse universe = function.get(function.size() - 1).getUniverse();
+        int n = cfg.size();
+        Value[][] in = new Value[n][];
+        Value[][] out = new Value[n][];
+        boolean[][] taken = new boolean[n][];
+        for (BasicBlock b : cfg.getBlocks())
+            taken[b.getId()] = new boolean[b.getSuccessors().length];
+
+        Deque<Integer> work = new ArrayDeque<>();
+        boolean[] queued = new boolean[n];
+        work.add(0);
+        queued[0] = true;
+        while (!work.isEmpty()) {
+            int b = work.poll();
+            queued[b] = false;
+            BasicBlock block = cfg.getBlock(b);
+
+            Value[] state = new Value[universe.size()];
+            if (b == 0)
+                Arrays.fill(state, Value.BOTTOM);
+            for (int p : block.getPredecessors())
+                if (isTaken(cfg, taken, p, b))
+                    meet(state, out[p]);
+            in[b] = state.clone();
+
+            for (IR.Node node : block.getNodes())
+                transfer(node, state, universe);
+            boolean changed = out[b] == null || !Arrays.equals(out[b], state);
+            out[b] = state;
+
+            boolean[] edges = feasible(cfg, block, state, universe);
+            for (int i = 0; i < edges.length; i++) {
+                int s = block.getSuccessors()[i];
+                boolean first = edges[i] && !taken[b][i];
+                taken[b][i] |= edges[i];
+                if ((first || (changed && taken[b][i])) && !queued[s]) {
+                    work.add(s);
+                    queued[s] = true;
+                }
+            }
+        }
+
+        List<IR.Node> nodes = new ArrayList<>(function.size());
+        for (BasicBlock block : cfg.getBlocks()) {
+            if (in[block.getId()] == null) {
+                removed += block.getNodes().size();
+                continue;
+            }
+            Value[] state = in[block.getId()];
+            for (IR.Node node : block.getNodes()) {
+                rewrite(node, state, universe, nodes);
+                transfer(node, state, universe);
+            }
+        }
+
+        return function.rebuild(nodes);
+    }
+
+    private static boolean isTaken(ControlFlowGraph cfg, boolean[][] taken, int from, int to) {
+        int[] succ = cfg.getSuccessors(from);
+        for (int i = 0; i < succ.length; i++)
+            if (succ[i] == to && taken[from][i])
+                return true;
+        return false;
+    }
+
+    private static void meet(Value[] state, Value[] other) {
+        for (int i = 0; i < state.length; i++) {
+            if (state[i] == null)
+                state[i] = other[i];
+            else if (other[i] != null && !state[i].equals(other[i]))
+                state[i] = Value.BOTTOM;
+        }
+    }
+
+    // Successor edges of block that can be taken given the state at its end
+    private static boolean[] feasible(ControlFlowGraph cfg, BasicBlock block, Value[] state, VariableUniverse universe) {
+        int[] succ = block.getSuccessors();
+        boolean[] edges = new boolean[succ.length];
+        IR.Node last = block.getLast();
+        // A branch to the next block goes there either way
+        if (!last.isConditional() || succ.length == 1) {
+            Arrays.fill(edges, true);
+            return edges;
+        }
+
+        Boolean jumps = decide(last, state, universe);
+        if (jumps == null && (value(last.getOp1(), state, universe) == null || value(last.getOp2(), state, universe) == null))
+            return edges;
+        for (int i = 0; i < succ.length; i++) {
+            boolean target = isTarget(cfg.getBlock(succ[i]), last);
+            edges[i] = jumps == null || jumps == target;
+        }
+        return edges;
+    }
+
+    private static boolean isTarget(BasicBlock block, IR.Node branch) {
+        IR.Node first = block.getFirst();
+        return first.getOpcode() == IR.Opcode.LABEL && first.getFocus().getName().equals(branch.getFocus().getName());
+    }
+
+    private static void transfer(IR.Node node, Value[] state, VariableUniverse universe) {
+        IR.Opcode opcode = node.getOpcode();
+        if (opcode == IR.Opcode.JSR) {
+            // The callee may write any global
+            universe.getGlobals().stream().forEach(i -> state[i] = Value.BOTTOM);
+            return;
+        }
+
+        BitSet kill = node.getKill();
+        if (kill.isEmpty())
+            return;
+        int focus = universe.indexOf(node.getFocus());
+        if (node.isStore())
+            state[focus] = typed(value(node.getOp1(), state, universe), opcode == IR.Opcode.STOREF);
+        else if (node.isCalc())
+            state[focus] = fold(opcode, value(node.getOp1(), state, universe), value(node.getOp2(), state, universe));
+        else
+            kill.stream().forEach(i -> state[i] = Value.BOTTOM);
+    }
+
+    private void rewrite(IR.Node node, Value[] state, VariableUniverse universe, List<IR.Node> nodes) {
+        IR.Opcode opcode = node.getOpcode();
+        Element op1 = node.getOp1(), op2 = node.getOp2(), focus = node.getFocus();
+
+        if (node.isConditional()) {
+            Boolean jumps = decide(node, state, universe);
+            if (jumps != null) {
+                branches++;
+                if (jumps)
+                    nodes.add(new IR.Node(IR.Opcode.JUMP, focus));
+                return;
+            }
+            // Tiny compares a literal against a register, never the reverse
+            nodes.add(new IR.Node(opcode, literal(op1, state, universe), op2, focus));
+            return;
+        }
+
+        if (node.isStore()) {
+            nodes.add(new IR.Node(opcode, literal(op1, state, universe), focus));
+            return;
+        }
+
+        if (node.isCalc()) {
+            Element result = literal(fold(opcode, value(op1, state, universe), value(op2, state, universe)));
+            if (result != null) {
+                folded++;
+                nodes.add(new IR.Node(result.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF, result, focus));
+                return;
+            }
+            // The first operand has to be in a register, constants go second
+            Element a = literal(op1, state, universe);
+            if (a.isConstant() && node.isCommutative() && !op2.isConstant()) {
+                nodes.add(new IR.Node(opcode, op2, a, focus));
+                return;
+            }
+            nodes.add(new IR.Node(opcode, op1, literal(op2, state, universe), focus));
+            return;
+        }
+
+        if (opcode == IR.Opcode.PUSH && focus != null) {
+            nodes.add(new IR.Node(opcode, literal(focus, state, universe)));
+            return;
+        }
+
+        nodes.add(new IR.Node(opcode, op1, op2, focus));
+    }
+
+    // Whether a comparison jumps, null when that is not known
+    private static Boolean decide(IR.Node node, Value[] state, VariableUniverse universe) {
+        Value a = value(node.getOp1(), state, universe), b = value(node.getOp2(), state, universe);
+        if (!isKnown(a) || !isKnown(b) || a.isInt() != b.isInt())
+            return null;
+
+        int c = a.isInt() ? Integer.compare(a.intValue(), b.intValue()) : Float.compare(a.floatValue(), b.floatValue());
+        switch (node.getOpcode()) {
+            case GT:
+                return c > 0;
+            case GE:
+                return c >= 0;
+            case LT:
+                return c < 0;
+            case LE:
+                return c <= 0;
+            case NE:
+                return c != 0;
+            default:
+                return c == 0;
+        }
+    }
+
+    private static Value fold(IR.Opcode opcode, Value a, Value b) {
+        if (a == null || b == null)
+            return null;
+        if (!isKnown(a) || !isKnown(b))
+            return Value.BOTTOM;
+
+        switch (opcode) {
+            case ADDI:
+            case SUBI:
+            case MULTI:
+            case DIVI:
+                if (!a.isInt() || !b.isInt())
+                    return Value.BOTTOM;
+                int x = a.intValue(), y = b.intValue();
+                if (opcode == IR.Opcode.DIVI && y == 0)
+                    return Value.BOTTOM;
+                return Value.of(opcode == IR.Opcode.ADDI ? x + y : opcode == IR.Opcode.SUBI ? x - y : opcode == IR.Opcode.MULTI ? x * y : x / y);
+            default:
+                if (!a.isFloat() || !b.isFloat())
+                    return Value.BOTTOM;
+                float f = a.floatValue(), g = b.floatValue();
+                float r = opcode == IR.Opcode.ADDF ? f + g : opcode == IR.Opcode.SUBF ? f - g : opcode == IR.Opcode.MULTF ? f * g : f / g;
+                return Float.isFinite(r) ? Value.of(r) : Value.BOTTOM;
+        }
+    }
+
+    // Value of el before the node being looked at
+    private static Value value(Element el, Value[] state, VariableUniverse universe) {
+        if (el == null)
+            return Value.BOTTOM;
+        if (el.isConstant()) {
+            if (el.isInt()) {
+                long v = Long.parseLong(el.getValue());
+                return v >= -EXACT_INT && v <= EXACT_INT ? Value.of((int) v) : Value.BOTTOM;
+            }
+            return Value.of(Float.parseFloat(el.getValue()));
+        }
+        int i = universe.indexOf(el);
+        return i < 0 ? Value.BOTTOM : state[i];
+    }
+
+    private static Value typed(Value v, boolean isFloat) {
+        if (!isKnown(v))
+            return v;
+        return v.isFloat() == isFloat ? v : Value.BOTTOM;
+    }
+
+    // el, or the literal it is known to hold
+    private static Element literal(Element el, Value[] state, VariableUniverse universe) {
+        Element c = literal(value(el, state, universe));
+        return c == null ? el : c;
+    }
+
+    private static Element literal(Value v) {
+        if (!isKnown(v))
+            return null;
+        if (v.isInt())
+            return v.intValue() >= -EXACT_INT && v.intValue() <= EXACT_INT ? Constant.valueOf(v.intValue()) : null;
+        return Constant.valueOf(v.floatValue());
+    }
+
+    private static boolean isKnown(Value v) {
+        return v != null && v.isConstant();
+    }
+
+    @Override
+    public String toString() {
+        return folded + " folded, " + branches + " branches decided, " + removed + " unreachable nodes";
+    }
+
+}
@@ -0,0 +1,175 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.analysis.AvailableCopies;
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Liveness;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Reads the source of a copy instead of its destination, and computes
+ * temporaries straight into the variable they are copied to.
+ *
+ * A temporary that is written, copied into a variable in the same block and
+ * dead after the copy is coalesced: the write targets the variable and the
+ * copy goes, as long as nothing in between touches either. The return slot
+ * only takes coalesced stores, since allocators write it to memory on
+ * stores alone. Then every read of an element that is known to hold the
+ * same value as another, through the copies available there, reads the
+ * source instead, which leaves most copies dead for DCE. Rounds repeat until
+ * nothing changes.
+ */
+final class CopyPropagation implements Optimization {
+
+    private int coalesced;
+    private int propagated;
+
+    @Override
+    public IR apply(IR function) {
+        IR ir = function;
+        boolean changed = true;
+        while (changed) {
+            int before = coalesced + propagated;
+            ir = ir.rebuild(coalesce(ir));
+            ir = ir.rebuild(propagate(ir));
+            changed = coalesced + propagated > before;
+        }
+        return ir;
+    }
+
+    private List<IR.Node> coalesce(IR function) {
+        ControlFlowGraph cfg = new ControlFlowGraph(function);
+        Liveness.analyze(cfg);
+        List<IR.Node> nodes = new ArrayList<>(function.size());
+        for (BasicBlock block : cfg.getBlocks()) {
+            List<IR.Node> code = new ArrayList<>(block.getNodes());
+            for (int i = 0; i < code.size(); i++) {
+                IR.Node copy = code.get(i);
+                if (copy != block.getNodes().get(i) || !isCoalescable(copy))
+                    continue;
+                int def = findDef(code, i);
+                if (def < 0)
+                    continue;
+
+                IR.Node d = code.get(def);
+                Element target = copy.getFocus();
+                coalesced++;
+                code.set(i, null);
+                if (d.isStore() && d.getOp1().getRef().equals(target.getRef()))
+                    code.set(def, null);
+                else
+                    code.set(def, new IR.Node(d.getOpcode(), d.getOp1(), d.getOp2(), target));
+            }
+            code.stream().filter(Objects::nonNull).forEach(nodes::add);
+        }
+        return nodes;
+    }
+
+    // A copy out of a temporary that nothing reads after, results of a POP
+    // carry no type
+    private static boolean isCoalescable(IR.Node n) {
+        return n.isStore() && n.getOp1().getCtx() == Element.Context.TEMPORARY
+                && !n.getOp1().getRef().equals(n.getFocus().getRef()) && !n.isElementLive(n.getOp1());
+    }
+
+    // The write of the temporary copied at i, -1 when it cannot be redirected
+    private static int findDef(List<IR.Node> code, int i) {
+        Element temp = code.get(i).getOp1(), target = code.get(i).getFocus();
+        for (int j = i - 1; j >= 0; j--) {
+            IR.Node n = code.get(j);
+            if (n == null)
+                continue;
+            if (n.getFocus() != null && n.getFocus().getRef().equals(temp.getRef()) && writes(n)) {
+                if (target.isReturn() && !n.isStore())
+                    return -1;
+                if (n.getOpcode() != IR.Opcode.POP && temp.getType() != target.getType())
+                    return -1;
+                return j;
+            }
+            if (refers(n, temp) || refers(n, target))
+                return -1;
+        }
+        return -1;
+    }
+
+    private static boolean writes(IR.Node n) {
+        switch (n.getOpcode()) {
+            case POP:
+            case READI:
+            case READF:
+                return true;
+            default:
+                return n.isStore() || n.isCalc();
+        }
+    }
+
+    private static boolean refers(IR.Node n, Element el) {
+        for (Element op : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() })
+            if (op != null && !op.isConstant() && op.getRef().equals(el.getRef()))
+                return true;
+        return false;
+    }
+
+    private List<IR.Node> propagate(IR function) {
+        ControlFlowGraph cfg = new ControlFlowGraph(function);
+        AvailableCopies available = AvailableCopies.analyze(cfg);
+        List<IR.Node> nodes = new ArrayList<>(function.size());
+        for (BasicBlock block : cfg.getBlocks()) {
+            BitSet avail = available.getIn(block.getId());
+            for (IR.Node n : block.getNodes()) {
+                IR.Node replaced = replaceUses(n, available, avail);
+                // A copy of an element into itself goes
+                if (!replaced.isStore() || !replaced.getOp1().getRef().equals(replaced.getFocus().getRef()))
+                    nodes.add(replaced);
+                available.step(n, avail);
+            }
+        }
+        return nodes;
+    }
+
+    private IR.Node replaceUses(IR.Node n, AvailableCopies available, BitSet avail) {
+        Element op1 = n.getOp1(), op2 = n.getOp2(), focus = n.getFocus();
+        switch (n.getOpcode()) {
+            case PUSH:
+            case WRITEI:
+            case WRITEF:
+                focus = source(focus, available, avail);
+                break;
+            default:
+                if (n.isCalc() || n.isConditional()) {
+                    op1 = source(op1, available, avail);
+                    op2 = source(op2, available, avail);
+                } else if (n.isStore()) {
+                    op1 = source(op1, available, avail);
+                }
+        }
+        if (op1 == n.getOp1() && op2 == n.getOp2() && focus == n.getFocus())
+            return n;
+        return new IR.Node(n.getOpcode(), op1, op2, focus);
+    }
+
+    // Oldest element known to hold the value of el
+    private Element source(Element el, AvailableCopies available, BitSet avail) {
+        if (el == null || el.isConstant())
+            return el;
+        Element from = el;
+        for (int hops = 0; hops < available.size(); hops++) {
+            Element next = available.getSource(from, avail);
+            if (next == null)
+                break;
+            from = next;
+        }
+        if (from != el)
+            propagated++;
+        return from;
+    }
+
+    @Override
+    public String toString() {
+        return coalesced + " coalesced, " + propagated + " propagated";
+    }
+
+}
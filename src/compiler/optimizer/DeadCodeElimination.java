@@ -0,0 +1,126 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Liveness;
+
+import java.util.*;
+
+/**
+ * Removes code that cannot run or whose result is never read.
+ *
+ * Each round drops the blocks the CFG cannot reach from the function entry,
+ * jumps and branches to the label right after them and labels nothing jumps
+ * to, then solves liveness and drops arithmetic and stores into elements
+ * that are dead right after. A POP into a dead element keeps the pop but not
+ * the element. Rounds repeat until nothing changes, since a removed store can
+ * leave the stores feeding it dead in turn. Stores into the return slot are
+ * read by the caller and always stay.
+ */
+final class DeadCodeElimination implements Optimization {
+
+    private int before;
+    private int after;
+    private int unreachable;
+    private int dead;
+    // Branches to the next node and labels nothing branches to
+    private int jumps;
+
+    @Override
+    public IR apply(IR function) {
+        before = function.size();
+        List<IR.Node> nodes = new ArrayList<>(function);
+        boolean changed = true;
+        while (changed) {
+            IR ir = function.rebuild(nodes);
+            ControlFlowGraph cfg = new ControlFlowGraph(ir);
+            List<IR.Node> reachable = removeUnreachable(ir, cfg);
+            if (reachable.size() < ir.size()) {
+                nodes = reachable;
+                continue;
+            }
+
+            Liveness.analyze(cfg);
+            nodes = new ArrayList<>(ir.size());
+            changed = false;
+            for (IR.Node n : ir) {
+                if (isDeadStore(n)) {
+                    dead++;
+                    changed = true;
+                } else if (n.getOpcode() == IR.Opcode.POP && n.getFocus() != null && !n.isElementLive(n.getFocus())) {
+                    nodes.add(new IR.Node(IR.Opcode.POP));
+                    changed = true;
+                } else {
+                    nodes.add(n);
+                }
+            }
+        }
+
+        IR result = function.rebuild(nodes);
+        after = result.size();
+        return result;
+    }
+
+    private List<IR.Node> removeUnreachable(IR ir, ControlFlowGraph cfg) {
+        boolean[] reached = new boolean[cfg.size()];
+        Deque<Integer> work = new ArrayDeque<>();
+        work.add(0);
+        reached[0] = true;
+        while (!work.isEmpty())
+            for (int s : cfg.getSuccessors(work.poll()))
+                if (!reached[s]) {
+                    reached[s] = true;
+                    work.add(s);
+                }
+
+        Set<String> targets = new HashSet<>();
+        List<IR.Node> kept = new ArrayList<>(ir.size());
+        for (BasicBlock block : cfg.getBlocks()) {
+            if (!reached[block.getId()]) {
+                unreachable += block.getNodes().size();
+                continue;
+            }
+            for (IR.Node n : block.getNodes()) {
+                if ((n.isJump() || n.isConditional()) && jumpsToNext(cfg, block, n)) {
+                    jumps++;
+                    continue;
+                }
+                if (n.isJump() || n.isConditional())
+                    targets.add(n.getFocus().getName());
+                kept.add(n);
+            }
+        }
+
+        // Labels only matter to the branches that name them
+        List<IR.Node> labelled = new ArrayList<>(kept.size());
+        for (int i = 0; i < kept.size(); i++) {
+            IR.Node n = kept.get(i);
+            if (n.getOpcode() == IR.Opcode.LABEL && i > 0 && !targets.contains(n.getFocus().getName())) {
+                jumps++;
+                continue;
+            }
+            labelled.add(n);
+        }
+        return labelled;
+    }
+
+    // A branch whose target starts the block that follows anyway
+    private static boolean jumpsToNext(ControlFlowGraph cfg, BasicBlock block, IR.Node branch) {
+        int next = block.getId() + 1;
+        if (branch != block.getLast() || next >= cfg.size())
+            return false;
+        IR.Node first = cfg.getBlock(next).getFirst();
+        return first.getOpcode() == IR.Opcode.LABEL && first.getFocus().getName().equals(branch.getFocus().getName());
+    }
+
+    private static boolean isDeadStore(IR.Node n) {
+        return (n.isStore() || n.isCalc()) && !n.getFocus().isReturn() && !n.isElementLive(n.getFocus());
+    }
+
+    @Override
+    public String toString() {
+        return before + " -> " + after + " nodes, " + dead + " dead stores, " + unreachable + " unreachable, " + jumps + " jumps and labels";
+    }
+
+}
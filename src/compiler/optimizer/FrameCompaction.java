@@ -0,0 +1,65 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.Element;
+import compiler.element.FunctionLocal;
+import compiler.element.Link;
+import compiler.element.Temporary;
+
+import java.util.*;
+
+/**
+ * Shrinks the stack frame to the locals and temporaries still in use.
+ *
+ * Earlier passes leave gaps behind: CSE adds temporaries, copy propagation
+ * and DCE remove most of them. Locals and temporaries that are still read or
+ * written are renumbered from one in their old order, and the LINK is
+ * rebuilt to reserve just those.
+ */
+final class FrameCompaction implements Optimization {
+
+    private int before;
+    private int after;
+
+    @Override
+    public IR apply(IR function) {
+        Link link = (Link) function.get(1).getFocus();
+        before = Integer.parseInt(link.getRef());
+
+        SortedMap<Integer, Element> locals = new TreeMap<>(), temps = new TreeMap<>();
+        for (IR.Node n : function)
+            for (Element el : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() }) {
+                if (el != null && el.getCtx() == Element.Context.FLOCAL)
+                    locals.put(el.getCtxVal(), el);
+                else if (el != null && el.getCtx() == Element.Context.TEMPORARY)
+                    temps.put(el.getCtxVal(), el);
+            }
+
+        Map<String, Element> renamed = new HashMap<>();
+        for (Element el : locals.values())
+            renamed.put(el.getRef(), new FunctionLocal(renamed.size() + 1, el.getName(), el.getType()));
+        for (Element el : temps.values())
+            renamed.put(el.getRef(), new Temporary(renamed.size() - locals.size() + 1, el.getType()));
+
+        Link compact = new Link(locals.size(), temps.size() + 1);
+        after = Integer.parseInt(compact.getRef());
+        List<IR.Node> nodes = new ArrayList<>(function.size());
+        for (IR.Node n : function) {
+            if (n.getOpcode() == IR.Opcode.LINK)
+                nodes.add(new IR.Node(IR.Opcode.LINK, compact));
+            else
+                nodes.add(new IR.Node(n.getOpcode(), rename(n.getOp1(), renamed), rename(n.getOp2(), renamed), rename(n.getFocus(), renamed)));
+        }
+        return function.rebuild(nodes);
+    }
+
+    private static Element rename(Element el, Map<String, Element> renamed) {
+        return el == null ? null : renamed.getOrDefault(el.getRef(), el);
+    }
+
+    @Override
+    public String toString() {
+        return "frame " + before + " -> " + after;
+    }
+
+}
@@ -0,0 +1,203 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.analysis.CallGraph;
+import compiler.element.*;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Replaces calls to small leaf functions with a copy of their body.
+ *
+ * A call is lowered to a PUSH of the return slot, a PUSH per argument, the
+ * JSR, a POP per argument and the POP of the result. At an inlined call the
+ * arguments are copied into locals standing for the parameters, the callee's
+ * locals and temporaries get fresh numbers in the caller's frame, its labels
+ * fresh names, its stores to the return slot write the result temporary and
+ * its RETURNs jump past the copy. Functions are visited callees first, so a
+ * function whose calls were all inlined is a leaf for its own callers.
+ */
+public final class FunctionInlining {
+
+    // Size -O inlines up to, about what a call costs in Tiny code
+    public static final int DEFAULT_LIMIT = 24;
+
+    private static final String LABEL_PREFIX = "label";
+
+    // Largest callee inlined, in nodes after its LINK
+    private final int limit;
+    private int nextLabel;
+    private int inlined;
+
+    public FunctionInlining(int limit) {
+        this.limit = limit;
+    }
+
+    public List<IR> apply(List<IR> functions) {
+        Map<String, IR> done = new LinkedHashMap<>();
+        functions.forEach(f -> done.put(f.getFunction(), f));
+        nextLabel = functions.stream().mapToInt(FunctionInlining::lastLabel).max().orElse(0) + 1;
+
+        for (String f : new CallGraph(functions).bottomUp())
+            done.put(f, inline(done.get(f), done));
+        return new ArrayList<>(done.values());
+    }
+
+    private IR inline(IR caller, Map<String, IR> done) {
+        Link link = (Link) caller.get(1).getFocus();
+        int numLocal = link.getNumLocal();
+        int numTemp = link.getNumTemp();
+        Map<String, Element> results = new HashMap<>();
+        int before = inlined;
+
+        List<IR.Node> nodes = new ArrayList<>(caller.size());
+        for (int i = 0; i < caller.size(); i++) {
+            IR.Node n = caller.get(i);
+            IR callee = n.getOpcode() == IR.Opcode.JSR ? done.get(n.getFocus().getName()) : null;
+            int args = callee != null && isInlinable(caller, callee) ? arguments(caller, i) : -1;
+            if (args < parameters(callee)) {
+                nodes.add(n);
+                continue;
+            }
+
+            // The pushes ahead of the JSR are already copied, the pops after it are skipped
+            List<Element> values = new ArrayList<>(args);
+            for (IR.Node push : nodes.subList(nodes.size() - args, nodes.size()))
+                values.add(push.getFocus());
+            nodes.subList(nodes.size() - args - 1, nodes.size()).clear();
+            Element result = caller.get(i + args + 1).getFocus();
+            Element.Type type = returnType(callee);
+            if (type != null)
+                results.put(result.getRef(), result = new Temporary(result.getCtxVal(), type));
+
+            Link frame = (Link) callee.get(1).getFocus();
+            expand(callee, values, result, numLocal, numTemp, nodes);
+            numLocal += frame.getNumLocal() + args;
+            numTemp += frame.getNumTemp() - 1;
+            inlined++;
+            i += args + 1;
+        }
+        if (inlined == before)
+            return caller;
+
+        nodes.set(1, new IR.Node(IR.Opcode.LINK, new Link(numLocal, numTemp)));
+        // Results get the type their callee stores, the POP left them untyped
+        UnaryOperator<Element> retype = el -> el != null && el.getCtx() == Element.Context.TEMPORARY
+                ? results.getOrDefault(el.getRef(), el) : el;
+        nodes.replaceAll(n -> new IR.Node(n.getOpcode(), retype.apply(n.getOp1()), retype.apply(n.getOp2()), retype.apply(n.getFocus())));
+        return caller.rebuild(nodes);
+    }
+
+    private boolean isInlinable(IR caller, IR callee) {
+        return callee != caller && callee.size() - 2 <= limit
+                && callee.stream().noneMatch(n -> n.getOpcode() == IR.Opcode.JSR);
+    }
+
+    // Arguments of the call at jsr, -1 when the code around it is not a call
+    static int arguments(IR caller, int jsr) {
+        int args = 0;
+        while (jsr + args + 1 < caller.size() && isPop(caller.get(jsr + args + 1), false))
+            args++;
+        if (jsr + args + 1 >= caller.size() || !isPop(caller.get(jsr + args + 1), true) || jsr - args - 1 < 0)
+            return -1;
+        for (int i = jsr - args; i < jsr; i++)
+            if (caller.get(i).getOpcode() != IR.Opcode.PUSH || caller.get(i).getFocus() == null)
+                return -1;
+        IR.Node slot = caller.get(jsr - args - 1);
+        return slot.getOpcode() == IR.Opcode.PUSH && slot.getFocus() == null ? args : -1;
+    }
+
+    // Highest parameter callee reads or writes, 0 for none and for no callee
+    private static int parameters(IR callee) {
+        int last = 0;
+        if (callee != null)
+            for (IR.Node n : callee)
+                for (Element el : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() })
+                    if (el != null && el.getCtx() == Element.Context.FPARAM)
+                        last = Math.max(last, el.getCtxVal());
+        return last;
+    }
+
+    private static boolean isPop(IR.Node n, boolean result) {
+        return n.getOpcode() == IR.Opcode.POP && (n.getFocus() != null) == result;
+    }
+
+    // Type every return of callee stores, null when they differ or there are none
+    private static Element.Type returnType(IR callee) {
+        Set<Element.Type> types = new HashSet<>();
+        for (IR.Node n : callee)
+            if (n.isStore() && n.getFocus().isReturn())
+                types.add(n.getOpcode() == IR.Opcode.STOREI ? Element.Type.INT : Element.Type.FLOAT);
+        return types.size() == 1 ? types.iterator().next() : null;
+    }
+
+    // Appends the body of callee, renamed into a frame already holding
+    // numLocal locals and temporaries up to numTemp
+    private void expand(IR callee, List<Element> args, Element result, int numLocal, int numTemp, List<IR.Node> nodes) {
+        int params = numLocal + ((Link) callee.get(1).getFocus()).getNumLocal();
+        Map<String, Element> names = new HashMap<>();
+        UnaryOperator<Element> rename = el -> {
+            if (el == null)
+                return null;
+            switch (el.getCtx()) {
+                case FLOCAL:
+                    return names.computeIfAbsent(el.getRef(), r -> new FunctionLocal(numLocal + el.getCtxVal(), el.getName(), el.getType()));
+                case FPARAM:
+                    return names.computeIfAbsent(el.getRef(), r -> new FunctionLocal(params + el.getCtxVal(), el.getName(), el.getType()));
+                case TEMPORARY:
+                    return names.computeIfAbsent(el.getRef(), r -> new Temporary(numTemp - 1 + el.getCtxVal(), el.getType()));
+                case LABEL:
+                    return names.computeIfAbsent(el.getRef(), r -> new Label(LABEL_PREFIX + nextLabel++));
+                case RETURN:
+                    return result;
+                default:
+                    return el;
+            }
+        };
+
+        // The last argument pushed is the first parameter
+        Map<String, Element> used = new TreeMap<>();
+        for (IR.Node n : callee)
+            for (Element el : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() })
+                if (el != null && el.getCtx() == Element.Context.FPARAM)
+                    used.put(el.getRef(), el);
+        for (Element p : used.values()) {
+            IR.Opcode store = p.isFloat() ? IR.Opcode.STOREF : IR.Opcode.STOREI;
+            nodes.add(new IR.Node(store, args.get(args.size() - p.getCtxVal()), rename.apply(p)));
+        }
+
+        Label end = new Label(LABEL_PREFIX + nextLabel++);
+        boolean jumped = false;
+        for (int i = 2; i < callee.size(); i++) {
+            IR.Node n = callee.get(i);
+            if (n.isReturn()) {
+                if (i < callee.size() - 1) {
+                    nodes.add(new IR.Node(IR.Opcode.JUMP, end));
+                    jumped = true;
+                }
+                continue;
+            }
+            nodes.add(new IR.Node(n.getOpcode(), rename.apply(n.getOp1()), rename.apply(n.getOp2()), rename.apply(n.getFocus())));
+        }
+        if (jumped)
+            nodes.add(new IR.Node(IR.Opcode.LABEL, end));
+    }
+
+    // Highest number of a front end label in function
+    private static int lastLabel(IR function) {
+        int last = 0;
+        for (IR.Node n : function) {
+            String name = n.getOpcode() == IR.Opcode.LABEL ? n.getFocus().getName() : "";
+            if (name.matches(LABEL_PREFIX + "\\d+"))
+                last = Math.max(last, Integer.parseInt(name.substring(LABEL_PREFIX.length())));
+        }
+        return last;
+    }
+
+    @Override
+    public String toString() {
+        return inlined + " inlined";
+    }
+
+}
@@ -0,0 +1,171 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Dominators;
+import compiler.analysis.Liveness;
+import compiler.analysis.Loops;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Moves arithmetic and stores whose result is the same on every iteration of
+ * a loop into its preheader.
+ *
+ * The preheader is the code right ahead of the header label, which runs once
+ * on entry since only the back edges branch to the label; loops entered any
+ * other way are left alone. A node moves when its operands are constants,
+ * elements the loop never writes or results already moved, it is the only
+ * write of its focus in the loop, the focus is not live on entry to the
+ * header, and its block dominates every way out of the loop, so it ran
+ * before any exit anyway. A JSR in the loop may write any global. Loops are
+ * done innermost first and again until nothing moves, so code leaves nested
+ * loops one level per round.
+ */
+final class LoopInvariantCodeMotion implements Optimization {
+
+    private int hoisted;
+    private int loops;
+
+    @Override
+    public IR apply(IR function) {
+        IR ir = function;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            ControlFlowGraph cfg = new ControlFlowGraph(ir);
+            Liveness.analyze(cfg);
+            Loops found = new Loops(cfg);
+            List<Loops.Loop> innermostFirst = new ArrayList<>(found.getLoops());
+            Collections.reverse(innermostFirst);
+            for (Loops.Loop loop : innermostFirst) {
+                List<IR.Node> moved = invariants(cfg, found.getDominators(), loop);
+                if (moved.isEmpty())
+                    continue;
+                hoisted += moved.size();
+                loops++;
+                ir = ir.rebuild(hoist(ir, cfg.getBlock(loop.getHeader()), moved));
+                changed = true;
+                break;
+            }
+        }
+        return ir;
+    }
+
+    private List<IR.Node> invariants(ControlFlowGraph cfg, Dominators dominators, Loops.Loop loop) {
+        BasicBlock header = cfg.getBlock(loop.getHeader());
+        if (!hasPreheader(cfg, loop))
+            return Collections.emptyList();
+
+        // Writes of every element inside the loop, and the ways out of it
+        Map<String, Integer> writes = new HashMap<>();
+        List<Integer> exits = new ArrayList<>();
+        boolean calls = false;
+        for (int b = loop.getBody().nextSetBit(0); b >= 0; b = loop.getBody().nextSetBit(b + 1)) {
+            BasicBlock block = cfg.getBlock(b);
+            for (IR.Node n : block.getNodes()) {
+                calls |= n.getOpcode() == IR.Opcode.JSR;
+                n.getKill().stream().forEach(i -> writes.merge(n.getUniverse().get(i).getRef(), 1, Integer::sum));
+            }
+            if (block.getLast().isReturn() || Arrays.stream(block.getSuccessors()).anyMatch(s -> !loop.contains(s)))
+                exits.add(b);
+        }
+
+        Set<String> moved = new HashSet<>();
+        List<IR.Node> nodes = new ArrayList<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int b = loop.getBody().nextSetBit(0); b >= 0; b = loop.getBody().nextSetBit(b + 1)) {
+                int block = b;
+                if (!exits.stream().allMatch(e -> dominators.dominates(block, e)))
+                    continue;
+                for (IR.Node n : cfg.getBlock(b).getNodes()) {
+                    if (nodes.contains(n) || !(n.isCalc() || n.isStore()))
+                        continue;
+                    Element focus = n.getFocus();
+                    if (focus.isReturn() || writes.getOrDefault(focus.getRef(), 0) != 1 || isLiveIn(header, focus)
+                            || calls && isGlobal(focus))
+                        continue;
+                    if (isInvariant(n.getOp1(), writes, moved, calls) && isInvariant(n.getOp2(), writes, moved, calls)) {
+                        nodes.add(n);
+                        moved.add(focus.getRef());
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        Set<String> read = new HashSet<>();
+        for (IR.Node n : nodes)
+            if (!isConstantTemporary(n))
+                for (Element op : new Element[] { n.getOp1(), n.getOp2() })
+                    if (op != null)
+                        read.add(op.getRef());
+        nodes.removeIf(n -> isConstantTemporary(n) && !read.contains(n.getFocus().getRef()));
+
+        // Moved code keeps the order it had in the function
+        nodes.sort(Comparator.comparingInt(IR.Node::getId));
+        return nodes;
+    }
+
+    // Only the fall through from the block ahead of the header enters the loop
+    static boolean hasPreheader(ControlFlowGraph cfg, Loops.Loop loop) {
+        int header = loop.getHeader();
+        IR.Node label = cfg.getBlock(header).getFirst();
+        if (header == 0 || label.getOpcode() != IR.Opcode.LABEL)
+            return false;
+        boolean fallsThrough = false;
+        for (int p : cfg.getBlock(header).getPredecessors()) {
+            if (loop.contains(p))
+                continue;
+            if (p != header - 1)
+                return false;
+            fallsThrough = true;
+        }
+        IR.Node last = cfg.getBlock(header - 1).getLast();
+        return fallsThrough && (!last.isTransfer()
+                || last.isConditional() && !last.getFocus().getName().equals(label.getFocus().getName()));
+    }
+
+    private static boolean isInvariant(Element op, Map<String, Integer> writes, Set<String> moved, boolean calls) {
+        if (op == null || op.isConstant() || moved.contains(op.getRef()))
+            return true;
+        return !writes.containsKey(op.getRef()) && !(calls && isGlobal(op));
+    }
+
+    // Tiny takes constants as operands, so a temporary holding one only moves
+    // along with code that reads it
+    private static boolean isConstantTemporary(IR.Node n) {
+        return n.isStore() && n.getOp1().isConstant() && n.getFocus().getCtx() == Element.Context.TEMPORARY;
+    }
+
+    private static boolean isGlobal(Element el) {
+        return el.getCtx() == Element.Context.VARIABLE;
+    }
+
+    private static boolean isLiveIn(BasicBlock header, Element el) {
+        int i = header.getFirst().getUniverse().indexOf(el);
+        return i >= 0 && header.getLiveIn().get(i);
+    }
+
+    private static List<IR.Node> hoist(IR ir, BasicBlock header, List<IR.Node> moved) {
+        Set<IR.Node> out = new HashSet<>(moved);
+        List<IR.Node> nodes = new ArrayList<>(ir.size());
+        for (int i = 0; i < ir.size(); i++) {
+            if (i == header.getStart())
+                nodes.addAll(moved);
+            if (!out.contains(ir.get(i)))
+                nodes.add(ir.get(i));
+        }
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return hoisted + " hoisted, " + loops + " loops";
+    }
+
+}
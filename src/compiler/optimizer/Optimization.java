@@ -0,0 +1,75 @@
+package compiler.optimizer;
+
+import compiler.IR;
+
+/**
+ * A rewrite of the IR of one function that keeps what the function does.
+ *
+ * Passes read the IR left by the front end or by an earlier pass and return
+ * a new IR, leaving their input as it was.
+ */
+public interface Optimization {
+
+    // In pipeline order: -O runs every standard pass, in this order
+    enum Kind {
+        // Self tail calls become jumps back to the function entry
+        TAIL,
+        // Sparse conditional constant propagation
+        SCCP,
+        // Arithmetic with an identity operand becomes a copy
+        ALGEBRA,
+        // Local value numbering, then global common subexpressions
+        CSE,
+        // Copy propagation and coalescing of temporaries
+        COPY,
+        // Loop invariant code motion into loop preheaders
+        LICM,
+        // Induction variable products become running sums. Tiny charges a
+        // multiply the same as an add, so this only pays on other targets
+        STRENGTH(false),
+        // Dead store and unreachable code removal
+        DCE,
+        // Renumbering of what is left of the frame
+        FRAME;
+
+        private final boolean standard;
+
+        Kind() {
+            this(true);
+        }
+
+        Kind(boolean standard) {
+            this.standard = standard;
+        }
+
+        public boolean isStandard() {
+            return standard;
+        }
+
+        public Optimization create() {
+            switch (this) {
+                case TAIL:
+                    return new TailRecursion();
+                case ALGEBRA:
+                    return new AlgebraicSimplification();
+                case CSE:
+                    return new CommonSubexpressions();
+                case COPY:
+                    return new CopyPropagation();
+                case LICM:
+                    return new LoopInvariantCodeMotion();
+                case STRENGTH:
+                    return new StrengthReduction();
+                case DCE:
+                    return new DeadCodeElimination();
+                case FRAME:
+                    return new FrameCompaction();
+                default:
+                    return new ConstantPropagation();
+            }
+        }
+    }
+
+    IR apply(IR function);
+
+}
@@ -0,0 +1,149 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Loops;
+import compiler.element.Constant;
+import compiler.element.Element;
+import compiler.element.Link;
+import compiler.element.Temporary;
+
+import java.util.*;
+
+/**
+ * Replaces products of an induction variable and a constant inside a loop
+ * with a running sum.
+ *
+ * A basic induction variable is a local, parameter or temporary whose only
+ * write in the loop adds or subtracts a constant. For each product i * k in
+ * the loop, a new temporary s gets i * k in the preheader and s += c * k right
+ * after every step of i, so s equals i * k throughout the loop and the
+ * product becomes a copy of s, left to copy propagation. Steps are kept
+ * within the range Tiny reads integer literals exactly. Loops are done
+ * innermost first and again until nothing changes.
+ */
+final class StrengthReduction implements Optimization {
+
+    private static final int EXACT_INT = 1 << 24;
+
+    private int reduced;
+
+    @Override
+    public IR apply(IR function) {
+        IR ir = function;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            ControlFlowGraph cfg = new ControlFlowGraph(ir);
+            List<Loops.Loop> innermostFirst = new ArrayList<>(new Loops(cfg).getLoops());
+            Collections.reverse(innermostFirst);
+            for (Loops.Loop loop : innermostFirst) {
+                List<IR.Node> nodes = reduce(ir, cfg, loop);
+                if (nodes != null) {
+                    ir = ir.rebuild(nodes);
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        return reduced > 0 ? new CopyPropagation().apply(ir) : ir;
+    }
+
+    // The function with the products of loop reduced, null when there are none
+    private List<IR.Node> reduce(IR ir, ControlFlowGraph cfg, Loops.Loop loop) {
+        if (!LoopInvariantCodeMotion.hasPreheader(cfg, loop))
+            return null;
+        Map<String, Double> constants = AlgebraicSimplification.constantTemporaries(ir);
+
+        // Writes in the loop by element, and the step of every basic induction variable
+        Map<String, List<IR.Node>> writes = new HashMap<>();
+        Set<IR.Node> body = new LinkedHashSet<>();
+        for (int b = loop.getBody().nextSetBit(0); b >= 0; b = loop.getBody().nextSetBit(b + 1))
+            for (IR.Node n : cfg.getBlock(b).getNodes()) {
+                body.add(n);
+                n.getKill().stream().forEach(i -> writes.computeIfAbsent(n.getUniverse().get(i).getRef(), r -> new ArrayList<>()).add(n));
+            }
+        Map<String, Integer> steps = new HashMap<>();
+        writes.forEach((ref, defs) -> {
+            Integer step = defs.size() == 1 ? step(defs.get(0), constants) : null;
+            if (step != null)
+                steps.put(ref, step);
+        });
+
+        // Products of an induction variable and a constant, and the sum kept for each
+        Link link = (Link) ir.get(1).getFocus();
+        Map<String, Temporary> sums = new LinkedHashMap<>();
+        Map<String, Element> bases = new HashMap<>();
+        Map<String, Integer> factors = new HashMap<>();
+        Map<IR.Node, Temporary> products = new HashMap<>();
+        for (IR.Node n : body) {
+            if (n.getOpcode() != IR.Opcode.MULTI)
+                continue;
+            Element i = steps.containsKey(n.getOp1().getRef()) ? n.getOp1() : n.getOp2();
+            Element k = i == n.getOp1() ? n.getOp2() : n.getOp1();
+            Double factor = AlgebraicSimplification.valueOf(k, constants);
+            Integer step = steps.get(i.getRef());
+            if (step == null || factor == null || factor == 0 || factor == 1 || n.getFocus().getRef().equals(i.getRef())
+                    || Math.abs(factor * step) >= EXACT_INT || Math.abs(factor) >= EXACT_INT)
+                continue;
+
+            String key = i.getRef() + " * " + factor.intValue();
+            Temporary s = sums.computeIfAbsent(key, x -> new Temporary(link.getNumTemp() + sums.size(), Element.Type.INT));
+            bases.put(key, i);
+            factors.put(key, factor.intValue());
+            products.put(n, s);
+        }
+        if (products.isEmpty())
+            return null;
+        reduced += products.size();
+
+        int header = cfg.getBlock(loop.getHeader()).getStart();
+        List<IR.Node> nodes = new ArrayList<>(ir.size() + 2 * sums.size());
+        for (int at = 0; at < ir.size(); at++) {
+            IR.Node n = ir.get(at);
+            if (at == header)
+                sums.forEach((key, s) -> nodes.add(new IR.Node(IR.Opcode.MULTI, bases.get(key), Constant.valueOf(factors.get(key)), s)));
+
+            if (n.getOpcode() == IR.Opcode.LINK)
+                nodes.add(new IR.Node(IR.Opcode.LINK, new Link(link.getNumLocal(), link.getNumTemp() + sums.size())));
+            else if (products.containsKey(n))
+                nodes.add(new IR.Node(IR.Opcode.STOREI, products.get(n), n.getFocus()));
+            else
+                nodes.add(n);
+
+            // Every sum over the variable this node steps follows it
+            if (body.contains(n) && n.getFocus() != null && steps.containsKey(n.getFocus().getRef()) && !n.getKill().isEmpty())
+                for (String key : sums.keySet())
+                    if (bases.get(key).getRef().equals(n.getFocus().getRef()))
+                        nodes.add(new IR.Node(IR.Opcode.ADDI, sums.get(key),
+                                Constant.valueOf(steps.get(n.getFocus().getRef()) * factors.get(key)), sums.get(key)));
+        }
+        return nodes;
+    }
+
+    // Constant added to i by i := i + c, c + i or i - c, null for other writes
+    private static Integer step(IR.Node n, Map<String, Double> constants) {
+        if (n.getOpcode() != IR.Opcode.ADDI && n.getOpcode() != IR.Opcode.SUBI)
+            return null;
+        Element i = n.getFocus();
+        if (i.getCtx() == Element.Context.VARIABLE || i.isReturn())
+            return null;
+
+        Double c;
+        if (n.getOp1().getRef().equals(i.getRef()))
+            c = AlgebraicSimplification.valueOf(n.getOp2(), constants);
+        else if (n.getOpcode() == IR.Opcode.ADDI && n.getOp2().getRef().equals(i.getRef()))
+            c = AlgebraicSimplification.valueOf(n.getOp1(), constants);
+        else
+            return null;
+        if (c == null || Math.abs(c) >= EXACT_INT || c != Math.rint(c))
+            return null;
+        return n.getOpcode() == IR.Opcode.SUBI ? -c.intValue() : c.intValue();
+    }
+
+    @Override
+    public String toString() {
+        return reduced + " reduced";
+    }
+
+}
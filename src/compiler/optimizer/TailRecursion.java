@@ -0,0 +1,106 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+
+import java.util.*;
+
+/**
+ * Turns calls a function makes to itself right before returning into a jump
+ * back to its start.
+ *
+ * A call is in tail position when its result is stored to the return slot
+ * and the function returns right after. The arguments are written to the
+ * parameters instead of pushed, going through a temporary when they read a
+ * parameter being written, and the code jumps to a label put right after the
+ * LINK, so the recursion runs in the one frame. Parameters the function
+ * never reads are not written.
+ */
+final class TailRecursion implements Optimization {
+
+    // Micro identifiers have no underscore, so this never names a function
+    private static final String ENTRY_SUFFIX = "_entry";
+
+    private int calls;
+
+    @Override
+    public IR apply(IR function) {
+        Map<Integer, Element> params = new HashMap<>();
+        for (IR.Node n : function)
+            for (Element el : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() })
+                if (el != null && el.getCtx() == Element.Context.FPARAM)
+                    params.put(el.getCtxVal(), el);
+
+        Link link = (Link) function.get(1).getFocus();
+        int numTemp = link.getNumTemp();
+        Label entry = new Label(function.getFunction() + ENTRY_SUFFIX);
+
+        List<IR.Node> nodes = new ArrayList<>(function.size() + 1);
+        for (int i = 0; i < function.size(); i++) {
+            IR.Node n = function.get(i);
+            int args = isSelfCall(function, n) ? FunctionInlining.arguments(function, i) : -1;
+            if (args < 0 || !isTail(function, i + args + 1)) {
+                nodes.add(n);
+                continue;
+            }
+
+            List<Element> values = new ArrayList<>(args);
+            for (IR.Node push : nodes.subList(nodes.size() - args, nodes.size()))
+                values.add(push.getFocus());
+            nodes.subList(nodes.size() - args - 1, nodes.size()).clear();
+
+            // The last argument pushed is the first parameter
+            Map<Element, Element> writes = new LinkedHashMap<>();
+            Set<String> written = new HashSet<>();
+            for (int p = 1; p <= args; p++) {
+                Element param = params.get(p), value = values.get(args - p);
+                if (param != null && !value.getRef().equals(param.getRef())) {
+                    writes.put(param, value);
+                    written.add(param.getRef());
+                }
+            }
+            for (Map.Entry<Element, Element> w : writes.entrySet()) {
+                if (!written.contains(w.getValue().getRef()))
+                    continue;
+                Element copy = new Temporary(numTemp++, w.getKey().getType());
+                nodes.add(new IR.Node(store(copy), w.getValue(), copy));
+                w.setValue(copy);
+            }
+            writes.forEach((param, value) -> nodes.add(new IR.Node(store(param), value, param)));
+            nodes.add(new IR.Node(IR.Opcode.JUMP, entry));
+            calls++;
+            // The pops, the store to the return slot and the RETURN
+            i += args + 3;
+        }
+        if (calls == 0)
+            return function;
+
+        nodes.set(1, new IR.Node(IR.Opcode.LINK, new Link(link.getNumLocal(), numTemp)));
+        nodes.add(2, new IR.Node(IR.Opcode.LABEL, entry));
+        return function.rebuild(nodes);
+    }
+
+    private static boolean isSelfCall(IR function, IR.Node n) {
+        return n.getOpcode() == IR.Opcode.JSR && n.getFocus().getName().equals(function.getFunction());
+    }
+
+    // Whether the result popped at pop is stored to the return slot and returned
+    private static boolean isTail(IR function, int pop) {
+        if (pop + 2 >= function.size())
+            return false;
+        IR.Node store = function.get(pop + 1);
+        return store.isStore() && store.getFocus().isReturn()
+                && store.getOp1().getRef().equals(function.get(pop).getFocus().getRef())
+                && function.get(pop + 2).isReturn();
+    }
+
+    private static IR.Opcode store(Element el) {
+        return el.isFloat() ? IR.Opcode.STOREF : IR.Opcode.STOREI;
+    }
+
+    @Override
+    public String toString() {
+        return calls + " tail calls";
+    }
+
+}
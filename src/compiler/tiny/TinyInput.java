@@ -0,0 +1,125 @@
+package compiler.tiny;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads numbers the way Tiny's sys readi and readr do, through C++ stream
+ * extraction: blanks are skipped, the longest number at the front is taken,
+ * and once a read fails or the input ends every later read keeps the value
+ * of the last one of its type.
+ */
+public final class TinyInput {
+
+    private final Reader in;
+    // Next character, -2 when it was not read yet
+    private int peeked = -2;
+    private boolean failed;
+    // Last values read, what a read gives once the input failed
+    private int lastInt;
+    private float lastFloat;
+
+    public TinyInput(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads like cin >> int into a variable kept across reads: a number too
+     * long gives the nearest int, anything else not a number gives 0, and
+     * every read after such a failure or the end of the input keeps the value.
+     */
+    public int readInt() throws IOException {
+        if (failed)
+            return lastInt;
+        String token = scan(false);
+        if (token == null)
+            return lastInt;
+        try {
+            lastInt = Integer.parseInt(token.startsWith("+") ? token.substring(1) : token);
+        } catch (NumberFormatException e) {
+            failed = true;
+            lastInt = token.isEmpty() ? 0 : token.startsWith("-") ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        }
+        return lastInt;
+    }
+
+    // Reads like cin >> float, the same way
+    public float readFloat() throws IOException {
+        if (failed)
+            return lastFloat;
+        String token = scan(true);
+        if (token == null)
+            return lastFloat;
+        try {
+            lastFloat = Float.parseFloat(token);
+            // Too large a number gives the largest float
+            if (Float.isInfinite(lastFloat)) {
+                failed = true;
+                lastFloat = Math.copySign(Float.MAX_VALUE, lastFloat);
+            }
+        } catch (NumberFormatException e) {
+            failed = true;
+            lastFloat = 0;
+        }
+        return lastFloat;
+    }
+
+    /**
+     * Skips blanks and takes the longest number at the front of the input,
+     * leaving the rest for the next read. Null at the end of the input, which
+     * leaves the value alone, and empty when no number starts there, which
+     * reads as 0. Both fail the reads after them.
+     */
+    private String scan(boolean real) throws IOException {
+        int c = peek();
+        while (c >= 0 && Character.isWhitespace(c)) {
+            next();
+            c = peek();
+        }
+        if (c < 0) {
+            failed = true;
+            return null;
+        }
+
+        StringBuilder token = new StringBuilder();
+        if (c == '+' || c == '-') {
+            token.append((char) next());
+            c = peek();
+        }
+        boolean digits = false, point = false, exponent = false;
+        while (c >= 0) {
+            if (Character.isDigit(c)) {
+                digits = true;
+            } else if (real && c == '.' && !point && !exponent) {
+                point = true;
+            } else if (real && (c == 'e' || c == 'E') && digits && !exponent) {
+                exponent = true;
+                token.append((char) next());
+                c = peek();
+                if (c != '+' && c != '-')
+                    continue;
+            } else {
+                break;
+            }
+            token.append((char) next());
+            c = peek();
+        }
+        // The stream is at its end after a number that runs up to it
+        if (c < 0)
+            failed = true;
+        return digits ? token.toString() : "";
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2)
+            peeked = in.read();
+        return peeked;
+    }
+
+    private int next() throws IOException {
+        int c = peek();
+        peeked = -2;
+        return c;
+    }
+
+}
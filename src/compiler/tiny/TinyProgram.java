@@ -0,0 +1,201 @@
+package compiler.tiny;
+
+import compiler.MicroErrorMessages;
+import compiler.MicroRuntimeException;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Tiny code decoded once for the simulator.
+ *
+ * Every instruction becomes an opcode and up to two operands with their kind
+ * and index resolved: registers by number, variables and strings by slot,
+ * stack references by offset from the frame pointer, labels by the index of
+ * the instruction they name. Literals keep both the integer and the float
+ * Tiny reads from them. Labels stay in the code since Tiny spends a cycle on
+ * each one it passes.
+ */
+@Getter
+public final class TinyProgram {
+
+    public enum Opcode {
+        MOVE, ADDI, ADDR, SUBI, SUBR, MULI, MULR, DIVI, DIVR, INCI, DECI, CMPI, CMPR,
+        PUSH, POP, JSR, RET, LINK, UNLNK, JMP, JGT, JLT, JGE, JLE, JEQ, JNE, LABEL,
+        READI, READR, WRITEI, WRITER, WRITES, HALT;
+
+        public String getName() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum Kind {
+        NONE, REGISTER, VARIABLE, STACK, LITERAL, STRING, LABEL
+    }
+
+    @Getter
+    public static final class Operand {
+        private static final Operand NONE = new Operand(Kind.NONE, 0, 0, 0);
+
+        private final Kind kind;
+        // Register, slot, offset or instruction index
+        private final int index;
+        private final int ival;
+        private final float rval;
+
+        private Operand(Kind kind, int index, int ival, float rval) {
+            this.kind = kind;
+            this.index = index;
+            this.ival = ival;
+            this.rval = rval;
+        }
+
+        // Variables and stack slots, everything else lives in the instruction or a register
+        public boolean isMemory() {
+            return kind == Kind.VARIABLE || kind == Kind.STACK;
+        }
+    }
+
+    @Getter
+    public static final class Instruction {
+        private final Opcode opcode;
+        private final Operand a;
+        private final Operand b;
+        // Line in the source, for errors
+        private final int line;
+
+        private Instruction(Opcode opcode, Operand a, Operand b, int line) {
+            this.opcode = opcode;
+            this.a = a;
+            this.b = b;
+            this.line = line;
+        }
+    }
+
+    private static final Map<String, Opcode> SYSTEM_CALLS = new HashMap<>();
+
+    static {
+        SYSTEM_CALLS.put("readi", Opcode.READI);
+        SYSTEM_CALLS.put("readr", Opcode.READR);
+        SYSTEM_CALLS.put("writei", Opcode.WRITEI);
+        SYSTEM_CALLS.put("writer", Opcode.WRITER);
+        SYSTEM_CALLS.put("writes", Opcode.WRITES);
+        SYSTEM_CALLS.put("halt", Opcode.HALT);
+    }
+
+    private final Instruction[] code;
+    private final List<String> variables = new ArrayList<>();
+    private final List<String> strings = new ArrayList<>();
+    // One past the highest register named
+    private int registers;
+
+    private TinyProgram(List<String> lines) {
+        Map<String, Integer> labels = new HashMap<>();
+        Map<String, Integer> slots = new HashMap<>();
+        List<String[]> body = new ArrayList<>();
+        List<Integer> bodyLines = new ArrayList<>();
+
+        // Declarations and label positions first, so operands can be resolved in one pass
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            int comment = line.indexOf(';');
+            if (comment >= 0 && !line.startsWith("str "))
+                line = line.substring(0, comment).trim();
+            if (line.isEmpty())
+                continue;
+            String[] words = line.split("\\s+", 3);
+            switch (words[0]) {
+                case "var":
+                    slots.put(words[1], variables.size());
+                    variables.add(words[1]);
+                    break;
+                case "str":
+                    slots.put(words[1], strings.size());
+                    strings.add(unquote(words[2], i + 1));
+                    break;
+                case "end":
+                    break;
+                default:
+                    if (words[0].equals("label"))
+                        labels.put(words[1], body.size());
+                    body.add(words);
+                    bodyLines.add(i + 1);
+            }
+        }
+
+        code = new Instruction[body.size()];
+        for (int i = 0; i < code.length; i++)
+            code[i] = decode(body.get(i), bodyLines.get(i), labels, slots);
+    }
+
+    public static TinyProgram parse(String source) {
+        return new TinyProgram(Arrays.asList(source.split("\n")));
+    }
+
+    private Instruction decode(String[] words, int line, Map<String, Integer> labels, Map<String, Integer> slots) {
+        int first = 1;
+        Opcode opcode;
+        if (words[0].equals("sys")) {
+            opcode = words.length > 1 ? SYSTEM_CALLS.get(words[1]) : null;
+            first = 2;
+        } else {
+            opcode = parseOpcode(words[0]);
+        }
+        if (opcode == null)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidTinyCode, "line " + line, String.join(" ", words));
+
+        List<String> operands = new ArrayList<>(2);
+        for (int i = first; i < words.length; i++)
+            operands.addAll(Arrays.asList(words[i].trim().split("\\s+")));
+        Operand a = operands.size() > 0 ? operand(operands.get(0), opcode, line, labels, slots) : Operand.NONE;
+        Operand b = operands.size() > 1 ? operand(operands.get(1), opcode, line, labels, slots) : Operand.NONE;
+        return new Instruction(opcode, a, b, line);
+    }
+
+    private static Opcode parseOpcode(String word) {
+        try {
+            Opcode opcode = Opcode.valueOf(word.toUpperCase());
+            return SYSTEM_CALLS.containsValue(opcode) ? null : opcode;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Operand operand(String word, Opcode opcode, int line, Map<String, Integer> labels, Map<String, Integer> slots) {
+        char c = word.charAt(0);
+        if (c == 'r' && word.length() > 1 && word.substring(1).chars().allMatch(Character::isDigit)) {
+            int r = Integer.parseInt(word.substring(1));
+            registers = Math.max(registers, r + 1);
+            return new Operand(Kind.REGISTER, r, 0, 0);
+        }
+        if (c == '$')
+            return new Operand(Kind.STACK, Integer.parseInt(word.substring(1)), 0, 0);
+        if (Character.isDigit(c) || c == '-' || c == '+' || c == '.') {
+            float rval = (float) Double.parseDouble(word);
+            return new Operand(Kind.LITERAL, 0, TinySimulator.toInt(rval), rval);
+        }
+        if (opcode == Opcode.LABEL || opcode == Opcode.JSR || opcode.compareTo(Opcode.JMP) >= 0 && opcode.compareTo(Opcode.JNE) <= 0) {
+            Integer target = labels.get(word);
+            if (target == null)
+                throw new MicroRuntimeException(MicroErrorMessages.InvalidTinyCode, "line " + line, "undefined label " + word);
+            return new Operand(Kind.LABEL, target, 0, 0);
+        }
+        Integer slot = slots.get(word);
+        if (slot == null)
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidTinyCode, "line " + line, "undefined " + word);
+        return new Operand(opcode == Opcode.WRITES ? Kind.STRING : Kind.VARIABLE, slot, 0, 0);
+    }
+
+    // Tiny only knows the \n escape
+    private static String unquote(String literal, int line) {
+        String s = literal.trim();
+        if (s.length() < 2 || s.charAt(0) != '"' || s.charAt(s.length() - 1) != '"')
+            throw new MicroRuntimeException(MicroErrorMessages.InvalidTinyCode, "line " + line, literal);
+        return s.substring(1, s.length() - 1).replace("\\n", "\n");
+    }
+
+    public int size() {
+        return code.length;
+    }
+
+}
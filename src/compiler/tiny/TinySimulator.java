@@ -0,0 +1,371 @@
+package compiler.tiny;
+
+import compiler.MicroErrorMessages;
+import compiler.MicroRuntimeException;
+import compiler.tiny.TinyProgram.Instruction;
+import compiler.tiny.TinyProgram.Kind;
+import compiler.tiny.TinyProgram.Opcode;
+import compiler.tiny.TinyProgram.Operand;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Runs Tiny code in the compiler's JVM, counting cycles the way the Tiny
+ * simulator does.
+ *
+ * Every register, variable and stack cell holds an integer and a float side
+ * by side, as in Tiny: moves, pushes and pops copy both, addition,
+ * subtraction and multiplication compute both, while division, increments,
+ * decrements and reads only set the side of their type.
+ *
+ * Timing follows a scoreboard. An instruction issues once the cycle after the
+ * previous one is reached and its operands are ready, and its target becomes
+ * ready some cycles later: 1 for integer and 3 for float arithmetic, 5 more
+ * when the source is a variable or stack cell, and 5 for moves touching a
+ * variable. Conditional jumps wait for the comparison, RET for every pending
+ * write. Stack cells are never waited on.
+ */
+public final class TinySimulator {
+
+    // Stack cells, the stack grows down from the top
+    private static final int STACK = 1 << 18;
+    // Cycles before a variable written or read by a move is ready
+    private static final int MEMORY_LATENCY = 5;
+    private static final int FLOAT_LATENCY = 3;
+    private static final int UNORDERED = 2;
+    private static final MathContext PRECISION = new MathContext(6, RoundingMode.HALF_EVEN);
+
+    private final TinyProgram program;
+
+    private int[] ireg, ivar, istack;
+    private float[] rreg, rvar, rstack;
+    private long[] regReady, varReady;
+    private int sp, fp;
+    private long time, flags, pending;
+    // Result of the last comparison, -1, 0, 1 or UNORDERED
+    private int compare;
+
+    private TinyInput in;
+
+    public TinySimulator(TinyProgram program) {
+        this.program = program;
+    }
+
+    /**
+     * Runs the program from its first instruction to sys halt or its end.
+     */
+    public TinyStatistics run(Reader in, Writer out) throws IOException {
+        int registers = program.getRegisters(), variables = program.getVariables().size();
+        ireg = new int[registers];
+        rreg = new float[registers];
+        regReady = new long[registers];
+        ivar = new int[variables];
+        rvar = new float[variables];
+        varReady = new long[variables];
+        istack = new int[STACK];
+        rstack = new float[STACK];
+        sp = fp = STACK;
+        time = flags = pending = 0;
+        this.in = new TinyInput(in);
+
+        Instruction[] code = program.getCode();
+        TinyStatistics stats = new TinyStatistics();
+        long halt = -1;
+        int pc = 0;
+        while (pc < code.length) {
+            Instruction i = code[pc++];
+            Operand a = i.getA(), b = i.getB();
+            stats.count(i);
+            long start = Math.max(time, Math.max(ready(a), ready(b)));
+            switch (i.getOpcode()) {
+                case MOVE:
+                    set(b, ival(a), rval(a));
+                    retire(b, start + (a.getKind() == Kind.VARIABLE || b.getKind() == Kind.VARIABLE ? MEMORY_LATENCY : 1));
+                    break;
+                case ADDI:
+                    set(b, ival(b) + ival(a), rval(b) + rval(a));
+                    retire(b, start + 1 + latency(a));
+                    break;
+                case SUBI:
+                    set(b, ival(b) - ival(a), rval(b) - rval(a));
+                    retire(b, start + 1 + latency(a));
+                    break;
+                case MULI:
+                    set(b, ival(b) * ival(a), rval(b) * rval(a));
+                    retire(b, start + 1 + latency(a));
+                    break;
+                case DIVI:
+                    if (ival(a) == 0)
+                        throw new MicroRuntimeException(MicroErrorMessages.TinyRuntimeError, "line " + i.getLine(), "division by zero");
+                    set(b, ival(b) / ival(a), rval(b));
+                    retire(b, start + 1 + latency(a));
+                    break;
+                case ADDR:
+                    set(b, ival(b) + ival(a), rval(b) + rval(a));
+                    retire(b, start + FLOAT_LATENCY + latency(a));
+                    break;
+                case SUBR:
+                    set(b, ival(b) - ival(a), rval(b) - rval(a));
+                    retire(b, start + FLOAT_LATENCY + latency(a));
+                    break;
+                case MULR:
+                    set(b, ival(b) * ival(a), rval(b) * rval(a));
+                    retire(b, start + FLOAT_LATENCY + latency(a));
+                    break;
+                case DIVR:
+                    set(b, ival(b), rval(b) / rval(a));
+                    retire(b, start + FLOAT_LATENCY + latency(a));
+                    break;
+                case INCI:
+                    set(a, ival(a) + 1, rval(a));
+                    retire(a, start + 1);
+                    break;
+                case DECI:
+                    set(a, ival(a) - 1, rval(a));
+                    retire(a, start + 1);
+                    break;
+                case CMPI:
+                    compare = Integer.compare(ival(a), ival(b));
+                    flags = start + 1 + latency(a);
+                    break;
+                case CMPR:
+                    compare = compare(rval(a), rval(b));
+                    flags = start + FLOAT_LATENCY + latency(a);
+                    break;
+                case PUSH:
+                    push(ival(a), rval(a));
+                    break;
+                case POP:
+                    if (a.getKind() != Kind.NONE) {
+                        set(a, istack[sp], rstack[sp]);
+                        retire(a, start + (a.getKind() == Kind.VARIABLE ? MEMORY_LATENCY : 1));
+                    }
+                    sp++;
+                    break;
+                case JSR:
+                    start = time;
+                    push(pc, pc);
+                    pc = a.getIndex();
+                    break;
+                case RET:
+                    start = Math.max(time, pending);
+                    pc = istack[sp++];
+                    break;
+                case LINK:
+                    start = time;
+                    push(fp, fp);
+                    fp = sp;
+                    sp -= ival(a);
+                    checkStack(i);
+                    break;
+                case UNLNK:
+                    start = time;
+                    sp = fp;
+                    fp = istack[sp++];
+                    break;
+                case JMP:
+                    start = time;
+                    pc = a.getIndex();
+                    break;
+                case JGT:
+                case JLT:
+                case JGE:
+                case JLE:
+                case JEQ:
+                case JNE:
+                    start = Math.max(time, flags);
+                    if (taken(i.getOpcode()))
+                        pc = a.getIndex();
+                    break;
+                case LABEL:
+                    start = time;
+                    break;
+                case READI:
+                    start = time;
+                    set(a, this.in.readInt(), rval(a));
+                    break;
+                case READR:
+                    start = time;
+                    set(a, ival(a), this.in.readFloat());
+                    break;
+                case WRITEI:
+                    start = time;
+                    out.write(Integer.toString(ival(a)));
+                    break;
+                case WRITER:
+                    start = time;
+                    out.write(format(rval(a)));
+                    break;
+                case WRITES:
+                    start = time;
+                    out.write(program.getStrings().get(a.getIndex()));
+                    break;
+                case HALT:
+                    halt = start = time;
+                    pc = code.length;
+                    break;
+            }
+            time = start + 1;
+            if (sp <= 0)
+                checkStack(i);
+        }
+        out.flush();
+        stats.setCycles(Math.max((halt < 0 ? time : halt) + 1, pending + 1));
+        return stats;
+    }
+
+    // Cycle the value of a is ready at, stack cells and literals always are
+    private long ready(Operand a) {
+        switch (a.getKind()) {
+            case REGISTER:
+                return regReady[a.getIndex()];
+            case VARIABLE:
+                return varReady[a.getIndex()];
+            default:
+                return 0;
+        }
+    }
+
+    private void retire(Operand a, long ready) {
+        if (a.getKind() == Kind.REGISTER)
+            regReady[a.getIndex()] = ready;
+        else if (a.getKind() == Kind.VARIABLE)
+            varReady[a.getIndex()] = ready;
+        pending = Math.max(pending, ready);
+    }
+
+    // Extra cycles to read a from memory
+    private static int latency(Operand a) {
+        return a.isMemory() ? MEMORY_LATENCY : 0;
+    }
+
+    private int ival(Operand a) {
+        switch (a.getKind()) {
+            case REGISTER:
+                return ireg[a.getIndex()];
+            case VARIABLE:
+                return ivar[a.getIndex()];
+            case STACK:
+                return istack[cell(a)];
+            default:
+                return a.getIval();
+        }
+    }
+
+    private float rval(Operand a) {
+        switch (a.getKind()) {
+            case REGISTER:
+                return rreg[a.getIndex()];
+            case VARIABLE:
+                return rvar[a.getIndex()];
+            case STACK:
+                return rstack[cell(a)];
+            default:
+                return a.getRval();
+        }
+    }
+
+    private void set(Operand a, int ival, float rval) {
+        switch (a.getKind()) {
+            case REGISTER:
+                ireg[a.getIndex()] = ival;
+                rreg[a.getIndex()] = rval;
+                break;
+            case VARIABLE:
+                ivar[a.getIndex()] = ival;
+                rvar[a.getIndex()] = rval;
+                break;
+            case STACK:
+                istack[cell(a)] = ival;
+                rstack[cell(a)] = rval;
+                break;
+            default:
+                throw new MicroRuntimeException(MicroErrorMessages.TinyRuntimeError, "not a location");
+        }
+    }
+
+    private int cell(Operand a) {
+        int cell = fp + a.getIndex();
+        if (cell < 0 || cell >= STACK)
+            throw new MicroRuntimeException(MicroErrorMessages.TinyRuntimeError, "stack reference out of range", "$" + a.getIndex());
+        return cell;
+    }
+
+    private void push(int ival, float rval) {
+        sp--;
+        if (sp >= 0) {
+            istack[sp] = ival;
+            rstack[sp] = rval;
+        }
+    }
+
+    private void checkStack(Instruction i) {
+        if (sp < 0 || sp > STACK)
+            throw new MicroRuntimeException(MicroErrorMessages.TinyRuntimeError, "line " + i.getLine(), "stack overflow");
+    }
+
+    // Unlike Float.compare, zeros are equal whatever their sign and NaN
+    // compares unequal to everything
+    private static int compare(float a, float b) {
+        return a < b ? -1 : a > b ? 1 : a == b ? 0 : UNORDERED;
+    }
+
+    private boolean taken(Opcode jump) {
+        switch (jump) {
+            case JGT:
+                return compare == 1;
+            case JLT:
+                return compare == -1;
+            case JGE:
+                return compare == 1 || compare == 0;
+            case JLE:
+                return compare == -1 || compare == 0;
+            case JEQ:
+                return compare == 0;
+            default:
+                return compare != 0;
+        }
+    }
+
+    /**
+     * The integer x86 truncation gives for f, the lowest integer when f is
+     * out of range or not a number.
+     */
+    public static int toInt(float f) {
+        return f >= -0x1p31f && f < 0x1p31f ? (int) f : Integer.MIN_VALUE;
+    }
+
+    /**
+     * f as C++ streams print a float by default: six significant digits,
+     * trailing zeros dropped, an exponent for very large and very small values.
+     */
+    public static String format(float f) {
+        if (Float.isNaN(f))
+            return Float.floatToRawIntBits(f) < 0 ? "-nan" : "nan";
+        if (Float.isInfinite(f))
+            return f > 0 ? "inf" : "-inf";
+        if (f == 0)
+            return 1 / f < 0 ? "-0" : "0";
+
+        BigDecimal d = new BigDecimal(f).round(PRECISION);
+        int exponent = d.precision() - d.scale() - 1;
+        if (exponent < -4 || exponent >= PRECISION.getPrecision()) {
+            String digits = strip(d.movePointLeft(exponent).toPlainString());
+            return String.format("%se%c%02d", digits, exponent < 0 ? '-' : '+', Math.abs(exponent));
+        }
+        return strip(d.toPlainString());
+    }
+
+    private static String strip(String number) {
+        if (number.indexOf('.') < 0)
+            return number;
+        number = number.replaceAll("0+$", "");
+        return number.endsWith(".") ? number.substring(0, number.length() - 1) : number;
+    }
+
+}
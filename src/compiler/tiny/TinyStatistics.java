@@ -0,0 +1,68 @@
+package compiler.tiny;
+
+import compiler.tiny.TinyProgram.Instruction;
+import compiler.tiny.TinyProgram.Opcode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * What a run of the simulator executed: instructions and memory operands per
+ * opcode and the cycles it took.
+ */
+@Getter
+public final class TinyStatistics {
+
+    private final long[] executed = new long[Opcode.values().length];
+    // Variable and stack operands, per opcode
+    private final long[] memory = new long[Opcode.values().length];
+    @Setter
+    private long cycles;
+
+    void count(Instruction i) {
+        int op = i.getOpcode().ordinal();
+        executed[op]++;
+        if (i.getA().isMemory())
+            memory[op]++;
+        if (i.getB().isMemory())
+            memory[op]++;
+    }
+
+    /**
+     * Instructions executed, without labels as Tiny counts them.
+     */
+    public long getInstructions() {
+        long total = 0;
+        for (Opcode op : Opcode.values())
+            if (op != Opcode.LABEL)
+                total += executed[op.ordinal()];
+        return total;
+    }
+
+    public long getMemoryAccesses() {
+        long total = 0;
+        for (long m : memory)
+            total += m;
+        return total;
+    }
+
+    public long getExecuted(Opcode op) {
+        return executed[op.ordinal()];
+    }
+
+    public long getMemory(Opcode op) {
+        return memory[op.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        b.append(String.format("#Instructions: %d%n", getInstructions()));
+        b.append(String.format("Memory accesses: %d%n", getMemoryAccesses()));
+        b.append(String.format("Total Cycles = %d%n", cycles));
+        for (Opcode op : Opcode.values())
+            if (executed[op.ordinal()] != 0)
+                b.append(String.format("  %-7s %10d %10d mem%n", op.getName(), executed[op.ordinal()], memory[op.ordinal()]));
+        return b.toString();
+    }
+
+}
@@ -0,0 +1,83 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.MicroErrorMessages;
+import compiler.MicroRuntimeException;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Liveness;
+import compiler.analysis.VariableUniverse;
+import compiler.element.Element;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Whole function allocation over the two address lowering.
+ *
+ * Each round solves liveness on the current code and lets the subclass pick
+ * a register for every candidate, or none. Values without a register live in
+ * memory, and the code is rewritten so they go through short lived scratch
+ * values wherever Tiny needs a register. Rounds repeat until the rewrite
+ * leaves the code unchanged.
+ */
+public abstract class GlobalAllocator implements RegisterAllocator {
+
+    private static final int MAX_ROUNDS = 32;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final int registers;
+    private int spills;
+    private int rounds;
+
+    protected GlobalAllocator(int registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Register of every universe bit of machine, -1 for none. Candidates
+     * left without a register are added to spilled, which keeps the ones of
+     * earlier rounds.
+     */
+    protected abstract int[] color(ControlFlowGraph machine, TinyLowering lowering, Set<String> spilled);
+
+    @Override
+    public IR allocate(ControlFlowGraph cfg) {
+        TinyLowering lowering = new TinyLowering(cfg.getIr());
+        Set<String> spilled = new HashSet<>();
+        IR code = lowering.lower();
+
+        for (rounds = 1; rounds <= MAX_ROUNDS; rounds++) {
+            ControlFlowGraph machine = new ControlFlowGraph(code);
+            Liveness.analyze(machine);
+            int[] colors = color(machine, lowering, spilled);
+            VariableUniverse universe = code.get(0).getUniverse();
+
+            IR next = lowering.rewrite(code, el -> TinyLowering.isCandidate(el) && colorOf(universe, colors, el) >= 0);
+            if (next == null) {
+                spills = spilled.size();
+                return lowering.assign(code, el -> colorOf(universe, colors, el));
+            }
+            code = next;
+        }
+
+        throw new MicroRuntimeException(MicroErrorMessages.RegisterAllocationFailed, cfg.getIr().getFunction());
+    }
+
+    private static int colorOf(VariableUniverse universe, int[] colors, Element el) {
+        int i = universe.indexOf(el);
+        return i >= 0 ? colors[i] : -1;
+    }
+
+    @Override
+    public int getSpills() {
+        return spills;
+    }
+
+    @Override
+    public String toString() {
+        return spills + " spills in " + rounds + " rounds";
+    }
+
+}
@@ -0,0 +1,107 @@
+package compiler.translator;
+
+import compiler.MicroErrorMessages;
+import compiler.MicroRuntimeException;
+import compiler.analysis.ControlFlowGraph;
+import compiler.element.Element;
+
+import java.util.*;
+
+/**
+ * Global register allocation by graph coloring, after Chaitin and Briggs.
+ *
+ * Simplify removes nodes of degree below the register count, and when none
+ * is left pushes the one with the lowest cost per degree optimistically.
+ * Select then colors in reverse, preferring the color of a move partner.
+ * Values left without a color live in memory.
+ */
+public class GraphColoringAllocator extends GlobalAllocator {
+
+    public GraphColoringAllocator(int registers) {
+        super(registers);
+    }
+
+    @Override
+    protected int[] color(ControlFlowGraph machine, TinyLowering lowering, Set<String> spilled) {
+        InterferenceGraph graph = new InterferenceGraph(machine,
+                el -> TinyLowering.isCandidate(el) && !spilled.contains(el.getRef()));
+        return color(graph, lowering, spilled);
+    }
+
+    private int[] color(InterferenceGraph graph, TinyLowering lowering, Set<String> spilled) {
+        BitSet nodes = graph.getNodes();
+        BitSet[] adjacent = graph.getAdjacent();
+        int[] colors = new int[adjacent.length];
+        Arrays.fill(colors, -1);
+
+        int[] degree = new int[adjacent.length];
+        nodes.stream().forEach(v -> degree[v] = adjacent[v].cardinality());
+
+        // Simplify
+        Deque<Integer> stack = new ArrayDeque<>();
+        BitSet remaining = (BitSet) nodes.clone();
+        while (!remaining.isEmpty()) {
+            int pick = remaining.stream().filter(v -> degree[v] < getRegisters()).findFirst().orElse(-1);
+            if (pick < 0)
+                pick = cheapest(graph, lowering, remaining, degree);
+
+            remaining.clear(pick);
+            stack.push(pick);
+            BitSet neighbours = (BitSet) adjacent[pick].clone();
+            neighbours.and(remaining);
+            neighbours.stream().forEach(u -> degree[u]--);
+        }
+
+        // Select
+        List<int[]> moves = graph.getMoves();
+        BitSet used = new BitSet();
+        while (!stack.isEmpty()) {
+            int v = stack.pop();
+            used.clear();
+            adjacent[v].stream().filter(u -> colors[u] >= 0).forEach(u -> used.set(colors[u]));
+
+            int c = used.nextClearBit(0);
+            for (int[] move : moves) {
+                int partner = move[0] == v ? move[1] : move[1] == v ? move[0] : -1;
+                if (partner >= 0 && colors[partner] >= 0 && !used.get(colors[partner])) {
+                    c = colors[partner];
+                    break;
+                }
+            }
+
+            if (c < getRegisters()) {
+                colors[v] = c;
+                continue;
+            }
+
+            Element el = graph.getUniverse().get(v);
+            if (lowering.isScratch(el))
+                throw new MicroRuntimeException(MicroErrorMessages.RegisterAllocationFailed, el.getRef());
+            spilled.add(el.getRef());
+        }
+
+        return colors;
+    }
+
+    // Spill candidate: lowest cost per remaining neighbour, scratch values last
+    private static int cheapest(InterferenceGraph graph, TinyLowering lowering, BitSet remaining, int[] degree) {
+        int best = -1;
+        double bestCost = Double.MAX_VALUE;
+        for (int v = remaining.nextSetBit(0); v >= 0; v = remaining.nextSetBit(v + 1)) {
+            double cost = lowering.isScratch(graph.getUniverse().get(v))
+                    ? Double.MAX_VALUE / 2
+                    : graph.getCost()[v] / Math.max(1, degree[v]);
+            if (best < 0 || cost < bestCost) {
+                best = v;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return "color, " + super.toString();
+    }
+
+}
@@ -0,0 +1,102 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Loops;
+import compiler.analysis.VariableUniverse;
+import compiler.element.Element;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Interference graph of the register candidates of one function.
+ *
+ * Nodes are universe bits. A value written by a node interferes with every
+ * value live after it, except the source of a move, which may share the
+ * register. Values live on entry interfere with each other since they are
+ * all loaded at the LINK. Spill cost is the number of reads and writes of a
+ * value, each weighted by 10 to the loop depth of its block.
+ */
+@Getter
+final class InterferenceGraph {
+
+    private static final int MAX_DEPTH = 8;
+
+    private final VariableUniverse universe;
+    private final BitSet nodes;
+    private final BitSet[] adjacent;
+    private final double[] cost;
+    // Move related pairs, used to bias the choice of color
+    private final List<int[]> moves;
+
+    InterferenceGraph(ControlFlowGraph cfg, Predicate<Element> isNode) {
+        IR ir = cfg.getIr();
+        this.universe = ir.isEmpty() ? null : ir.get(ir.size() - 1).getUniverse();
+        int n = universe == null ? 0 : universe.size();
+        this.nodes = new BitSet(n);
+        this.adjacent = new BitSet[n];
+        this.cost = new double[n];
+        this.moves = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            adjacent[i] = new BitSet();
+            if (isNode.test(universe.get(i)))
+                nodes.set(i);
+        }
+
+        Loops loops = new Loops(cfg);
+        BitSet live = new BitSet();
+        for (BasicBlock block : cfg.getBlocks()) {
+            double weight = Math.pow(10, Math.min(loops.getDepth(block.getId()), MAX_DEPTH));
+            for (IR.Node node : block.getNodes()) {
+                live.clear();
+                live.or(node.getOut());
+                live.and(nodes);
+
+                if (node.getOpcode() == IR.Opcode.LINK)
+                    live.stream().forEach(v -> addEdges(v, live));
+
+                int source = moveSource(node);
+                node.getKill().stream().filter(nodes::get).forEach(d -> {
+                    boolean wasLive = source >= 0 && live.get(source);
+                    if (source >= 0)
+                        live.clear(source);
+                    addEdges(d, live);
+                    if (wasLive)
+                        live.set(source);
+                    if (source >= 0)
+                        moves.add(new int[] { d, source });
+                });
+
+                BitSet touched = (BitSet) node.getGen().clone();
+                touched.or(node.getKill());
+                touched.and(nodes);
+                touched.stream().forEach(v -> cost[v] += weight);
+            }
+        }
+    }
+
+    private void addEdges(int v, BitSet others) {
+        others.stream().filter(u -> u != v).forEach(u -> {
+            adjacent[v].set(u);
+            adjacent[u].set(v);
+        });
+    }
+
+    // Candidate read by a register move, -1 when node is not one
+    private int moveSource(IR.Node node) {
+        if (!TinyTranslator.StoreSet.contains(node.getOpcode()) || node.getOp1().isConstant())
+            return -1;
+        int i = universe.indexOf(node.getOp1());
+        return i >= 0 && nodes.get(i) ? i : -1;
+    }
+
+    public int indexOf(Element el) {
+        return universe == null ? -1 : universe.indexOf(el);
+    }
+
+}
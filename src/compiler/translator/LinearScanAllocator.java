@@ -0,0 +1,115 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.VariableUniverse;
+
+import java.util.*;
+
+/**
+ * Linear scan register allocation, after Poletto and Sarkar.
+ *
+ * The live interval of a value spans from the first to the last node, in IR
+ * order, where it is read, written or live out. Intervals are visited by
+ * start; one that ends at or before the current start gives its register
+ * back, since Tiny reads operands before writing the result. When no
+ * register is free, the interval ending last goes to memory. Everything is a
+ * single pass over the nodes plus a heap bounded by the register count.
+ */
+public class LinearScanAllocator extends GlobalAllocator {
+
+    public LinearScanAllocator(int registers) {
+        super(registers);
+    }
+
+    @Override
+    protected int[] color(ControlFlowGraph machine, TinyLowering lowering, Set<String> spilled) {
+        IR code = machine.getIr();
+        VariableUniverse universe = code.get(0).getUniverse();
+        int n = universe.size();
+        int[] start = new int[n];
+        int[] end = new int[n];
+        Arrays.fill(start, -1);
+
+        BitSet candidates = new BitSet(n);
+        for (int i = 0; i < n; i++)
+            if (TinyLowering.isCandidate(universe.get(i)) && !spilled.contains(universe.get(i).getRef()))
+                candidates.set(i);
+
+        BitSet touched = new BitSet(n);
+        for (int p = 0; p < code.size(); p++) {
+            IR.Node node = code.get(p);
+            touched.clear();
+            touched.or(node.getGen());
+            touched.or(node.getKill());
+            touched.or(node.getOut());
+            touched.and(candidates);
+            for (int v = touched.nextSetBit(0); v >= 0; v = touched.nextSetBit(v + 1)) {
+                if (start[v] < 0)
+                    start[v] = p;
+                end[v] = p;
+            }
+        }
+
+        // Bucket intervals by start so they come out in order without sorting
+        List<List<Integer>> starting = new ArrayList<>(code.size());
+        for (int p = 0; p < code.size(); p++)
+            starting.add(null);
+        for (int v = candidates.nextSetBit(0); v >= 0; v = candidates.nextSetBit(v + 1)) {
+            if (start[v] < 0)
+                continue;
+            if (starting.get(start[v]) == null)
+                starting.set(start[v], new ArrayList<>(2));
+            starting.get(start[v]).add(v);
+        }
+
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+        Deque<Integer> free = new ArrayDeque<>();
+        for (int r = 0; r < getRegisters(); r++)
+            free.add(r);
+        PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.comparingInt(v -> end[v]));
+        PriorityQueue<Integer> latest = new PriorityQueue<>(Comparator.comparingInt(v -> -end[v]));
+
+        for (int p = 0; p < code.size(); p++) {
+            if (starting.get(p) == null)
+                continue;
+            for (int v : starting.get(p)) {
+                while (!active.isEmpty() && end[active.peek()] <= p) {
+                    int done = active.poll();
+                    latest.remove(done);
+                    free.push(colors[done]);
+                }
+
+                if (!free.isEmpty()) {
+                    colors[v] = free.pop();
+                    active.add(v);
+                    latest.add(v);
+                    continue;
+                }
+
+                // Send whichever interval reaches furthest to memory, never a scratch
+                int victim = latest.peek();
+                if (end[victim] > end[v] && !lowering.isScratch(universe.get(victim)) || lowering.isScratch(universe.get(v))) {
+                    latest.poll();
+                    active.remove(victim);
+                    colors[v] = colors[victim];
+                    colors[victim] = -1;
+                    spilled.add(universe.get(victim).getRef());
+                    active.add(v);
+                    latest.add(v);
+                } else {
+                    spilled.add(universe.get(v).getRef());
+                }
+            }
+        }
+
+        return colors;
+    }
+
+    @Override
+    public String toString() {
+        return "linear, " + super.toString();
+    }
+
+}
@@ -0,0 +1,135 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.SymbolMap;
+import compiler.analysis.BasicBlock;
+import compiler.analysis.ControlFlowGraph;
+import compiler.element.Element;
+import compiler.element.Register;
+
+import java.util.List;
+
+/**
+ * Allocates registers one basic block at a time through a RegisterFile,
+ * writing values back to memory at block boundaries.
+ */
+public class LocalAllocator implements RegisterAllocator {
+
+    private final int registers;
+    private int spills;
+
+    public LocalAllocator(int registers) {
+        this.registers = registers;
+    }
+
+    @Override
+    public IR allocate(ControlFlowGraph cfg) {
+        SymbolMap globalSymbolMap = cfg.getIr().getGlobalSymbolMap();
+        IR tinyIR = new IR(globalSymbolMap);
+        RegisterFile rf = new RegisterFile(registers);
+
+        int localCount = 0;
+        List<BasicBlock> blocks = cfg.getBlocks();
+        for (BasicBlock block : blocks) {
+            for (IR.Node n : block.getNodes()) {
+                if (n.getOpcode() == IR.Opcode.LINK)
+                    localCount = n.getFocus().getCtxVal();
+
+                IR.Node newNode = allocate(n, rf, tinyIR, localCount);
+
+                if (n.getOpcode() == IR.Opcode.JSR)
+                    rf.flushGlobals(tinyIR, localCount);
+                else if (n.isTransfer())
+                    rf.flush(tinyIR, n, localCount);
+
+                if (n.isReturn())
+                    rf.freeAll();
+
+                tinyIR.add(newNode);
+            }
+
+            // Registers can stay put when falling into a block with no other
+            // predecessor, which includes the return point of every JSR
+            int next = block.getId() + 1;
+            boolean extended = next < blocks.size() && blocks.get(next).getPredecessors().length == 1;
+            if (!block.endsWithTransfer() && !extended)
+                rf.flush(tinyIR, block.getLast(), localCount);
+        }
+
+        spills = rf.getSpills();
+        return tinyIR;
+    }
+
+    private IR.Node allocate(IR.Node n, RegisterFile rf, IR tinyIR, int localCount) {
+        Register rx = null, ry = null, rz;
+        Element tOp1 = n.getOp1(), tOp2 = n.getOp2(), tFocus = n.getFocus();
+
+        if (!TinyTranslator.IgnoreRASet.contains(n.getOpcode())) {
+            boolean ensureOp1 = tOp1 != null && !tOp1.isConstant();
+            boolean ensureOp2 = tOp2 != null && !tOp2.isConstant();
+
+            if (ensureOp1)
+                tOp1 = rx = rf.ensure(tOp1, n, tinyIR, localCount);
+
+            if (ensureOp2)
+                tOp2 = ry = rf.ensure(tOp2, n, tinyIR, localCount);
+
+            if (ensureOp1 && !n.isElementLive(n.getOp1()))
+                rf.free(rx, tinyIR, n, localCount);
+
+            if (ensureOp2 && !n.isElementLive(n.getOp2()))
+                rf.free(ry, tinyIR, n, localCount);
+
+            if (TinyTranslator.CalcSet.contains(n.getOpcode())) {
+                // The focus may already sit in another register, which now
+                // holds an old value
+                rf.discard(tFocus, rx);
+                tFocus = rf.transfer(rx, tFocus, tinyIR, n, localCount);
+                rx.setDirty(true);
+            } else if (tFocus != null && n.getOpcode() == IR.Opcode.PUSH) {
+                // Arguments are pushed straight from memory, nothing may be
+                // loaded between the caller saves and the JSR
+                Register r = rf.get(tFocus);
+                tFocus = r != null ? r : tFocus.getTinyElement(localCount);
+            } else if (tFocus != null && n.getOpcode() == IR.Opcode.POP) {
+                // Caller saved registers are restored after this pop, so the
+                // result may not evict one of them
+                rz = rf.get(tFocus);
+                if (rz == null)
+                    rz = rf.allocateFree(tFocus);
+                if (rz == null) {
+                    tFocus = tFocus.getTinyElement(localCount);
+                } else {
+                    tFocus = rz;
+                    rz.setDirty(true);
+                }
+            } else if (tFocus != null && TinyTranslator.CheckRASet.contains(n.getOpcode())) {
+                tFocus = rf.ensure(tFocus, n, tinyIR, localCount);
+            } else if (tFocus != null && tFocus.isReturn()) {
+                tFocus = tFocus.getTinyElement(localCount);
+            } else if (tFocus != null && TinyTranslator.StoreSet.contains(n.getOpcode())) {
+                tFocus = rz = rf.get(tFocus);
+                if (tFocus == null)
+                    tFocus = rz = rf.allocate(n.getFocus(), n, tinyIR, localCount);
+                rz.setDirty(true);
+            } else if (tFocus != null && !TinyTranslator.CompSet.contains(n.getOpcode())) {
+                rf.discard(tFocus, null);
+                tFocus = rz = rf.allocate(n.getFocus(), n, tinyIR, localCount);
+                rz.setDirty(true);
+            }
+        }
+
+        return new IR.Node(n.getOpcode(), RegisterFile.pin(tOp1), RegisterFile.pin(tOp2), RegisterFile.pin(tFocus));
+    }
+
+    @Override
+    public int getSpills() {
+        return spills;
+    }
+
+    @Override
+    public String toString() {
+        return "local, " + spills + " spills";
+    }
+
+}
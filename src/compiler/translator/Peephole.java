@@ -0,0 +1,58 @@
+package compiler.translator;
+
+import compiler.IR;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Peephole stage between register assignment and emission.
+ *
+ * Every round tries each rule over the whole function, and rounds repeat
+ * until no rule fires, since one rewrite often makes room for another. Hits
+ * are counted per rule across every function given to the same instance.
+ */
+public final class Peephole {
+
+    private final Map<PeepholeRule.Kind, PeepholeRule> rules = new EnumMap<>(PeepholeRule.Kind.class);
+    private final Map<PeepholeRule.Kind, Integer> hits = new EnumMap<>(PeepholeRule.Kind.class);
+
+    public Peephole(Set<PeepholeRule.Kind> kinds) {
+        kinds.forEach(k -> {
+            rules.put(k, k.create());
+            hits.put(k, 0);
+        });
+    }
+
+    public IR apply(IR tinyIR) {
+        if (rules.isEmpty())
+            return tinyIR;
+
+        List<IR.Node> code = new ArrayList<>(tinyIR);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<PeepholeRule.Kind, PeepholeRule> rule : rules.entrySet()) {
+                int n = rule.getValue().rewrite(code);
+                hits.merge(rule.getKey(), n, Integer::sum);
+                changed |= n > 0;
+            }
+        }
+
+        IR out = new IR(tinyIR.getGlobalSymbolMap());
+        code.forEach(out::add);
+        return out;
+    }
+
+    public int getHits(PeepholeRule.Kind kind) {
+        return hits.getOrDefault(kind, 0);
+    }
+
+    @Override
+    public String toString() {
+        return hits.entrySet().stream()
+                .map(e -> e.getKey().getName() + " " + e.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+}
@@ -0,0 +1,47 @@
+package compiler.translator;
+
+import compiler.IR;
+
+import java.util.List;
+
+/**
+ * A local rewrite of Tiny shaped IR, run after registers are assigned and
+ * saved around calls, right before emission.
+ */
+public interface PeepholeRule {
+
+    // In the order a round of the peephole stage tries them
+    enum Kind {
+        // Within straight line code, move a b makes a later move b a or a
+        // repeat of itself redundant, and a later load of b, when b is
+        // memory and a a register, a register to register move
+        STORE_LOAD,
+        // Jumps and branches to the label right after them
+        JUMP_NEXT,
+        // Jumps and branches to a label that only jumps on
+        JUMP_CHAIN,
+        // push x; pop y becomes move x y
+        PUSH_POP;
+
+        public PeepholeRule create() {
+            switch (this) {
+                case JUMP_NEXT:
+                    return new PeepholeRules.JumpNext();
+                case JUMP_CHAIN:
+                    return new PeepholeRules.JumpChain();
+                case PUSH_POP:
+                    return new PeepholeRules.PushPop();
+                default:
+                    return new PeepholeRules.StoreLoad();
+            }
+        }
+
+        public String getName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    // Rewrites code in place, returns the number of rewrites done
+    int rewrite(List<IR.Node> code);
+
+}
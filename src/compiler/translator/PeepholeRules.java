@@ -0,0 +1,169 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.element.Element;
+import compiler.element.Label;
+
+import java.util.*;
+
+/**
+ * The stock peephole rules, one per PeepholeRule.Kind.
+ */
+final class PeepholeRules {
+
+    private PeepholeRules() {}
+
+    static final class StoreLoad implements PeepholeRule {
+
+        @Override
+        public int rewrite(List<IR.Node> code) {
+            int hits = 0;
+            for (int i = 0; i < code.size(); i++) {
+                IR.Node store = code.get(i);
+                if (!isMove(store))
+                    continue;
+                String from = store.getOp1().getRef(), to = store.getFocus().getRef();
+
+                // Later moves up to the end of the straight line code, while
+                // neither side of the store is written
+                for (int j = i + 1; j < code.size() && !endsRun(code.get(j)); j++) {
+                    IR.Node load = code.get(j);
+                    if (isMove(load) && load.getOp1().getRef().equals(to)) {
+                        if (load.getFocus().getRef().equals(from)) {
+                            code.remove(j--);
+                            hits++;
+                        } else if (isRegister(store.getOp1()) && !isRegister(store.getFocus())) {
+                            code.set(j, new IR.Node(load.getOpcode(), store.getOp1(), load.getFocus()));
+                            hits++;
+                        }
+                    } else if (isMove(load) && load.getOp1().getRef().equals(from) && load.getFocus().getRef().equals(to)) {
+                        code.remove(j--);
+                        hits++;
+                        continue;
+                    }
+                    if (writes(load, from) || writes(load, to))
+                        break;
+                }
+            }
+            return hits;
+        }
+
+        private static boolean endsRun(IR.Node n) {
+            return n.getOpcode() == IR.Opcode.LABEL || n.isTransfer() || n.getOpcode() == IR.Opcode.LINK;
+        }
+
+        private static boolean writes(IR.Node n, String ref) {
+            if (n.getFocus() == null || !n.getFocus().getRef().equals(ref))
+                return false;
+            switch (n.getOpcode()) {
+                case POP:
+                case READI:
+                case READF:
+                    return true;
+                default:
+                    return isMove(n) || TinyTranslator.CalcSet.contains(n.getOpcode());
+            }
+        }
+
+    }
+
+    static final class JumpNext implements PeepholeRule {
+
+        @Override
+        public int rewrite(List<IR.Node> code) {
+            int hits = 0;
+            for (int i = 0; i < code.size(); i++) {
+                IR.Node n = code.get(i);
+                if (!isBranch(n))
+                    continue;
+                for (int j = i + 1; j < code.size() && code.get(j).getOpcode() == IR.Opcode.LABEL; j++)
+                    if (code.get(j).getFocus().getName().equals(n.getFocus().getName())) {
+                        code.remove(i--);
+                        hits++;
+                        break;
+                    }
+            }
+            return hits;
+        }
+
+    }
+
+    static final class JumpChain implements PeepholeRule {
+
+        @Override
+        public int rewrite(List<IR.Node> code) {
+            Map<String, Integer> labels = new HashMap<>();
+            for (int i = 0; i < code.size(); i++)
+                if (code.get(i).getOpcode() == IR.Opcode.LABEL)
+                    labels.put(code.get(i).getFocus().getName(), i);
+
+            int hits = 0;
+            for (int i = 0; i < code.size(); i++) {
+                IR.Node n = code.get(i);
+                if (!isBranch(n))
+                    continue;
+                String target = n.getFocus().getName();
+                Set<String> seen = new HashSet<>();
+                while (seen.add(target) && labels.containsKey(target)) {
+                    IR.Node next = firstAfter(code, labels.get(target));
+                    if (next == null || next.getOpcode() != IR.Opcode.JUMP)
+                        break;
+                    target = next.getFocus().getName();
+                }
+                if (!target.equals(n.getFocus().getName())) {
+                    code.set(i, new IR.Node(n.getOpcode(), n.getOp1(), n.getOp2(), new Label(target)));
+                    hits++;
+                }
+            }
+            return hits;
+        }
+
+        // First instruction at or after i that is not a label
+        private static IR.Node firstAfter(List<IR.Node> code, int i) {
+            while (i < code.size() && code.get(i).getOpcode() == IR.Opcode.LABEL)
+                i++;
+            return i < code.size() ? code.get(i) : null;
+        }
+
+    }
+
+    static final class PushPop implements PeepholeRule {
+
+        @Override
+        public int rewrite(List<IR.Node> code) {
+            int hits = 0;
+            for (int i = 0; i + 1 < code.size(); i++) {
+                IR.Node push = code.get(i), pop = code.get(i + 1);
+                if (push.getOpcode() != IR.Opcode.PUSH || pop.getOpcode() != IR.Opcode.POP)
+                    continue;
+
+                Element from = push.getFocus(), to = pop.getFocus();
+                if (from == null && to == null || from != null && to != null && from.getRef().equals(to.getRef())) {
+                    code.subList(i, i + 2).clear();
+                    hits++;
+                    i--;
+                } else if (from != null && to != null && (isRegister(from) || isRegister(to))) {
+                    // Tiny moves need a register on one side
+                    code.subList(i, i + 2).clear();
+                    code.add(i, new IR.Node(from.isFloat() ? IR.Opcode.STOREF : IR.Opcode.STOREI, from, to));
+                    hits++;
+                }
+            }
+            return hits;
+        }
+
+    }
+
+    private static boolean isMove(IR.Node n) {
+        return TinyTranslator.StoreSet.contains(n.getOpcode());
+    }
+
+    private static boolean isBranch(IR.Node n) {
+        return n.getOpcode() == IR.Opcode.JUMP || TinyTranslator.CompSet.contains(n.getOpcode());
+    }
+
+    private static boolean isRegister(Element el) {
+        return el.getCtx() == Element.Context.REGISTER;
+    }
+
+}
@@ -0,0 +1,41 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.analysis.ControlFlowGraph;
+
+/**
+ * Maps the elements of one function onto Tiny registers and memory.
+ *
+ * The result is Tiny shaped IR: arithmetic is two address with the focus
+ * register already holding the first operand, and every operand is a
+ * register, a stack slot, a global or a constant.
+ */
+public interface RegisterAllocator {
+
+    enum Kind {
+        // Per block allocation over a small register file
+        LOCAL,
+        // Chaitin/Briggs graph coloring over the whole function
+        COLOR,
+        // Linear scan over live intervals, for fast compiles
+        LINEAR;
+
+        public RegisterAllocator create(int registers) {
+            switch (this) {
+                case COLOR:
+                    return new GraphColoringAllocator(registers);
+                case LINEAR:
+                    return new LinearScanAllocator(registers);
+                default:
+                    return new LocalAllocator(registers);
+            }
+        }
+    }
+
+    // Needs liveness to have been solved on cfg
+    IR allocate(ControlFlowGraph cfg);
+
+    // Values sent to memory to free a register by the last allocate
+    int getSpills();
+
+}
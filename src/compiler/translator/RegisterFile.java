@@ -3,6 +3,7 @@ package compiler.translator;
 import compiler.element.Register;
 import compiler.IR;
 import compiler.element.Element;
+import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,6 +13,10 @@ public class RegisterFile {
 
     List<Register> file;
 
+    // Times a register had to be taken from a live value
+    @Getter
+    private int spills;
+
     RegisterFile(int num) {
         file = new ArrayList<>(num);
         IntStream.range(0, num).forEach(i -> file.add(new Register(i, null, false)));
@@ -36,6 +41,7 @@ public class RegisterFile {
 
         // If there were no free registers, choose a register and free it
         if (r == null) {
+            spills++;
             r = chooseFree(node);
             free(r, tinyIR, node, localCount);
         }
@@ -45,6 +51,18 @@ public class RegisterFile {
         return r;
     }
 
+    // Like allocate, but never takes a register from a live value
+    public Register allocateFree(Element el) {
+        Register r = file.stream()
+                .filter(reg -> reg.getData() == null)
+                .findFirst().orElse(null);
+        if (r != null) {
+            r.setData(el);
+            r.setType(el.getType());
+        }
+        return r;
+    }
+
     private Register chooseFree(IR.Node ins) {
         return file.stream().filter(r -> {
             boolean op1Valid = ins.getOp1() == null || !r.getData().getRef().equals(ins.getOp1().getRef());
@@ -77,6 +95,16 @@ public class RegisterFile {
         return r;
     }
 
+    // Forgets a register other than keep that holds el, whose value is about
+    // to be replaced
+    public void discard(Element el, Register keep) {
+        Register r = get(el);
+        if (r != null && r != keep) {
+            r.setData(null);
+            r.setDirty(false);
+        }
+    }
+
     public Register get(Element var) {
         return file.stream()
                 .filter(r -> r.getData() != null)
@@ -86,12 +114,37 @@ public class RegisterFile {
 
     private void move(Element from, Element to, IR tinyIR, int localCount) {
         IR.Opcode opcode = from.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF;
-        tinyIR.add(new IR.Node(opcode, from.getTinyElement(localCount), to.getTinyElement(localCount)));
+        tinyIR.add(new IR.Node(opcode, pin(from.getTinyElement(localCount)), pin(to.getTinyElement(localCount))));
+    }
+
+    // Registers of the file change hands, emitted code keeps a copy of what
+    // one held at that point so its type stays right
+    static Element pin(Element el) {
+        if (!(el instanceof Register))
+            return el;
+        Register r = (Register) el;
+        Register copy = new Register(r.getId(), r.getData(), r.isDirty());
+        copy.setType(r.getType());
+        return copy;
     }
 
-    public void flush(IR tinyIR, int localCount) {
+    // Writes back dirty registers still live after node and empties the file
+    public void flush(IR tinyIR, IR.Node node, int localCount) {
         file.stream()
                 .filter(r -> r.getData() != null)
+                .forEach(r -> {
+                    if (r.isDirty() && node.isElementLive(r.getData()))
+                        move(r, r.getData(), tinyIR, localCount);
+                    r.setData(null);
+                    r.setDirty(false);
+                });
+    }
+
+    // Callees read and write globals in memory, while the registers themselves
+    // are saved around the call, so only globals have to leave the file
+    public void flushGlobals(IR tinyIR, int localCount) {
+        file.stream()
+                .filter(r -> r.getData() != null && r.getData().getCtx() == Element.Context.VARIABLE)
                 .forEach(r -> {
                     if (r.isDirty())
                         move(r, r.getData(), tinyIR, localCount);
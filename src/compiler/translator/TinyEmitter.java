@@ -0,0 +1,53 @@
+package compiler.translator;
+
+import compiler.MicroRuntimeException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Append only buffer of Tiny source lines.
+ *
+ * Each function fills its own emitter, so emission needs no locking, and the
+ * emitters are written out in order by a single writer afterwards.
+ */
+public final class TinyEmitter {
+
+    // Rough size of one emitted Tiny line, used to pre-size buffers
+    public static final int LINE_SIZE = 16;
+
+    private final StringBuilder b;
+
+    public TinyEmitter(int capacity) {
+        this.b = new StringBuilder(capacity);
+    }
+
+    public TinyEmitter emit(String command) {
+        b.append(command).append('\n');
+        return this;
+    }
+
+    public TinyEmitter emit(String command, String a) {
+        b.append(command).append(' ').append(a).append('\n');
+        return this;
+    }
+
+    public TinyEmitter emit(String command, String a, String c) {
+        b.append(command).append(' ').append(a).append(' ').append(c).append('\n');
+        return this;
+    }
+
+    public void writeTo(Writer out) {
+        try {
+            out.append(b);
+        } catch (IOException e) {
+            throw new MicroRuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return b.toString();
+    }
+
+}
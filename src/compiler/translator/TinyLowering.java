@@ -0,0 +1,264 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.element.Element;
+import compiler.element.Register;
+import compiler.element.Temporary;
+
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Two address form of one function, shared by the global allocators.
+ *
+ * Arithmetic becomes a copy of the first operand into the focus followed by
+ * the operation on the focus, so liveness over this form sees the focus
+ * written before the second operand is read. Globals are read through a
+ * shadow copy that may be kept in a register: it is loaded on entry and after
+ * every JSR, and written back before every JSR and every RETURN but main's
+ * when the function writes it. Operands stay elements until assign() maps them to registers or
+ * their home in memory.
+ */
+final class TinyLowering {
+
+    private static final String MAIN = "main";
+
+    // Register copy of a global, whose home is the global itself
+    private static final class Shadow extends Element {
+
+        private static final String PREFIX = "$G";
+
+        private final Element global;
+
+        private Shadow(Element global) {
+            super(Context.TEMPORARY, 0, global.getName(), global.getType(), null);
+            this.global = global;
+        }
+
+        @Override
+        public String getRef() {
+            return PREFIX + global.getRef();
+        }
+
+        @Override
+        public Element getTinyElement(int localCount) {
+            return global;
+        }
+
+    }
+
+    private final IR function;
+    private final int localCount;
+    // Scratch temporaries are numbered after the function's own
+    private int nextScratch;
+    private final Set<String> scratch = new HashSet<>();
+
+    TinyLowering(IR function) {
+        this.function = function;
+        int locals = 0, temps = 0;
+        for (IR.Node n : function) {
+            if (n.getOpcode() == IR.Opcode.LINK)
+                locals = n.getFocus().getCtxVal();
+            for (Element el : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() })
+                if (el != null && el.getCtx() == Element.Context.TEMPORARY)
+                    temps = Math.max(temps, el.getCtxVal());
+        }
+        this.localCount = locals;
+        this.nextScratch = temps + 1;
+    }
+
+    // Locals, parameters and temporaries may be kept in registers
+    static boolean isCandidate(Element el) {
+        if (el == null)
+            return false;
+        switch (el.getCtx()) {
+            case TEMPORARY:
+            case FLOCAL:
+            case FPARAM:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Scratch values only live across an instruction or two and are never spilled
+    boolean isScratch(Element el) {
+        return scratch.contains(el.getRef());
+    }
+
+    IR lower() {
+        Map<String, Shadow> shadows = new LinkedHashMap<>();
+        Set<String> written = new HashSet<>();
+        for (IR.Node n : function) {
+            for (Element el : new Element[] { n.getOp1(), n.getOp2(), n.getFocus() })
+                if (el != null && el.getCtx() == Element.Context.VARIABLE && !el.isString())
+                    shadows.computeIfAbsent(el.getRef(), ref -> new Shadow(el));
+            if (n.getFocus() != null && n.getFocus().getCtx() == Element.Context.VARIABLE && n.getKill().cardinality() > 0)
+                written.add(n.getFocus().getRef());
+        }
+
+        IR code = newIR();
+        for (IR.Node n : function) {
+            IR.Opcode opcode = n.getOpcode();
+            // Nothing reads globals once main returns
+            boolean halts = opcode == IR.Opcode.RETURN && MAIN.equals(function.getFunction());
+            if ((opcode == IR.Opcode.JSR || opcode == IR.Opcode.RETURN) && !halts)
+                shadows.values().stream().filter(g -> written.contains(g.global.getRef()))
+                        .forEach(g -> code.add(store(g, g.global)));
+
+            Element a = shadow(n.getOp1(), shadows), b = shadow(n.getOp2(), shadows), focus = shadow(n.getFocus(), shadows);
+            if (!TinyTranslator.CalcSet.contains(opcode)) {
+                code.add(new IR.Node(opcode, a, b, focus));
+            } else {
+                lowerCalc(code, n, a, b, focus);
+            }
+
+            if (opcode == IR.Opcode.LINK || opcode == IR.Opcode.JSR)
+                shadows.values().forEach(g -> code.add(store(g.global, g)));
+        }
+        return code;
+    }
+
+    private static Element shadow(Element el, Map<String, Shadow> shadows) {
+        if (el == null || el.getCtx() != Element.Context.VARIABLE)
+            return el;
+        Shadow g = shadows.get(el.getRef());
+        return g == null ? el : g;
+    }
+
+    private void lowerCalc(IR code, IR.Node n, Element a, Element b, Element focus) {
+        IR.Opcode opcode = n.getOpcode();
+        if (same(b, focus) && !same(a, focus)) {
+            if (n.isCommutative()) {
+                Element t = a;
+                a = b;
+                b = t;
+            } else {
+                // The focus would be overwritten before b is read
+                Element t = newScratch(focus.getType());
+                code.add(store(a, t));
+                code.add(new IR.Node(opcode, t, b, t));
+                code.add(store(t, focus));
+                return;
+            }
+        }
+
+        if (!same(a, focus))
+            code.add(store(a, focus));
+        code.add(new IR.Node(opcode, focus, b, focus));
+    }
+
+    /**
+     * Routes every value that is not in a register through a scratch
+     * temporary wherever Tiny needs a register: the focus of arithmetic, the
+     * second operand of a comparison and one side of a memory to memory move.
+     * Returns null when code needs no change.
+     */
+    IR rewrite(IR code, Predicate<Element> inRegister) {
+        IR out = newIR();
+        boolean changed = false;
+        for (IR.Node n : code) {
+            IR.Opcode opcode = n.getOpcode();
+            Element op1 = n.getOp1(), op2 = n.getOp2(), focus = n.getFocus();
+
+            if (TinyTranslator.CalcSet.contains(opcode) && !inRegister.test(focus)) {
+                Element t = newScratch(focus.getType());
+                IR.Node last = out.isEmpty() ? null : out.get(out.size() - 1);
+                if (last != null && TinyTranslator.StoreSet.contains(last.getOpcode()) && same(last.getFocus(), focus)) {
+                    // Load the first operand straight into the scratch
+                    out.remove(out.size() - 1);
+                    out.add(store(last.getOp1(), t));
+                } else {
+                    out.add(store(focus, t));
+                }
+                out.add(new IR.Node(opcode, t, op2, t));
+                if (n.isElementLive(focus))
+                    out.add(store(t, focus));
+                changed = true;
+            } else if (TinyTranslator.CompSet.contains(opcode) && !inRegister.test(op2)) {
+                Element t = newScratch(op2.getType());
+                out.add(store(op2, t));
+                out.add(new IR.Node(opcode, op1, t, focus));
+                changed = true;
+            } else if (TinyTranslator.StoreSet.contains(opcode) && !op1.isConstant()
+                    && !inRegister.test(op1) && !inRegister.test(focus) && !same(home(op1), home(focus))) {
+                Element t = newScratch(op1.getType());
+                out.add(store(op1, t));
+                out.add(store(t, focus));
+                changed = true;
+            } else {
+                out.add(copy(n));
+            }
+        }
+        return changed ? out : null;
+    }
+
+    /**
+     * Final Tiny IR: candidates with a color become that register, everything
+     * else goes to its home in memory. Registers holding a value that is live
+     * on entry, such as a parameter, are loaded right after the LINK.
+     */
+    IR assign(IR code, ToIntFunction<Element> color) {
+        IR tiny = new IR(function.getGlobalSymbolMap());
+        for (IR.Node n : code) {
+            // Moves into a value nobody reads, such as a shadow reloaded after
+            // a JSR, are dropped
+            boolean dead = TinyTranslator.StoreSet.contains(n.getOpcode())
+                    && isCandidate(n.getFocus()) && !n.isElementLive(n.getFocus());
+            if (!dead)
+                tiny.add(new IR.Node(n.getOpcode(), place(n.getOp1(), color), place(n.getOp2(), color), place(n.getFocus(), color)));
+            if (n.getOpcode() != IR.Opcode.LINK)
+                continue;
+
+            BitSet live = n.getOut();
+            IntFunction<Element> element = i -> n.getUniverse().get(i);
+            live.stream().mapToObj(element)
+                    .filter(el -> isCandidate(el) && color.applyAsInt(el) >= 0)
+                    .forEach(el -> tiny.add(store(el.getTinyElement(localCount), place(el, color))));
+        }
+        return tiny;
+    }
+
+    private Element place(Element el, ToIntFunction<Element> color) {
+        if (el == null)
+            return null;
+        if (!isCandidate(el))
+            return el.getTinyElement(localCount);
+
+        int c = color.applyAsInt(el);
+        if (c < 0)
+            return el.getTinyElement(localCount);
+        Register r = new Register(c, el, false);
+        r.setType(el.getType());
+        return r;
+    }
+
+    private Element home(Element el) {
+        return el.getTinyElement(localCount);
+    }
+
+    private IR newIR() {
+        return new IR(function.getGlobalSymbolMap(), function.getFunction());
+    }
+
+    private Temporary newScratch(Element.Type type) {
+        Temporary t = new Temporary(nextScratch++, type);
+        scratch.add(t.getRef());
+        return t;
+    }
+
+    private static IR.Node copy(IR.Node n) {
+        return new IR.Node(n.getOpcode(), n.getOp1(), n.getOp2(), n.getFocus());
+    }
+
+    private static IR.Node store(Element from, Element to) {
+        return new IR.Node(from.isInt() ? IR.Opcode.STOREI : IR.Opcode.STOREF, from, to);
+    }
+
+    private static boolean same(Element a, Element b) {
+        return a != null && b != null && a.getRef().equals(b.getRef());
+    }
+
+}
@@ -1,22 +1,23 @@
 package compiler.translator;
 
 import java.util.*;
-import java.util.stream.IntStream;
 
 import compiler.IR;
 import compiler.MicroErrorMessages;
 import compiler.MicroRuntimeException;
 import compiler.SymbolMap;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Liveness;
 import compiler.element.Element;
-import compiler.element.Register;
 
 public class TinyTranslator {
 
-    private static final int STACK = 5;
+    // Registers of the stock Tiny machine
+    public static final int REGISTERS = 4;
     private static final Map<IR.Opcode, String> dict;
 
     static {
-        Map<IR.Opcode, String> _dict = new HashMap<>();
+        Map<IR.Opcode, String> _dict = new EnumMap<>(IR.Opcode.class);
         _dict.put(IR.Opcode.ADDI, "addi");
         _dict.put(IR.Opcode.ADDF, "addr");
         _dict.put(IR.Opcode.SUBI, "subi");
@@ -51,158 +52,118 @@ public class TinyTranslator {
         GENERIC, CALC, COMP, JSR, RET, STORE
     }
 
-    private static EnumSet<IR.Opcode> CalcSet = EnumSet.of(
+    static final EnumSet<IR.Opcode> CalcSet = EnumSet.of(
             IR.Opcode.ADDI, IR.Opcode.ADDF, IR.Opcode.SUBI, IR.Opcode.SUBF,
             IR.Opcode.MULTI, IR.Opcode.MULTF, IR.Opcode.DIVI, IR.Opcode.DIVF
     );
 
-    private static EnumSet<IR.Opcode> CompSet = EnumSet.of(
+    static final EnumSet<IR.Opcode> CompSet = EnumSet.of(
             IR.Opcode.GT, IR.Opcode.GE, IR.Opcode.LT, IR.Opcode.LE, IR.Opcode.NE, IR.Opcode.EQ
     );
 
-    private static EnumSet<IR.Opcode> StoreSet = EnumSet.of(
+    static final EnumSet<IR.Opcode> StoreSet = EnumSet.of(
             IR.Opcode.STOREI, IR.Opcode.STOREF
     );
 
-    private static EnumSet<IR.Opcode> GenericSet = EnumSet.of(
+    static final EnumSet<IR.Opcode> GenericSet = EnumSet.of(
             IR.Opcode.JUMP, IR.Opcode.LABEL, IR.Opcode.PUSH, IR.Opcode.POP, IR.Opcode.LINK,
             IR.Opcode.READI, IR.Opcode.READF, IR.Opcode.WRITEI, IR.Opcode.WRITEF, IR.Opcode.WRITES
     );
 
-    private static EnumSet<IR.Opcode> IgnoreRASet = EnumSet.of(
+    static final EnumSet<IR.Opcode> IgnoreRASet = EnumSet.of(
             IR.Opcode.LINK, IR.Opcode.LABEL, IR.Opcode.JSR, IR.Opcode.JUMP, IR.Opcode.WRITES
     );
 
-    private static EnumSet<IR.Opcode> CheckRASet = EnumSet.of(
-            IR.Opcode.PUSH, IR.Opcode.WRITEI, IR.Opcode.WRITEF
+    static final EnumSet<IR.Opcode> CheckRASet = EnumSet.of(
+            IR.Opcode.WRITEI, IR.Opcode.WRITEF
     );
 
-    public TinyTranslator() {}
+    private final RegisterAllocator allocator;
+    private final Peephole peephole;
 
-    public void printTinyFromIR(List<SymbolMap> symbolMaps, IR ir) {
-        SymbolMap globalSymbolMap = symbolMaps.get(0);
-        System.out.println(";tiny code");
+    public TinyTranslator() {
+        this(RegisterAllocator.Kind.LOCAL.create(REGISTERS));
+    }
+
+    public TinyTranslator(RegisterAllocator allocator) {
+        this(allocator, new Peephole(EnumSet.noneOf(PeepholeRule.Kind.class)));
+    }
+
+    public TinyTranslator(RegisterAllocator allocator, Peephole peephole) {
+        this.allocator = allocator;
+        this.peephole = peephole;
+    }
 
-        IR tinyIR = transformIRtoTinyIR(ir, globalSymbolMap);
+    public TinyEmitter translateHeader(List<SymbolMap> symbolMaps) {
+        SymbolMap globalSymbolMap = symbolMaps.get(0);
+        TinyEmitter e = new TinyEmitter((globalSymbolMap.size() + 8) * TinyEmitter.LINE_SIZE);
+        e.emit(";tiny code");
 
         globalSymbolMap.values().stream()
-                .filter(e -> !e.isString())
-                .map(e -> String.format("var %s", e.getName()))
-                .forEach(System.out::println);
+                .filter(v -> !v.isString())
+                .forEach(v -> e.emit("var", v.getName()));
 
         symbolMaps.stream().flatMap(m -> m.values().stream()).distinct()
-                .filter(e -> e.isString())
-                .forEach(e -> System.out.format("str %s %s\n", e.getName(), e.getValue()));
+                .filter(v -> v.isString())
+                .forEach(v -> e.emit("str", v.getName(), v.getValue()));
 
         // Init Main
-        System.out.println("push");
-        pushReg();
-        System.out.println("jsr main");
-        System.out.println("sys halt");
+        e.emit("push");
+        e.emit("jsr", "main");
+        e.emit("sys halt");
+        return e;
+    }
+
+    public TinyEmitter translateFooter() {
+        return new TinyEmitter(TinyEmitter.LINE_SIZE).emit("end");
+    }
+
+    // Translates the CFG of a single function, safe to call from several threads
+    public TinyEmitter translate(ControlFlowGraph cfg) {
+        IR tinyIR = peephole.apply(saveRegisters(allocator.allocate(cfg)));
+        TinyEmitter e = new TinyEmitter(tinyIR.size() * TinyEmitter.LINE_SIZE);
 
-        tinyIR.forEach(n -> {
+        for (IR.Node n : tinyIR) {
             String op1 = resolveOp(n.getOp1());
             String op2 = resolveOp(n.getOp2());
             String focus = resolveOp(n.getFocus());
             String command = dict.get(n.getOpcode());
 
             // Add a "0" in front of any float value to resolve things like .02 -> 0.02
-            if (n.getOpcode() == IR.Opcode.STOREF && n.getOp1().isConstant())
+            if (n.getOpcode() == IR.Opcode.STOREF && n.getOp1().isConstant() && op1.startsWith("."))
                 op1 = "0" + op1;
 
             switch(getType(n.getOpcode())) {
                 case GENERIC:
                     if (focus == null)
-                        System.out.format("%s\n", command);
+                        e.emit(command);
                     else
-                        System.out.format("%s %s\n", command, focus);
+                        e.emit(command, focus);
                     break;
                 case CALC:
-                    System.out.format("%s %s %s\n", command, op2, focus);
+                    e.emit(command, op2, focus);
                     break;
                 case COMP:
-                    String comp = resolveComp(n.getOp1(), n.getOp2());
-                    System.out.format("%s %s %s\n", comp, op1, op2);
-                    System.out.format("%s %s\n", command, focus);
+                    e.emit(resolveComp(n.getOp1(), n.getOp2()), op1, op2);
+                    e.emit(command, focus);
                     break;
                 case JSR:
-                    pushReg();
-                    System.out.format("%s %s\n", command, focus);
-                    popReg();
+                    e.emit(command, focus);
                     break;
                 case RET:
-                    System.out.println("unlnk");
-                    System.out.println("ret");
+                    e.emit("unlnk");
+                    e.emit("ret");
                     break;
                 case STORE:
                     if (!(op1.equals(focus)))
-                        System.out.format("move %s %s\n", op1, focus);
+                        e.emit("move", op1, focus);
                     break;
                 default:
                     throw new MicroRuntimeException(MicroErrorMessages.UnknownTinyType);
             }
-        });
-
-        System.out.println("end");
-    }
-
-    private IR transformIRtoTinyIR(IR ir, SymbolMap globalSymbolMap) {
-        IR tinyIR = new IR(globalSymbolMap);
-        RegisterFile rf = new RegisterFile(4);
-
-        int localCount = 0;
-        for (IR.Node n : ir) {
-            Register rx = null, ry = null, rz;
-            Element tOp1 = n.getOp1(), tOp2 = n.getOp2(), tFocus = n.getFocus();
-
-            if (n.getOpcode() == IR.Opcode.LINK)
-                localCount = n.getFocus().getCtxVal();
-
-            if (!IgnoreRASet.contains(n.getOpcode())) {
-                boolean ensureOp1 = tOp1 != null && !tOp1.isConstant();
-                boolean ensureOp2 = tOp2 != null && !tOp2.isConstant();
-
-                if (ensureOp1)
-                    tOp1 = rx = rf.ensure(tOp1, n, tinyIR, localCount);
-
-                if (ensureOp2)
-                    tOp2 = ry = rf.ensure(tOp2, n, tinyIR, localCount);
-
-                if (ensureOp1 && !n.getOut().contains(n.getOp1()))
-                    rf.free(rx, tinyIR, n, localCount);
-
-                if (ensureOp2 && !n.getOut().contains(n.getOp2()))
-                    rf.free(ry, tinyIR, n, localCount);
-
-                if (CalcSet.contains(n.getOpcode())) {
-                    tFocus = rf.transfer(rx, tFocus, tinyIR, n, localCount);
-                    rx.setDirty(true);
-                } else if (tFocus != null && CheckRASet.contains(n.getOpcode())) {
-                    tFocus = rf.ensure(tFocus, n, tinyIR, localCount);
-                } else if (tFocus != null && tFocus.isReturn()) {
-                    tFocus = tFocus.getTinyElement(localCount);
-                } else if (tFocus != null && StoreSet.contains(n.getOpcode())) {
-                    tFocus = rz = rf.get(tFocus);
-                    if (tFocus == null)
-                        tFocus = rz = rf.allocate(n.getFocus(), n, tinyIR, localCount);
-                    rz.setDirty(true);
-                } else if (tFocus != null && !CompSet.contains(n.getOpcode())) {
-                    tFocus = rz = rf.allocate(n.getFocus(), n, tinyIR, localCount);
-                    rz.setDirty(true);
-                }
-            }
-
-            if (n.isLeader())
-                rf.flush(tinyIR, localCount);
-
-            if (n.isReturn())
-                rf.freeAll();
-
-            IR.Node newNode = new IR.Node(n.getOpcode(), tOp1, tOp2, tFocus);
-            tinyIR.add(newNode);
         }
 
-        return tinyIR;
+        return e;
     }
 
     private Type getType(IR.Opcode opcode) {
@@ -229,12 +190,58 @@ public class TinyTranslator {
         return op.getRef();
     }
 
-    private void pushReg() {
-        IntStream.rangeClosed(0, 3).mapToObj(i -> "push r" + i).forEach(System.out::println);
+    /**
+     * Caller saves. Registers live across a JSR are pushed ahead of its return
+     * slot and popped once the return value is off the stack, so parameters
+     * keep the same offsets whatever is saved. Allocators only leave pushes
+     * between the return slot and the JSR, and never write a saved register
+     * between the JSR and the last pop.
+     */
+    private static IR saveRegisters(IR tinyIR) {
+        // Adding a node to another IR redoes its sets, so liveness is read first
+        Liveness.analyze(new ControlFlowGraph(tinyIR));
+        Map<Integer, List<Element>> saves = new HashMap<>();
+        for (int i = 0; i < tinyIR.size(); i++)
+            if (isReturnSlot(tinyIR.get(i)))
+                saves.put(i, liveAcross(tinyIR, i));
+
+        IR out = new IR(tinyIR.getGlobalSymbolMap());
+        List<Element> saved = Collections.emptyList();
+        int pending = 0;
+        for (int i = 0; i < tinyIR.size(); i++) {
+            IR.Node n = tinyIR.get(i);
+            if (isReturnSlot(n)) {
+                saved = saves.get(i);
+                saved.forEach(r -> out.add(new IR.Node(IR.Opcode.PUSH, r)));
+                pending = 0;
+            }
+            out.add(n);
+
+            if (n.getOpcode() == IR.Opcode.PUSH)
+                pending++;
+            else if (n.getOpcode() == IR.Opcode.POP && --pending == 0)
+                for (int j = saved.size() - 1; j >= 0; j--)
+                    out.add(new IR.Node(IR.Opcode.POP, saved.get(j)));
+        }
+        return out;
+    }
+
+    private static boolean isReturnSlot(IR.Node n) {
+        return n.getOpcode() == IR.Opcode.PUSH && n.getFocus() == null;
     }
 
-    private void popReg() {
-        IntStream.rangeClosed(0, 3)
-                .map(i -> 3 - i).mapToObj(i -> "pop r" + i).forEach(System.out::println);
+    // Registers live out of the JSR whose return slot is pushed at start
+    private static List<Element> liveAcross(IR tinyIR, int start) {
+        int i = start;
+        while (tinyIR.get(i).getOpcode() != IR.Opcode.JSR)
+            i++;
+        IR.Node jsr = tinyIR.get(i);
+
+        List<Element> live = new ArrayList<>();
+        jsr.getOut().stream().mapToObj(b -> jsr.getUniverse().get(b))
+                .filter(el -> el.getCtx() == Element.Context.REGISTER)
+                .sorted(Comparator.comparingInt(Element::getCtxVal))
+                .forEach(live::add);
+        return live;
     }
 }
@@ -0,0 +1,55 @@
+package compiler;
+
+import compiler.tiny.TinyProgram;
+import compiler.tiny.TinySimulator;
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.junit.Assert;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Whole programs for back end tests, compiled from Micro source to Tiny code
+ * and run on the simulator.
+ */
+public final class CompilerFixture {
+
+    private CompilerFixture() {
+    }
+
+    /**
+     * The Tiny code of the program given as lines of source, compiled on one
+     * thread with flags.
+     */
+    public static String tiny(List<String> source, String... flags) throws Exception {
+        String[] args = Arrays.copyOf(flags, flags.length + 4);
+        args[flags.length] = "-noir";
+        args[flags.length + 1] = "-j";
+        args[flags.length + 2] = "1";
+        args[flags.length + 3] = "test.micro";
+
+        StringWriter code = new StringWriter();
+        boolean compiled = Micro.compile(new ANTLRInputStream(String.join("\n", source)), MicroOptions.parse(args), code);
+        Assert.assertTrue(code.toString(), compiled);
+        return code.toString();
+    }
+
+    /**
+     * What the Tiny code prints when run on input.
+     */
+    public static String run(String code, String input) throws Exception {
+        StringWriter out = new StringWriter();
+        new TinySimulator(TinyProgram.parse(code)).run(new StringReader(input), out);
+        return out.toString();
+    }
+
+    /**
+     * The instructions of the Tiny code that start with command.
+     */
+    public static long count(String code, String command) {
+        return Arrays.stream(code.split("\n")).filter(l -> l.equals(command) || l.startsWith(command + " ")).count();
+    }
+
+}
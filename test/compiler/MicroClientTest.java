@@ -0,0 +1,94 @@
+package compiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class MicroClientTest {
+
+    private static final String PROGRAM = String.join("\n",
+            "PROGRAM p",
+            "BEGIN",
+            " INT a, b;",
+            " FUNCTION INT main()",
+            " BEGIN",
+            "  a := 3;",
+            "  b := a * a + 1;",
+            "  WRITE(b);",
+            "  RETURN 0;",
+            " END",
+            "END");
+
+    @Test
+    public void onlyPathsAreMadeAbsolute() throws Exception {
+        String[] request = MicroClient.request(new String[] {
+                "-ra", "linear", "-regs", "4", "-opt", "sccp", "-peep", "all", "-inline", "20", "-j", "2",
+                "-o", "out.test", "p.micro" });
+
+        Assert.assertEquals("linear", request[1]);
+        Assert.assertEquals("4", request[3]);
+        Assert.assertEquals("sccp", request[5]);
+        Assert.assertEquals("all", request[7]);
+        Assert.assertEquals("20", request[9]);
+        Assert.assertEquals("2", request[11]);
+        Assert.assertEquals(Paths.get("out.test").toAbsolutePath().toString(), request[13]);
+        Assert.assertEquals(Paths.get("p.micro").toAbsolutePath().toString(), request[14]);
+    }
+
+    @Test
+    public void compilesWithBackEndOptionsThroughServer() throws Exception {
+        Path source = Files.createTempFile("client", ".micro");
+        Files.write(source, PROGRAM.getBytes(StandardCharsets.US_ASCII));
+        int port = freePort();
+        MicroServer server = new MicroServer(port);
+        Thread thread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            String[] request = MicroClient.request(new String[] { "-noir", "-ra", "linear", "-regs", "4", "-O", source.toString() });
+            int status = sendWhenUp(port, request, out);
+
+            String code = new String(out.toByteArray(), StandardCharsets.US_ASCII);
+            Assert.assertEquals(code, 0, status);
+            Assert.assertTrue(code, code.contains("sys halt"));
+        } finally {
+            MicroClient.send(port, new String[] { MicroServer.SHUTDOWN }, new ByteArrayOutputStream());
+            thread.join();
+            Files.delete(source);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+
+    // The server thread may not be listening yet
+    private static int sendWhenUp(int port, String[] request, ByteArrayOutputStream out) throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return MicroClient.send(port, request, out);
+            } catch (IOException e) {
+                if (attempt == 50)
+                    throw e;
+                Thread.sleep(100);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package compiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static compiler.CompilerFixture.count;
+import static compiler.CompilerFixture.run;
+import static compiler.CompilerFixture.tiny;
+
+public class MicroCompilerTest {
+
+    @Test
+    public void callsInsideExpressionsAreLoweredOnce() throws Exception {
+        List<String> source = Arrays.asList(
+                "PROGRAM p",
+                "BEGIN",
+                " FUNCTION INT sq(INT a)",
+                " BEGIN",
+                "  RETURN a * a;",
+                " END",
+                " FUNCTION INT main()",
+                " BEGIN",
+                "  INT x, y;",
+                "  READ(x);",
+                "  y := 1 + sq(x) * 2;",
+                "  IF (sq(y) > 100)",
+                "   y := sq(sq(x) + 1) - y;",
+                "  ENDIF",
+                "  WRITE(y);",
+                "  RETURN 0;",
+                " END",
+                "END");
+
+        // One per call site, a nested call is a second site
+        String code = tiny(source);
+        Assert.assertEquals(code, 4, count(code, "jsr sq"));
+        Assert.assertEquals("81", run(code, "3\n"));
+    }
+
+}
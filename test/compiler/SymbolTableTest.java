@@ -0,0 +1,39 @@
+package compiler;
+
+import compiler.element.Element;
+import compiler.element.FunctionLocal;
+import compiler.element.Variable;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SymbolTableTest {
+
+    @Test
+    public void innerDeclarationShadowsUntilClosed() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        Element global = new Variable("x", Element.Type.INT);
+        Element local = new FunctionLocal(1, "x", Element.Type.FLOAT);
+
+        symbols.open(new SymbolMap("GLOBAL"));
+        symbols.declare("x", global);
+        symbols.open(new SymbolMap("main", true));
+        symbols.declare("x", local);
+        assertSame(local, symbols.lookup("x"));
+
+        symbols.close();
+        assertSame(global, symbols.lookup("x"));
+        assertNull(symbols.lookup("y"));
+        assertNotNull(symbols.getFunction("main"));
+        assertEquals(2, symbols.getMaps().size());
+    }
+
+    @Test(expected = MicroRuntimeException.class)
+    public void duplicateInSameScope() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        symbols.open(new SymbolMap("GLOBAL"));
+        symbols.declare("x", new Variable("x", Element.Type.INT));
+        symbols.declare("x", new Variable("x", Element.Type.INT));
+    }
+
+}
@@ -0,0 +1,69 @@
+package compiler.analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+public class DataflowSolverTest {
+
+    // 0 -> 1 -> 2 -> 3, with a back edge 2 -> 1
+    private static final int[][] SUCCESSORS = { {1}, {2}, {1, 3}, {} };
+    private static final int[][] PREDECESSORS = { {}, {0, 2}, {1}, {2} };
+
+    private static final FlowGraph loop = new FlowGraph() {
+        public int size() { return SUCCESSORS.length; }
+        public int[] getSuccessors(int node) { return SUCCESSORS[node]; }
+        public int[] getPredecessors(int node) { return PREDECESSORS[node]; }
+    };
+
+    private static BitSet bits(int... indices) {
+        BitSet b = new BitSet();
+        for (int i : indices)
+            b.set(i);
+        return b;
+    }
+
+    @Test
+    public void backwardUnionPropagatesAroundLoop() throws Exception {
+        // Node 3 uses bit 0, node 0 defines it, node 2 uses bit 1
+        BitSet[] gen = { bits(), bits(), bits(1), bits(0) };
+        BitSet[] kill = { bits(0), bits(), bits(), bits() };
+
+        DataflowResult result = DataflowSolver.solve(loop, new DataflowProblem() {
+            public Direction getDirection() { return Direction.BACKWARD; }
+            public Meet getMeet() { return Meet.UNION; }
+            public void transfer(int node, BitSet input, BitSet output) {
+                output.or(input);
+                output.andNot(kill[node]);
+                output.or(gen[node]);
+            }
+        });
+
+        Assert.assertEquals(bits(1), result.getIn(0));
+        Assert.assertEquals(bits(0, 1), result.getIn(1));
+        Assert.assertEquals(bits(0, 1), result.getOut(2));
+        Assert.assertEquals(bits(0), result.getIn(3));
+        Assert.assertTrue(result.getVisits() >= loop.size());
+    }
+
+    @Test
+    public void forwardIntersectionDropsFactsNotOnEveryPath() throws Exception {
+        // Bit 0 is generated before the loop, bit 1 only inside it
+        BitSet[] gen = { bits(0), bits(), bits(1), bits() };
+
+        DataflowResult result = DataflowSolver.solve(loop, new DataflowProblem() {
+            public Direction getDirection() { return Direction.FORWARD; }
+            public Meet getMeet() { return Meet.INTERSECTION; }
+            public void initialize(int node, BitSet output) { output.set(0, 2); }
+            public void transfer(int node, BitSet input, BitSet output) {
+                output.or(input);
+                output.or(gen[node]);
+            }
+        });
+
+        Assert.assertEquals(bits(0), result.getIn(1));
+        Assert.assertEquals(bits(0, 1), result.getIn(3));
+    }
+
+}
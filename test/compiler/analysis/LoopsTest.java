@@ -0,0 +1,39 @@
+package compiler.analysis;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoopsTest {
+
+    // 0 -> 1 -> 2 -> 3 -> 4, inner back edge 2 -> 2, outer back edge 3 -> 1
+    private static final int[][] SUCCESSORS = { {1}, {2}, {2, 3}, {1, 4}, {} };
+    private static final int[][] PREDECESSORS = { {}, {0, 3}, {1, 2}, {2}, {3} };
+
+    private static final FlowGraph nest = new FlowGraph() {
+        public int size() { return SUCCESSORS.length; }
+        public int[] getSuccessors(int node) { return SUCCESSORS[node]; }
+        public int[] getPredecessors(int node) { return PREDECESSORS[node]; }
+    };
+
+    @Test
+    public void dominatorsFollowTheChain() throws Exception {
+        Dominators dominators = new Dominators(nest);
+        Assert.assertEquals(0, dominators.getIdom(1));
+        Assert.assertEquals(2, dominators.getIdom(3));
+        Assert.assertTrue(dominators.dominates(1, 4));
+        Assert.assertFalse(dominators.dominates(3, 2));
+    }
+
+    @Test
+    public void nestedLoopsSetDepth() throws Exception {
+        Loops loops = new Loops(nest);
+        Assert.assertEquals(2, loops.getLoops().size());
+        Assert.assertEquals(1, loops.getLoops().get(0).getHeader());
+        Assert.assertEquals(0, loops.getDepth(0));
+        Assert.assertEquals(1, loops.getDepth(1));
+        Assert.assertEquals(2, loops.getDepth(2));
+        Assert.assertEquals(1, loops.getDepth(3));
+        Assert.assertEquals(0, loops.getDepth(4));
+    }
+
+}
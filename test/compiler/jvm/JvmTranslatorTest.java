@@ -0,0 +1,121 @@
+package compiler.jvm;
+
+import compiler.IR;
+import compiler.SymbolMap;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JvmTranslatorTest {
+
+    private final SymbolMap globals = new SymbolMap("GLOBAL");
+    private final List<SymbolMap> scopes = new ArrayList<>(Arrays.asList(globals));
+    private final List<IR> functions = new ArrayList<>();
+
+    private void function(String name, Element[] params, IR.Node... nodes) {
+        SymbolMap scope = new SymbolMap(name, true);
+        for (Element p : params)
+            scope.put(p.getName(), p);
+        scope.setNumParam(params.length);
+        scopes.add(scope);
+
+        IR ir = new IR(globals, name);
+        ir.add(new IR.Node(IR.Opcode.LABEL, new Label(name)));
+        ir.add(new IR.Node(IR.Opcode.LINK, new Link(0, 4)));
+        for (IR.Node n : nodes)
+            ir.add(n);
+        functions.add(ir);
+    }
+
+    private String run(String input) {
+        MicroClassLoader loader = new MicroClassLoader(new JvmTranslator().translate(scopes, functions));
+        StringWriter out = new StringWriter();
+        loader.run(new StringReader(input), out);
+        return out.toString();
+    }
+
+    private static IR.Node[] call(String function, Element result, Element... args) {
+        List<IR.Node> nodes = new ArrayList<>();
+        nodes.add(new IR.Node(IR.Opcode.PUSH));
+        for (Element a : args)
+            nodes.add(new IR.Node(IR.Opcode.PUSH, a));
+        nodes.add(new IR.Node(IR.Opcode.JSR, new Label(function)));
+        for (Element a : args)
+            nodes.add(new IR.Node(IR.Opcode.POP));
+        nodes.add(new IR.Node(IR.Opcode.POP, result));
+        return nodes.toArray(new IR.Node[0]);
+    }
+
+    private static IR.Node[] concat(IR.Node[]... parts) {
+        return Arrays.stream(parts).flatMap(Arrays::stream).toArray(IR.Node[]::new);
+    }
+
+    @Test
+    public void recursiveCallsReadAndWrite() throws Exception {
+        Element g = new Variable("g", Element.Type.INT);
+        globals.put("g", g);
+        // gcd(a, b): pushes a then b, so b is the first parameter
+        Element b = new FunctionParameter(1, "b", Element.Type.INT);
+        Element a = new FunctionParameter(2, "a", Element.Type.INT);
+        Temporary rest = new Temporary(1, Element.Type.INT), inner = new Temporary(2);
+        function("gcd", new Element[] { b, a }, concat(
+                new IR.Node[] {
+                        new IR.Node(IR.Opcode.NE, b, Constant.parse("0"), new Label("label1")),
+                        new IR.Node(IR.Opcode.STOREI, a, new Return(2, Element.Type.INT)),
+                        new IR.Node(IR.Opcode.RETURN),
+                        new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                        new IR.Node(IR.Opcode.DIVI, a, b, rest),
+                        new IR.Node(IR.Opcode.MULTI, rest, b, rest),
+                        new IR.Node(IR.Opcode.SUBI, a, rest, rest) },
+                call("gcd", inner, b, rest),
+                new IR.Node[] {
+                        new IR.Node(IR.Opcode.STOREI, inner, new Return(2, Element.Type.INT)),
+                        new IR.Node(IR.Opcode.RETURN) }));
+
+        Temporary t = new Temporary(1, Element.Type.INT), result = new Temporary(2);
+        function("main", new Element[0], concat(
+                new IR.Node[] {
+                        new IR.Node(IR.Opcode.READI, g),
+                        new IR.Node(IR.Opcode.STOREI, Constant.parse("18"), t) },
+                call("gcd", result, g, t),
+                new IR.Node[] {
+                        new IR.Node(IR.Opcode.WRITEI, result),
+                        new IR.Node(IR.Opcode.WRITEI, g),
+                        new IR.Node(IR.Opcode.RETURN) }));
+
+        Assert.assertEquals("642", run("42\n"));
+    }
+
+    @Test
+    public void floatCallResultsStayFloats() throws Exception {
+        Element f = new Variable("f", Element.Type.FLOAT);
+        globals.put("f", f);
+        Element x = new FunctionParameter(1, "x", Element.Type.FLOAT);
+        Temporary half = new Temporary(1, Element.Type.FLOAT);
+        function("half", new Element[] { x },
+                new IR.Node(IR.Opcode.DIVF, x, Constant.parse("2.0"), half),
+                new IR.Node(IR.Opcode.STOREF, half, new Return(1, Element.Type.FLOAT)),
+                new IR.Node(IR.Opcode.RETURN));
+
+        // The front end adds untyped call results with ADDI and stores the sum with STOREF
+        Temporary arg = new Temporary(1, Element.Type.FLOAT), result = new Temporary(2), sum = new Temporary(3, Element.Type.INT);
+        function("main", new Element[0], concat(
+                new IR.Node[] { new IR.Node(IR.Opcode.STOREF, Constant.parse("5.0"), arg) },
+                call("half", result, arg),
+                new IR.Node[] {
+                        new IR.Node(IR.Opcode.ADDI, result, result, sum),
+                        new IR.Node(IR.Opcode.STOREF, sum, f),
+                        new IR.Node(IR.Opcode.WRITEF, f),
+                        new IR.Node(IR.Opcode.WRITEF, result),
+                        new IR.Node(IR.Opcode.RETURN) }));
+
+        Assert.assertEquals("52.5", run(""));
+    }
+
+}
@@ -0,0 +1,44 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.optimize;
+
+public class AlgebraicSimplificationTest {
+
+    private final Element a = new FunctionLocal(1, "a", Element.Type.INT);
+    private final Element b = new FunctionLocal(2, "b", Element.Type.INT);
+    private final Element x = new FunctionLocal(3, "x", Element.Type.FLOAT);
+
+    @Test
+    public void identitiesBecomeCopies() throws Exception {
+        Temporary one = new Temporary(1, Element.Type.INT);
+        List<String> code = optimize(new AlgebraicSimplification(), new Link(3, 4),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("1"), one),
+                new IR.Node(IR.Opcode.MULTI, a, one, new Temporary(2, Element.Type.INT)),
+                new IR.Node(IR.Opcode.ADDI, Constant.parse("0"), a, new Temporary(3, Element.Type.INT)),
+                new IR.Node(IR.Opcode.SUBI, a, a, b));
+
+        Assert.assertTrue(code.contains("STOREI $L1 $T2"));
+        Assert.assertTrue(code.contains("STOREI $L1 $T3"));
+        Assert.assertTrue(code.contains("STOREI 0 $L2"));
+    }
+
+    @Test
+    public void floatsOnlyDropScalingByOne() throws Exception {
+        List<String> code = optimize(new AlgebraicSimplification(), new Link(3, 4),
+                new IR.Node(IR.Opcode.READF, x),
+                new IR.Node(IR.Opcode.ADDF, x, Constant.parse("0.0"), new Temporary(1, Element.Type.FLOAT)),
+                new IR.Node(IR.Opcode.MULTF, x, Constant.parse("1.0"), new Temporary(2, Element.Type.FLOAT)));
+
+        Assert.assertTrue(code.contains("ADDF $L3 0.0 $T1"));
+        Assert.assertTrue(code.contains("STOREF $L3 $T2"));
+    }
+
+}
@@ -0,0 +1,59 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.optimize;
+import static compiler.optimizer.OptimizerFixture.temp;
+
+public class CommonSubexpressionsTest {
+
+    private final Element a = new FunctionLocal(1, "a", Element.Type.INT);
+    private final Element b = new FunctionLocal(2, "b", Element.Type.INT);
+
+    @Test
+    public void reusesProductWithinBlockInEitherOrder() throws Exception {
+        List<String> code = optimize(new CommonSubexpressions(), new Link(2, 4),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.MULTI, a, b, temp(1)),
+                new IR.Node(IR.Opcode.MULTI, b, a, temp(2)),
+                new IR.Node(IR.Opcode.ADDI, temp(1), temp(2), temp(3)),
+                new IR.Node(IR.Opcode.WRITEI, temp(3)));
+
+        Assert.assertTrue(code.contains("STOREI $T1 $T2"));
+        Assert.assertEquals(1, code.stream().filter(s -> s.startsWith("MULTI")).count());
+    }
+
+    @Test
+    public void keepsAvailableQuotientInNewTemporary() throws Exception {
+        List<String> code = optimize(new CommonSubexpressions(), new Link(2, 4),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.DIVI, a, b, temp(1)),
+                new IR.Node(IR.Opcode.GT, a, b, new Label("label1")),
+                new IR.Node(IR.Opcode.STOREI, temp(1), b),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.DIVI, a, b, temp(2)),
+                new IR.Node(IR.Opcode.WRITEI, temp(2)));
+
+        // b may change on one path, so the second quotient stays
+        Assert.assertEquals(2, code.stream().filter(s -> s.startsWith("DIVI")).count());
+
+        code = optimize(new CommonSubexpressions(), new Link(2, 4),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.DIVI, a, b, temp(1)),
+                new IR.Node(IR.Opcode.GT, a, b, new Label("label1")),
+                new IR.Node(IR.Opcode.WRITEI, temp(1)),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.DIVI, a, b, temp(2)),
+                new IR.Node(IR.Opcode.WRITEI, temp(2)));
+        Assert.assertTrue(code.contains("LINK 6"));
+        Assert.assertTrue(code.contains("DIVI $L1 $L2 $T4"));
+        Assert.assertTrue(code.contains("STOREI $T4 $T1"));
+        Assert.assertTrue(code.contains("STOREI $T4 $T2"));
+    }
+
+}
@@ -0,0 +1,65 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.optimize;
+
+public class ConstantPropagationTest {
+
+    @Test
+    public void foldsArithmeticAndDecidesBranches() throws Exception {
+        Element t1 = new Temporary(1, Element.Type.INT), t2 = new Temporary(2, Element.Type.INT), t3 = new Temporary(3, Element.Type.INT);
+        Element a = new FunctionLocal(1, "a", Element.Type.INT);
+        List<String> code = optimize(new ConstantPropagation(), new Link(1, 3),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("6"), t1),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("7"), t2),
+                new IR.Node(IR.Opcode.MULTI, t1, t2, t3),
+                new IR.Node(IR.Opcode.LE, t3, t1, new Label("label1")),
+                new IR.Node(IR.Opcode.STOREI, t3, a),
+                new IR.Node(IR.Opcode.WRITEI, a),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")));
+
+        Assert.assertTrue(code.contains("STOREI 42 $T3"));
+        Assert.assertTrue(code.contains("STOREI 42 $L1"));
+        Assert.assertFalse(code.stream().anyMatch(s -> s.startsWith("LE") || s.startsWith("JUMP")));
+    }
+
+    @Test
+    public void dropsCodeBehindBranchThatIsAlwaysTaken() throws Exception {
+        Element t1 = new Temporary(1, Element.Type.INT);
+        Element a = new FunctionLocal(1, "a", Element.Type.INT);
+        List<String> code = optimize(new ConstantPropagation(), new Link(1, 3),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("1"), t1),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("0"), a),
+                new IR.Node(IR.Opcode.NE, a, t1, new Label("label1")),
+                new IR.Node(IR.Opcode.STOREI, t1, a),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.WRITEI, a));
+
+        Assert.assertTrue(code.contains("JUMP label1"));
+        Assert.assertFalse(code.contains("STOREI 1 $L1"));
+    }
+
+    @Test
+    public void keepsValuesMergedFromDifferentPaths() throws Exception {
+        Element t1 = new Temporary(1, Element.Type.INT), t2 = new Temporary(2, Element.Type.INT);
+        Element a = new FunctionLocal(1, "a", Element.Type.INT);
+        List<String> code = optimize(new ConstantPropagation(), new Link(1, 3),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("1"), t1),
+                new IR.Node(IR.Opcode.GT, a, t1, new Label("label1")),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("2"), t1),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.ADDI, a, t1, t2),
+                new IR.Node(IR.Opcode.WRITEI, t2));
+
+        Assert.assertTrue(code.contains("ADDI $L1 $T1 $T2"));
+        Assert.assertTrue(code.contains("GT $L1 $T1 label1"));
+    }
+
+}
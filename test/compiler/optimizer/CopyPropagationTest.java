@@ -0,0 +1,58 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.main;
+import static compiler.optimizer.OptimizerFixture.strings;
+import static compiler.optimizer.OptimizerFixture.temp;
+
+public class CopyPropagationTest {
+
+    private final Element a = new FunctionLocal(1, "a", Element.Type.INT);
+    private final Element b = new FunctionLocal(2, "b", Element.Type.INT);
+    private final Element c = new FunctionLocal(3, "c", Element.Type.INT);
+
+    @Test
+    public void coalescesTemporaryAndReadsSourceOfCopy() throws Exception {
+        List<String> code = strings(new CopyPropagation().apply(main(new Link(3, 6),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.MULTI, a, a, temp(1)),
+                new IR.Node(IR.Opcode.STOREI, temp(1), b),
+                new IR.Node(IR.Opcode.STOREI, b, c),
+                new IR.Node(IR.Opcode.WRITEI, c))));
+
+        Assert.assertTrue(code.contains("MULTI $L1 $L1 $L2"));
+        Assert.assertTrue(code.contains("WRITEI $L2"));
+        Assert.assertFalse(code.contains("STOREI $T1 $L2"));
+    }
+
+    @Test
+    public void keepsCopyWhenDestinationIsReadInBetween() throws Exception {
+        List<String> code = strings(new CopyPropagation().apply(main(new Link(3, 6),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.ADDI, a, a, temp(1)),
+                new IR.Node(IR.Opcode.WRITEI, b),
+                new IR.Node(IR.Opcode.STOREI, temp(1), b),
+                new IR.Node(IR.Opcode.WRITEI, b))));
+
+        Assert.assertTrue(code.contains("ADDI $L1 $L1 $T1"));
+        Assert.assertTrue(code.contains("WRITEI $T1"));
+    }
+
+    @Test
+    public void frameKeepsOnlyWhatIsUsed() throws Exception {
+        List<String> code = strings(new FrameCompaction().apply(main(new Link(3, 6),
+                new IR.Node(IR.Opcode.READI, b),
+                new IR.Node(IR.Opcode.ADDI, b, b, temp(4)),
+                new IR.Node(IR.Opcode.WRITEI, temp(4)))));
+
+        Assert.assertEquals("LINK 2", code.get(1));
+        Assert.assertEquals("ADDI $L1 $L1 $T1", code.get(3));
+    }
+
+}
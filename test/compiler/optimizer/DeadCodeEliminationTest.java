@@ -0,0 +1,48 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.function;
+import static compiler.optimizer.OptimizerFixture.strings;
+
+public class DeadCodeEliminationTest {
+
+    @Test
+    public void removesStoresNothingReadsUntilFixpoint() throws Exception {
+        Element t1 = new Temporary(1, Element.Type.INT), t2 = new Temporary(2, Element.Type.INT);
+        Element a = new FunctionLocal(1, "a", Element.Type.INT), b = new FunctionLocal(2, "b", Element.Type.INT);
+        List<String> code = strings(new DeadCodeElimination().apply(function("f", new Link(1, 3),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("2"), t1),
+                new IR.Node(IR.Opcode.MULTI, a, t1, t2),
+                new IR.Node(IR.Opcode.STOREI, t2, b),
+                new IR.Node(IR.Opcode.STOREI, a, new Return(0, Element.Type.INT)),
+                new IR.Node(IR.Opcode.RETURN))));
+
+        Assert.assertEquals(5, code.size());
+        Assert.assertEquals("STOREI $L1 $R", code.get(3));
+    }
+
+    @Test
+    public void dropsCodeAfterReturnAndUnusedLabels() throws Exception {
+        Element a = new FunctionLocal(1, "a", Element.Type.INT);
+        List<String> code = strings(new DeadCodeElimination().apply(function("main", new Link(1, 3),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.JUMP, new Label("label1")),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.WRITEI, a),
+                new IR.Node(IR.Opcode.RETURN),
+                new IR.Node(IR.Opcode.WRITEI, a),
+                new IR.Node(IR.Opcode.RETURN))));
+
+        Assert.assertEquals(5, code.size());
+        Assert.assertEquals("WRITEI $L1", code.get(3));
+        Assert.assertEquals("RETURN", code.get(4));
+    }
+
+}
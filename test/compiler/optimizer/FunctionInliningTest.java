@@ -0,0 +1,66 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.SymbolMap;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.strings;
+
+public class FunctionInliningTest {
+
+    private final SymbolMap globals = new SymbolMap("GLOBAL");
+    private final Element x = new FunctionParameter(1, "x", Element.Type.INT);
+    private final Element a = new FunctionLocal(1, "a", Element.Type.INT);
+
+    private IR function(String name, Link link, IR.Node... nodes) {
+        IR ir = new IR(globals, name);
+        ir.add(new IR.Node(IR.Opcode.LABEL, new Label(name)));
+        ir.add(new IR.Node(IR.Opcode.LINK, link));
+        for (IR.Node n : nodes)
+            ir.add(n);
+        ir.add(new IR.Node(IR.Opcode.RETURN));
+        return ir;
+    }
+
+    // square(x) returns x * x, main writes square(a)
+    private List<IR> program() {
+        IR square = function("square", new Link(0, 2),
+                new IR.Node(IR.Opcode.MULTI, x, x, new Temporary(1, Element.Type.INT)),
+                new IR.Node(IR.Opcode.STOREI, new Temporary(1, Element.Type.INT), new Return(1, Element.Type.INT)));
+        Temporary result = new Temporary(1);
+        IR main = function("main", new Link(1, 2),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.PUSH),
+                new IR.Node(IR.Opcode.PUSH, a),
+                new IR.Node(IR.Opcode.JSR, new Label("square")),
+                new IR.Node(IR.Opcode.POP),
+                new IR.Node(IR.Opcode.POP, result),
+                new IR.Node(IR.Opcode.WRITEI, result));
+        return Arrays.asList(square, main);
+    }
+
+    @Test
+    public void leafBodyReplacesCall() throws Exception {
+        FunctionInlining inlining = new FunctionInlining(FunctionInlining.DEFAULT_LIMIT);
+        List<String> main = strings(inlining.apply(program()).get(1));
+
+        Assert.assertFalse(main.contains("JSR square"));
+        Assert.assertFalse(main.contains("PUSH"));
+        Assert.assertTrue(main.indexOf("STOREI $L1 $L2") < main.indexOf("MULTI $L2 $L2 $T2"));
+        Assert.assertTrue(main.indexOf("MULTI $L2 $L2 $T2") < main.indexOf("STOREI $T2 $T1"));
+        Assert.assertEquals("1 inlined", inlining.toString());
+    }
+
+    @Test
+    public void keepsCallsToLargerFunctions() throws Exception {
+        List<String> main = strings(new FunctionInlining(1).apply(program()).get(1));
+
+        Assert.assertTrue(main.contains("JSR square"));
+    }
+
+}
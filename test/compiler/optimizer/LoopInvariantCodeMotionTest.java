@@ -0,0 +1,53 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.optimize;
+import static compiler.optimizer.OptimizerFixture.temp;
+
+public class LoopInvariantCodeMotionTest {
+
+    private final Element a = new FunctionLocal(1, "a", Element.Type.INT);
+    private final Element b = new FunctionLocal(2, "b", Element.Type.INT);
+    private final Element i = new FunctionLocal(3, "i", Element.Type.INT);
+
+    @Test
+    public void hoistsProductOfUnchangedOperands() throws Exception {
+        List<String> code = optimize(new LoopInvariantCodeMotion(), new Link(3, 4),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("0"), i),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("3"), temp(1)),
+                new IR.Node(IR.Opcode.MULTI, a, temp(1), temp(2)),
+                new IR.Node(IR.Opcode.ADDI, i, temp(2), i),
+                new IR.Node(IR.Opcode.WRITEI, i),
+                new IR.Node(IR.Opcode.LT, i, Constant.parse("100"), new Label("label1")));
+
+        int label = code.indexOf("LABEL label1");
+        Assert.assertTrue(code.indexOf("STOREI 3 $T1") < label);
+        Assert.assertTrue(code.indexOf("MULTI $L1 $T1 $T2") < label);
+        Assert.assertTrue(code.indexOf("ADDI $L3 $T2 $L3") > label);
+    }
+
+    @Test
+    public void keepsCodeThatOnlyRunsOnSomeIterations() throws Exception {
+        List<String> code = optimize(new LoopInvariantCodeMotion(), new Link(3, 4),
+                new IR.Node(IR.Opcode.READI, a),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("0"), i),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.GT, i, Constant.parse("5"), new Label("label2")),
+                new IR.Node(IR.Opcode.DIVI, a, a, b),
+                new IR.Node(IR.Opcode.WRITEI, b),
+                new IR.Node(IR.Opcode.LABEL, new Label("label2")),
+                new IR.Node(IR.Opcode.ADDI, i, Constant.parse("1"), i),
+                new IR.Node(IR.Opcode.LT, i, Constant.parse("10"), new Label("label1")));
+
+        Assert.assertTrue(code.indexOf("DIVI $L1 $L1 $L2") > code.indexOf("LABEL label1"));
+    }
+
+}
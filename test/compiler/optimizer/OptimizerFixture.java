@@ -0,0 +1,58 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.SymbolMap;
+import compiler.element.Element;
+import compiler.element.Label;
+import compiler.element.Link;
+import compiler.element.Temporary;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Functions for optimizer tests, built from the nodes of their body, and
+ * the code passes leave as strings to assert on.
+ */
+public final class OptimizerFixture {
+
+    private OptimizerFixture() {
+    }
+
+    /**
+     * The label and LINK of name, then nodes.
+     */
+    public static IR function(String name, Link link, IR.Node... nodes) {
+        IR ir = new IR(new SymbolMap("GLOBAL"), name);
+        ir.add(new IR.Node(IR.Opcode.LABEL, new Label(name)));
+        ir.add(new IR.Node(IR.Opcode.LINK, link));
+        for (IR.Node n : nodes)
+            ir.add(n);
+        return ir;
+    }
+
+    /**
+     * main with nodes as its body, ending in RETURN.
+     */
+    public static IR main(Link link, IR.Node... nodes) {
+        IR ir = function("main", link, nodes);
+        ir.add(new IR.Node(IR.Opcode.RETURN));
+        return ir;
+    }
+
+    /**
+     * What pass makes of main with nodes as its body.
+     */
+    public static List<String> optimize(Optimization pass, Link link, IR.Node... nodes) {
+        return strings(pass.apply(main(link, nodes)));
+    }
+
+    public static List<String> strings(List<IR.Node> code) {
+        return code.stream().map(IR.Node::toString).collect(Collectors.toList());
+    }
+
+    public static Temporary temp(int i) {
+        return new Temporary(i, Element.Type.INT);
+    }
+
+}
@@ -0,0 +1,66 @@
+package compiler.optimizer;
+
+import compiler.IR;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.function;
+import static compiler.optimizer.OptimizerFixture.strings;
+
+public class TailRecursionTest {
+
+    // gcd(a, b): pushes a then b, so b is the first parameter
+    private final Element b = new FunctionParameter(1, "b", Element.Type.INT);
+    private final Element a = new FunctionParameter(2, "a", Element.Type.INT);
+
+    @Test
+    public void selfCallBeforeReturnBecomesJump() throws Exception {
+        Temporary rest = new Temporary(1, Element.Type.INT), result = new Temporary(2);
+        Element ret = new Return(2, Element.Type.INT);
+        List<String> code = strings(new TailRecursion().apply(function("gcd", new Link(0, 3),
+                new IR.Node(IR.Opcode.NE, b, Constant.parse("0"), new Label("label1")),
+                new IR.Node(IR.Opcode.STOREI, a, ret),
+                new IR.Node(IR.Opcode.RETURN),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.DIVI, a, b, rest),
+                new IR.Node(IR.Opcode.PUSH),
+                new IR.Node(IR.Opcode.PUSH, b),
+                new IR.Node(IR.Opcode.PUSH, rest),
+                new IR.Node(IR.Opcode.JSR, new Label("gcd")),
+                new IR.Node(IR.Opcode.POP),
+                new IR.Node(IR.Opcode.POP),
+                new IR.Node(IR.Opcode.POP, result),
+                new IR.Node(IR.Opcode.STOREI, result, ret),
+                new IR.Node(IR.Opcode.RETURN))));
+
+        Assert.assertEquals("LABEL gcd_entry", code.get(2));
+        Assert.assertFalse(code.contains("JSR gcd"));
+        // b is read for the new a after it is written, so it goes through a temporary
+        Assert.assertTrue(code.indexOf("STOREI $P1 $T3") < code.indexOf("STOREI $T1 $P1"));
+        Assert.assertTrue(code.indexOf("STOREI $T1 $P1") < code.indexOf("STOREI $T3 $P2"));
+        Assert.assertEquals("JUMP gcd_entry", code.get(code.size() - 1));
+    }
+
+    @Test
+    public void keepsCallWhoseResultIsUsed() throws Exception {
+        Temporary result = new Temporary(1), sum = new Temporary(2, Element.Type.INT);
+        List<String> code = strings(new TailRecursion().apply(function("gcd", new Link(0, 3),
+                new IR.Node(IR.Opcode.PUSH),
+                new IR.Node(IR.Opcode.PUSH, b),
+                new IR.Node(IR.Opcode.PUSH, a),
+                new IR.Node(IR.Opcode.JSR, new Label("gcd")),
+                new IR.Node(IR.Opcode.POP),
+                new IR.Node(IR.Opcode.POP),
+                new IR.Node(IR.Opcode.POP, result),
+                new IR.Node(IR.Opcode.ADDI, result, a, sum),
+                new IR.Node(IR.Opcode.STOREI, sum, new Return(2, Element.Type.INT)),
+                new IR.Node(IR.Opcode.RETURN))));
+
+        Assert.assertTrue(code.contains("JSR gcd"));
+        Assert.assertFalse(code.contains("LABEL gcd_entry"));
+    }
+
+}
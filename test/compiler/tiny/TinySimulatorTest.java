@@ -0,0 +1,73 @@
+package compiler.tiny;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+public class TinySimulatorTest {
+
+    private final StringWriter out = new StringWriter();
+
+    private TinyStatistics run(String input, String... code) throws Exception {
+        TinyProgram program = TinyProgram.parse(String.join("\n", code));
+        return new TinySimulator(program).run(new StringReader(input), out);
+    }
+
+    @Test
+    public void memoryOperandsStall() throws Exception {
+        TinyStatistics stats = run("",
+                "var x", "var y",
+                "move 1 x",
+                "move x r0",
+                "addi 2 r0",
+                "move 3 r1",
+                "addi x r1",
+                "jmp l",
+                "label l",
+                "move r1 y",
+                "sys halt");
+
+        Assert.assertEquals(8, stats.getInstructions());
+        Assert.assertEquals(24, stats.getCycles());
+        Assert.assertEquals(3, stats.getMemory(TinyProgram.Opcode.MOVE));
+    }
+
+    @Test
+    public void callReturnsThroughStack() throws Exception {
+        TinyStatistics stats = run("12\n",
+                "str nl \"\\n\"",
+                "sys readi r0",
+                "push", "push r0",
+                "jsr sq",
+                "pop", "pop r1",
+                "sys writei r1",
+                "sys writes nl",
+                "sys halt",
+                "label sq",
+                "link 1",
+                "move $2 r0",
+                "muli r0 r0",
+                "move r0 $-1",
+                "move $-1 r1",
+                "move r1 $3",
+                "unlnk",
+                "ret");
+
+        Assert.assertEquals("144\n", out.toString());
+        Assert.assertEquals(17, stats.getInstructions());
+        Assert.assertEquals(18, stats.getCycles());
+    }
+
+    @Test
+    public void floatsPrintLikeStreams() throws Exception {
+        Assert.assertEquals("0.333333", TinySimulator.format(1f / 3));
+        Assert.assertEquals("1.23457e+06", TinySimulator.format(1234567f));
+        Assert.assertEquals("100", TinySimulator.format(100f));
+        Assert.assertEquals("1e-05", TinySimulator.format(0.00001f));
+        Assert.assertEquals("inf", TinySimulator.format(1f / 0));
+        Assert.assertEquals(Integer.MIN_VALUE, TinySimulator.toInt(2147483647f));
+    }
+
+}
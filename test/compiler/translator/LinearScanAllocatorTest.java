@@ -0,0 +1,126 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.analysis.ControlFlowGraph;
+import compiler.analysis.Liveness;
+import compiler.element.Constant;
+import compiler.element.Link;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static compiler.CompilerFixture.run;
+import static compiler.CompilerFixture.tiny;
+import static compiler.optimizer.OptimizerFixture.main;
+import static compiler.optimizer.OptimizerFixture.strings;
+import static compiler.optimizer.OptimizerFixture.temp;
+
+public class LinearScanAllocatorTest {
+
+    private static String linear(List<String> source, int registers, String input) throws Exception {
+        String code = tiny(source, "-ra", "linear", "-regs", Integer.toString(registers));
+        for (int r = registers; r < TinyTranslator.REGISTERS; r++)
+            Assert.assertFalse(code, code.contains(" r" + r));
+        return run(code, input);
+    }
+
+    @Test
+    public void spillsWhenFourValuesShareTwoRegisters() throws Exception {
+        IR function = main(new Link(0, 8),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("1"), temp(1)),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("2"), temp(2)),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("3"), temp(3)),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("4"), temp(4)),
+                new IR.Node(IR.Opcode.ADDI, temp(1), temp(2), temp(5)),
+                new IR.Node(IR.Opcode.ADDI, temp(3), temp(4), temp(6)),
+                new IR.Node(IR.Opcode.ADDI, temp(5), temp(6), temp(7)),
+                new IR.Node(IR.Opcode.WRITEI, temp(7)));
+        ControlFlowGraph cfg = new ControlFlowGraph(function);
+        Liveness.analyze(cfg);
+
+        LinearScanAllocator allocator = new LinearScanAllocator(2);
+        List<String> code = strings(allocator.allocate(cfg));
+
+        Assert.assertTrue(allocator.getSpills() > 0);
+        Assert.assertTrue(code.toString(), code.stream().noneMatch(s -> s.matches(".*\\br[2-9]\\b.*")));
+    }
+
+    @Test
+    public void spilledValuesKeepTheirResults() throws Exception {
+        List<String> source = Arrays.asList(
+                "PROGRAM p",
+                "BEGIN",
+                " FUNCTION INT main()",
+                " BEGIN",
+                "  INT a, b, c, d, e;",
+                "  READ(a, b, c, d);",
+                "  e := (a + b) * (c + d) - (a - b) * (c - d) + a * d;",
+                "  WRITE(e, a, b, c, d);",
+                "  RETURN 0;",
+                " END",
+                "END");
+
+        for (int registers = 2; registers <= TinyTranslator.REGISTERS; registers++)
+            Assert.assertEquals("registers " + registers, "241234", linear(source, registers, "1\n2\n3\n4\n"));
+    }
+
+    @Test
+    public void valuesLiveAroundLoopsKeepTheirRegister() throws Exception {
+        // k is last read early in the body, but live on the back edge
+        List<String> source = Arrays.asList(
+                "PROGRAM p",
+                "BEGIN",
+                " FUNCTION INT main()",
+                " BEGIN",
+                "  INT i, k, s, t;",
+                "  READ(k);",
+                "  i := 0;",
+                "  s := 0;",
+                "  DO",
+                "   t := k * 2;",
+                "   s := s + t * i + i;",
+                "   i := i + 1;",
+                "  WHILE (i < 5);",
+                "  WRITE(s, i);",
+                "  RETURN 0;",
+                " END",
+                "END");
+
+        for (int registers = 2; registers <= TinyTranslator.REGISTERS; registers++)
+            Assert.assertEquals("registers " + registers, "1505", linear(source, registers, "7\n"));
+    }
+
+    @Test
+    public void valuesLiveAcrossCallsSurviveTheCallee() throws Exception {
+        // The callee uses every register, the caller still needs x * y after each call
+        List<String> source = Arrays.asList(
+                "PROGRAM p",
+                "BEGIN",
+                " FUNCTION INT mix(INT a, INT b)",
+                " BEGIN",
+                "  INT c;",
+                "  c := (a + b) * (a - b) + a * b;",
+                "  RETURN c;",
+                " END",
+                " FUNCTION INT main()",
+                " BEGIN",
+                "  INT i, x, y, s;",
+                "  READ(x, y);",
+                "  i := 0;",
+                "  s := 0;",
+                "  DO",
+                "   s := s + x * y + mix(x, i);",
+                "   i := i + 1;",
+                "  WHILE (i < 3);",
+                "  WRITE(s);",
+                "  RETURN 0;",
+                " END",
+                "END");
+
+        for (int registers = 2; registers <= TinyTranslator.REGISTERS; registers++)
+            Assert.assertEquals("registers " + registers, "130", linear(source, registers, "5\n3\n"));
+    }
+
+}
@@ -0,0 +1,66 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.SymbolMap;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static compiler.optimizer.OptimizerFixture.strings;
+
+public class PeepholeTest {
+
+    private final Element r0 = new Register(0, null, false);
+    private final Element r1 = new Register(1, null, false);
+    private final Element slot = new Stack(-1, Element.Type.INT);
+
+    private static List<String> run(Peephole peephole, IR.Node... nodes) {
+        IR ir = new IR(new SymbolMap("GLOBAL"));
+        for (IR.Node n : nodes)
+            ir.add(n);
+        return strings(peephole.apply(ir));
+    }
+
+    @Test
+    public void loadsAfterStoreReadTheRegister() throws Exception {
+        Peephole peephole = new Peephole(EnumSet.of(PeepholeRule.Kind.STORE_LOAD));
+        List<String> code = run(peephole,
+                new IR.Node(IR.Opcode.STOREI, r0, slot),
+                new IR.Node(IR.Opcode.WRITEI, r0),
+                new IR.Node(IR.Opcode.STOREI, slot, r0),
+                new IR.Node(IR.Opcode.STOREI, slot, r1));
+
+        Assert.assertEquals(3, code.size());
+        Assert.assertEquals("STOREI r0 r1", code.get(2));
+        Assert.assertEquals(2, peephole.getHits(PeepholeRule.Kind.STORE_LOAD));
+    }
+
+    @Test
+    public void jumpsFollowChainsAndSkipNextLabel() throws Exception {
+        Peephole peephole = new Peephole(EnumSet.allOf(PeepholeRule.Kind.class));
+        List<String> code = run(peephole,
+                new IR.Node(IR.Opcode.GT, r0, r1, new Label("label1")),
+                new IR.Node(IR.Opcode.JUMP, new Label("label2")),
+                new IR.Node(IR.Opcode.LABEL, new Label("label1")),
+                new IR.Node(IR.Opcode.JUMP, new Label("label3")),
+                new IR.Node(IR.Opcode.LABEL, new Label("label2")),
+                new IR.Node(IR.Opcode.PUSH, r0),
+                new IR.Node(IR.Opcode.POP, r0),
+                new IR.Node(IR.Opcode.WRITEI, r1),
+                new IR.Node(IR.Opcode.JUMP, new Label("label3")),
+                new IR.Node(IR.Opcode.LABEL, new Label("label3")),
+                new IR.Node(IR.Opcode.RETURN));
+
+        Assert.assertEquals("GT r0 r1 label3", code.get(0));
+        Assert.assertTrue(code.contains("JUMP label2"));
+        Assert.assertEquals(1, code.stream().filter("JUMP label3"::equals).count());
+        Assert.assertFalse(code.contains("PUSH r0"));
+        Assert.assertEquals(1, peephole.getHits(PeepholeRule.Kind.JUMP_NEXT));
+        Assert.assertEquals(1, peephole.getHits(PeepholeRule.Kind.JUMP_CHAIN));
+        Assert.assertEquals(1, peephole.getHits(PeepholeRule.Kind.PUSH_POP));
+    }
+
+}
@@ -0,0 +1,122 @@
+package compiler.translator;
+
+import compiler.IR;
+import compiler.SymbolMap;
+import compiler.analysis.ControlFlowGraph;
+import compiler.element.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static compiler.CompilerFixture.run;
+import static compiler.CompilerFixture.tiny;
+
+public class TinyTranslatorTest {
+
+    private final Element r0 = new Register(0, null, false);
+    private final Element r1 = new Register(1, null, false);
+    private final Element r2 = new Register(2, null, false);
+
+    // Takes the IR as already allocated, so only the translator places saves
+    private static final RegisterAllocator ALLOCATED = new RegisterAllocator() {
+        @Override
+        public IR allocate(ControlFlowGraph cfg) {
+            return cfg.getIr();
+        }
+
+        @Override
+        public int getSpills() {
+            return 0;
+        }
+    };
+
+    private static List<String> translate(IR.Node... nodes) {
+        IR ir = new IR(new SymbolMap("GLOBAL"), "main");
+        for (IR.Node n : nodes)
+            ir.add(n);
+        StringWriter out = new StringWriter();
+        new TinyTranslator(ALLOCATED, new Peephole(EnumSet.noneOf(PeepholeRule.Kind.class)))
+                .translate(new ControlFlowGraph(ir)).writeTo(out);
+        return Arrays.asList(out.toString().split("\n"));
+    }
+
+    @Test
+    public void onlyRegistersLiveAcrossCallsAreSaved() throws Exception {
+        List<String> code = translate(
+                new IR.Node(IR.Opcode.LABEL, new Label("main")),
+                new IR.Node(IR.Opcode.LINK, new Link(0, 3)),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("1"), r0),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("2"), r1),
+                new IR.Node(IR.Opcode.PUSH),
+                new IR.Node(IR.Opcode.PUSH, r1),
+                new IR.Node(IR.Opcode.JSR, new Label("f")),
+                new IR.Node(IR.Opcode.POP),
+                new IR.Node(IR.Opcode.POP, r2),
+                new IR.Node(IR.Opcode.ADDI, r0, r2, r2),
+                new IR.Node(IR.Opcode.WRITEI, r2),
+                new IR.Node(IR.Opcode.RETURN));
+
+        // r0 is read after the call, r1 is only the argument
+        int call = code.indexOf("jsr f");
+        Assert.assertEquals(Arrays.asList("push r0", "push", "push r1", "jsr f", "pop", "pop r2", "pop r0"),
+                code.subList(call - 3, call + 4));
+        Assert.assertEquals(1, code.stream().filter("push r1"::equals).count());
+        Assert.assertFalse(code.contains("pop r1"));
+    }
+
+    @Test
+    public void deadRegistersAreNotSaved() throws Exception {
+        List<String> code = translate(
+                new IR.Node(IR.Opcode.LABEL, new Label("main")),
+                new IR.Node(IR.Opcode.LINK, new Link(0, 3)),
+                new IR.Node(IR.Opcode.STOREI, Constant.parse("1"), r0),
+                new IR.Node(IR.Opcode.WRITEI, r0),
+                new IR.Node(IR.Opcode.PUSH),
+                new IR.Node(IR.Opcode.JSR, new Label("f")),
+                new IR.Node(IR.Opcode.POP, r1),
+                new IR.Node(IR.Opcode.WRITEI, r1),
+                new IR.Node(IR.Opcode.RETURN));
+
+        int call = code.indexOf("jsr f");
+        Assert.assertEquals(Arrays.asList("push", "jsr f", "pop r1"), code.subList(call - 1, call + 2));
+        Assert.assertFalse(code.contains("push r0"));
+    }
+
+    @Test
+    public void parametersAndResultSitAboveReturnAddress() throws Exception {
+        // x * y is held in a register across the call, a is pushed first
+        List<String> source = Arrays.asList(
+                "PROGRAM p",
+                "BEGIN",
+                " FUNCTION INT sub(INT a, INT b)",
+                " BEGIN",
+                "  RETURN a - b;",
+                " END",
+                " FUNCTION INT main()",
+                " BEGIN",
+                "  INT x, y, z;",
+                "  READ(x, y);",
+                "  z := x * y + sub(x, y) * 100;",
+                "  WRITE(z, y);",
+                "  RETURN 0;",
+                " END",
+                "END");
+
+        Assert.assertEquals("$3", new FunctionParameter(2, "a", Element.Type.INT).getTinyElement(0).getRef());
+        Assert.assertEquals("$2", new FunctionParameter(1, "b", Element.Type.INT).getTinyElement(0).getRef());
+        Assert.assertEquals("$4", new Return(2, Element.Type.INT).getTinyElement(0).getRef());
+        for (RegisterAllocator.Kind kind : RegisterAllocator.Kind.values()) {
+            String code = tiny(source, "-ra", kind.name().toLowerCase());
+            List<String> lines = Arrays.asList(code.split("\n"));
+            int slot = lines.indexOf("jsr sub") - 3;
+            Assert.assertEquals(code, "push", lines.get(slot));
+            Assert.assertTrue(code, lines.get(slot - 1).matches("push r\\d"));
+            Assert.assertEquals(kind.name(), "7182", run(code, "9\n2\n"));
+        }
+    }
+
+}